@@ -1,10 +1,14 @@
 package com.event;
 
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+// Push lets background work (bookings, imports) update the screen when it completes
+@Push
 @SpringBootApplication
-public class V4Application {
+public class V4Application implements AppShellConfigurator {
 
     public static void main(String[] args) {
         SpringApplication.run(V4Application.class, args);
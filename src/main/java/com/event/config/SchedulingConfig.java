@@ -0,0 +1,39 @@
+package com.event.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Background jobs, run on their own scheduler thread so they never compete with request threads.
+ * Each job is switched off by its own property (app.lifecycle.enabled for the lifecycle job).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String LIFECYCLE_SCHEDULER = "lifecycleScheduler";
+    public static final String SEAT_LEASE_SCHEDULER = "seatLeaseScheduler";
+
+    @Bean(name = LIFECYCLE_SCHEDULER)
+    public ThreadPoolTaskScheduler lifecycleScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("lifecycle-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        return scheduler;
+    }
+
+    /**
+     * Seat lease sweeps, kept apart so that a long lifecycle run never delays the return of seats
+     */
+    @Bean(name = SEAT_LEASE_SCHEDULER)
+    public ThreadPoolTaskScheduler seatLeaseScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("seat-leases-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        return scheduler;
+    }
+}
@@ -0,0 +1,72 @@
+package com.event.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk reservation action, one result per requested reservation
+ */
+public class BulkActionReport {
+
+    private final List<Item> items = new ArrayList<>();
+    private int succeeded;
+
+    public void success(Long reservationId, String codeReservation) {
+        items.add(new Item(reservationId, codeReservation, true, null));
+        succeeded++;
+    }
+
+    public void failure(Long reservationId, String codeReservation, String message) {
+        items.add(new Item(reservationId, codeReservation, false, message));
+    }
+
+    public List<Item> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public List<Item> getFailures() {
+        return items.stream().filter(item -> !item.isSuccess()).toList();
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return items.size() - succeeded;
+    }
+
+    /**
+     * Result for one reservation
+     */
+    public static class Item {
+        private final Long reservationId;
+        private final String codeReservation;
+        private final boolean success;
+        private final String message;
+
+        public Item(Long reservationId, String codeReservation, boolean success, String message) {
+            this.reservationId = reservationId;
+            this.codeReservation = codeReservation;
+            this.success = success;
+            this.message = message;
+        }
+
+        public Long getReservationId() {
+            return reservationId;
+        }
+
+        public String getCodeReservation() {
+            return codeReservation;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -45,10 +45,62 @@ public class EventDTO {
         this.organisateurNom = event.getOrganisateur().getFullName();
         this.organisateurId = event.getOrganisateur().getId();
         this.statut = event.getStatut();
+        applyPlacesReservees(placesReservees);
+    }
+
+    /**
+     * Constructor expression used by the JPQL projections of EventRepository
+     */
+    public EventDTO(Long id, String titre, String description, EventCategory categorie,
+                    LocalDateTime dateDebut, LocalDateTime dateFin, String lieu, String ville,
+                    Integer capaciteMax, Double prixUnitaire, String imageUrl,
+                    Long organisateurId, String organisateurPrenom, String organisateurNom,
+                    EventStatus statut, Integer placesReservees) {
+        this.id = id;
+        this.titre = titre;
+        this.description = description;
+        this.categorie = categorie;
+        this.dateDebut = dateDebut;
+        this.dateFin = dateFin;
+        this.lieu = lieu;
+        this.ville = ville;
+        this.capaciteMax = capaciteMax;
+        this.prixUnitaire = prixUnitaire;
+        this.imageUrl = imageUrl;
+        this.organisateurNom = organisateurPrenom + " " + organisateurNom;
+        this.organisateurId = organisateurId;
+        this.statut = statut;
+        applyPlacesReservees(placesReservees);
+    }
+
+    /**
+     * Copy of this event with the places taken read from its counter
+     */
+    public EventDTO withPlacesReservees(Integer placesReservees) {
+        EventDTO copy = new EventDTO();
+        copy.id = id;
+        copy.titre = titre;
+        copy.description = description;
+        copy.categorie = categorie;
+        copy.dateDebut = dateDebut;
+        copy.dateFin = dateFin;
+        copy.lieu = lieu;
+        copy.ville = ville;
+        copy.capaciteMax = capaciteMax;
+        copy.prixUnitaire = prixUnitaire;
+        copy.imageUrl = imageUrl;
+        copy.organisateurNom = organisateurNom;
+        copy.organisateurId = organisateurId;
+        copy.statut = statut;
+        copy.applyPlacesReservees(placesReservees);
+        return copy;
+    }
+
+    private void applyPlacesReservees(Integer placesReservees) {
         this.placesReservees = placesReservees;
-        this.placesDisponibles = event.getCapaciteMax() - placesReservees;
-        this.tauxRemplissage = event.getCapaciteMax() > 0
-                ? (double) placesReservees / event.getCapaciteMax() * 100
+        this.placesDisponibles = capaciteMax - placesReservees;
+        this.tauxRemplissage = capaciteMax > 0
+                ? (double) placesReservees / capaciteMax * 100
                 : 0.0;
     }
 
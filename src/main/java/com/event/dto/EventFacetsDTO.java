@@ -0,0 +1,59 @@
+package com.event.dto;
+
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.PriceRange;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of search results with the number of matches per filter value
+ */
+public class EventFacetsDTO {
+
+    private final List<EventDTO> events;
+    private final int total;
+    private final Map<EventCategory, Integer> categories;
+    private final Map<String, Integer> cities;
+    private final Map<PriceRange, Integer> priceRanges;
+    private final Map<YearMonth, Integer> months;
+
+    public EventFacetsDTO(List<EventDTO> events, int total,
+                          Map<EventCategory, Integer> categories, Map<String, Integer> cities,
+                          Map<PriceRange, Integer> priceRanges, Map<YearMonth, Integer> months) {
+        this.events = events;
+        this.total = total;
+        this.categories = categories;
+        this.cities = cities;
+        this.priceRanges = priceRanges;
+        this.months = months;
+    }
+
+    public List<EventDTO> getEvents() {
+        return events;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<EventCategory, Integer> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Counts per city (lookups ignore case and accents)
+     */
+    public Map<String, Integer> getCities() {
+        return cities;
+    }
+
+    public Map<PriceRange, Integer> getPriceRanges() {
+        return priceRanges;
+    }
+
+    public Map<YearMonth, Integer> getMonths() {
+        return months;
+    }
+}
@@ -0,0 +1,73 @@
+package com.event.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk event import: rows created and rows rejected with their reason
+ */
+public class EventImportReport {
+
+    private final int maxReportedErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private int imported;
+    private int rejected;
+
+    public EventImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void imported(int count) {
+        imported += count;
+    }
+
+    public void rejected(int row, String titre, String message) {
+        rejected++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(row, titre, message));
+        }
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Rejected rows in file order (only the first ones when there are very many)
+     */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * One rejected row
+     */
+    public static class RowError {
+        private final int row;
+        private final String titre;
+        private final String message;
+
+        public RowError(int row, String titre, String message) {
+            this.row = row;
+            this.titre = titre;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getTitre() {
+            return titre;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.event.dto;
+
+import com.event.model.enums.EventCategory;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Snapshot of the platform-wide figures shown on the admin dashboard
+ */
+public class GlobalStatisticsDTO {
+
+    private long totalUsers;
+    private long activeUsers;
+    private long admins;
+    private long organizers;
+    private long clients;
+
+    private long totalEvents;
+    private long publishedEvents;
+    private long draftEvents;
+    private long cancelledEvents;
+    private long finishedEvents;
+    private Map<EventCategory, Long> eventsByCategory = new EnumMap<>(EventCategory.class);
+
+    private long totalReservations;
+    private long confirmedReservations;
+    private long pendingReservations;
+    private long cancelledReservations;
+    private double totalRevenue;
+
+    private LocalDateTime computedAt;
+
+    // Getters and Setters
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public void setTotalUsers(long totalUsers) {
+        this.totalUsers = totalUsers;
+    }
+
+    public long getActiveUsers() {
+        return activeUsers;
+    }
+
+    public void setActiveUsers(long activeUsers) {
+        this.activeUsers = activeUsers;
+    }
+
+    public long getAdmins() {
+        return admins;
+    }
+
+    public void setAdmins(long admins) {
+        this.admins = admins;
+    }
+
+    public long getOrganizers() {
+        return organizers;
+    }
+
+    public void setOrganizers(long organizers) {
+        this.organizers = organizers;
+    }
+
+    public long getClients() {
+        return clients;
+    }
+
+    public void setClients(long clients) {
+        this.clients = clients;
+    }
+
+    public long getTotalEvents() {
+        return totalEvents;
+    }
+
+    public void setTotalEvents(long totalEvents) {
+        this.totalEvents = totalEvents;
+    }
+
+    public long getPublishedEvents() {
+        return publishedEvents;
+    }
+
+    public void setPublishedEvents(long publishedEvents) {
+        this.publishedEvents = publishedEvents;
+    }
+
+    public long getDraftEvents() {
+        return draftEvents;
+    }
+
+    public void setDraftEvents(long draftEvents) {
+        this.draftEvents = draftEvents;
+    }
+
+    public long getCancelledEvents() {
+        return cancelledEvents;
+    }
+
+    public void setCancelledEvents(long cancelledEvents) {
+        this.cancelledEvents = cancelledEvents;
+    }
+
+    public long getFinishedEvents() {
+        return finishedEvents;
+    }
+
+    public void setFinishedEvents(long finishedEvents) {
+        this.finishedEvents = finishedEvents;
+    }
+
+    public Map<EventCategory, Long> getEventsByCategory() {
+        return eventsByCategory;
+    }
+
+    public void setEventsByCategory(Map<EventCategory, Long> eventsByCategory) {
+        this.eventsByCategory = eventsByCategory;
+    }
+
+    public long getTotalReservations() {
+        return totalReservations;
+    }
+
+    public void setTotalReservations(long totalReservations) {
+        this.totalReservations = totalReservations;
+    }
+
+    public long getActiveReservations() {
+        return totalReservations - cancelledReservations;
+    }
+
+    public long getConfirmedReservations() {
+        return confirmedReservations;
+    }
+
+    public void setConfirmedReservations(long confirmedReservations) {
+        this.confirmedReservations = confirmedReservations;
+    }
+
+    public long getPendingReservations() {
+        return pendingReservations;
+    }
+
+    public void setPendingReservations(long pendingReservations) {
+        this.pendingReservations = pendingReservations;
+    }
+
+    public long getCancelledReservations() {
+        return cancelledReservations;
+    }
+
+    public void setCancelledReservations(long cancelledReservations) {
+        this.cancelledReservations = cancelledReservations;
+    }
+
+    public double getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(double totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+}
@@ -0,0 +1,62 @@
+package com.event.dto;
+
+/**
+ * Reservation figures of one user, filled by a single aggregate query
+ */
+public class UserStatisticsDTO {
+
+    private final long totalReservations;
+    private final long confirmedReservations;
+    private final long pendingReservations;
+    private final long cancelledReservations;
+    private final long upcomingReservations;
+    private final double totalSpent;
+    private final long eventsCreated;
+
+    /**
+     * Constructor expression used by ReservationRepository.getUserStatistics
+     */
+    public UserStatisticsDTO(Number totalReservations, Number confirmedReservations,
+                             Number pendingReservations, Number cancelledReservations,
+                             Number upcomingReservations, Number totalSpent, Number eventsCreated) {
+        this.totalReservations = valueOf(totalReservations);
+        this.confirmedReservations = valueOf(confirmedReservations);
+        this.pendingReservations = valueOf(pendingReservations);
+        this.cancelledReservations = valueOf(cancelledReservations);
+        this.upcomingReservations = valueOf(upcomingReservations);
+        this.totalSpent = totalSpent != null ? totalSpent.doubleValue() : 0.0;
+        this.eventsCreated = valueOf(eventsCreated);
+    }
+
+    public long getTotalReservations() {
+        return totalReservations;
+    }
+
+    public long getConfirmedReservations() {
+        return confirmedReservations;
+    }
+
+    public long getPendingReservations() {
+        return pendingReservations;
+    }
+
+    public long getCancelledReservations() {
+        return cancelledReservations;
+    }
+
+    public long getUpcomingReservations() {
+        return upcomingReservations;
+    }
+
+    public double getTotalSpent() {
+        return totalSpent;
+    }
+
+    public long getEventsCreated() {
+        return eventsCreated;
+    }
+
+    private static long valueOf(Number value) {
+        return value != null ? value.longValue() : 0L;
+    }
+}
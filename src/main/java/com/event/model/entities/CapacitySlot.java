@@ -0,0 +1,74 @@
+package com.event.model.entities;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One share of the capacity of a hot event, booked by ShardedCapacityService so that concurrent
+ * bookings spread their writes over several rows instead of the single event counter
+ */
+@Entity
+@Table(name = "event_capacity_slots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_capacity_slot_event_index", columnNames = {"evenement_id", "slot_index"}))
+public class CapacitySlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_capacity_slots_seq")
+    @SequenceGenerator(name = "event_capacity_slots_seq", sequenceName = "event_capacity_slots_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "evenement_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event evenement;
+
+    @Column(name = "slot_index", nullable = false)
+    private Integer slotIndex;
+
+    @Column(nullable = false)
+    private Integer capacite;
+
+    @Column(nullable = false)
+    private Integer placesReservees;
+
+    // Constructors
+    public CapacitySlot() {
+    }
+
+    public CapacitySlot(Event evenement, Integer slotIndex, Integer capacite, Integer placesReservees) {
+        this.evenement = evenement;
+        this.slotIndex = slotIndex;
+        this.capacite = capacite;
+        this.placesReservees = placesReservees;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Event getEvenement() {
+        return evenement;
+    }
+
+    public Integer getSlotIndex() {
+        return slotIndex;
+    }
+
+    public Integer getCapacite() {
+        return capacite;
+    }
+
+    public void setCapacite(Integer capacite) {
+        this.capacite = capacite;
+    }
+
+    public Integer getPlacesReservees() {
+        return placesReservees;
+    }
+
+    public int getPlacesDisponibles() {
+        return capacite - placesReservees;
+    }
+}
@@ -4,6 +4,7 @@ import com.event.model.enums.EventCategory;
 import com.event.model.enums.EventStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,8 +15,12 @@ import java.util.Objects;
 @Table(name = "events")
 public class Event {
 
+    /**
+     * Ids come from a pooled sequence so that Hibernate can batch inserts (bulk imports)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Le titre est obligatoire")
@@ -61,6 +66,32 @@ public class Event {
     @Column(length = 500)
     private String imageUrl;
 
+    /**
+     * Seats held by non-cancelled reservations, maintained atomically by SeatAllocationService
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer placesReservees = 0;
+
+    /**
+     * Places given back while users were waiting, still counted in the reserved places (or the
+     * capacity slots) and kept for the head of the waitlist (see SeatAllocationService.release)
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer placesRetenues = 0;
+
+    /**
+     * Number of capacity slots sharing the seats of a hot event (null: the placesReservees counter
+     * is authoritative), switched by ShardedCapacityService
+     */
+    @Column(updatable = false)
+    private Integer nombreCompteurs;
+
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organisateur_id", nullable = false)
     private User organisateur;
@@ -174,6 +205,14 @@ public class Event {
         this.imageUrl = imageUrl;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public User getOrganisateur() {
         return organisateur;
     }
@@ -215,11 +254,29 @@ public class Event {
     }
 
     // Business methods
+
+    /**
+     * Places taken per the event counter - for a split capacity, the copy folded by the lifecycle job
+     * (EventRepository.findRemainingPlaces and the DTO projections read the slots)
+     */
     public int getPlacesReservees() {
-        return reservations.stream()
-                .filter(r -> !r.getStatut().isCancelled())
-                .mapToInt(Reservation::getNombrePlaces)
-                .sum();
+        return placesReservees != null ? placesReservees : 0;
+    }
+
+    public void setPlacesReservees(Integer placesReservees) {
+        this.placesReservees = placesReservees;
+    }
+
+    public int getPlacesRetenues() {
+        return placesRetenues != null ? placesRetenues : 0;
+    }
+
+    public Integer getNombreCompteurs() {
+        return nombreCompteurs;
+    }
+
+    public boolean isCapaciteFractionnee() {
+        return nombreCompteurs != null;
     }
 
     public int getPlacesDisponibles() {
@@ -242,8 +299,7 @@ public class Event {
     }
 
     public boolean canBeDeleted() {
-        return reservations.isEmpty() ||
-                reservations.stream().allMatch(r -> r.getStatut().isCancelled());
+        return getPlacesReservees() == 0;
     }
 
     @PrePersist
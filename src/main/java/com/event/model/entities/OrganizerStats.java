@@ -0,0 +1,156 @@
+package com.event.model.entities;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Per-organizer rollup of event and reservation counters, maintained by OrganizerStatsService
+ */
+@Entity
+@Table(name = "organizer_stats")
+public class OrganizerStats {
+
+    @Id
+    @Column(name = "organisateur_id")
+    private Long organisateurId;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long evenementsBrouillon = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long evenementsPublies = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long evenementsAnnules = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long evenementsTermines = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long reservationsEnAttente = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long reservationsConfirmees = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long reservationsAnnulees = 0L;
+
+    /**
+     * Seats of confirmed reservations
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long placesVendues = 0L;
+
+    /**
+     * Amount of confirmed reservations
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Double revenuConfirme = 0.0;
+
+    // Constructors
+    public OrganizerStats() {
+    }
+
+    public OrganizerStats(Long organisateurId) {
+        this.organisateurId = organisateurId;
+    }
+
+    // Getters and Setters
+    public Long getOrganisateurId() {
+        return organisateurId;
+    }
+
+    public void setOrganisateurId(Long organisateurId) {
+        this.organisateurId = organisateurId;
+    }
+
+    public Long getEvenementsBrouillon() {
+        return evenementsBrouillon;
+    }
+
+    public void setEvenementsBrouillon(Long evenementsBrouillon) {
+        this.evenementsBrouillon = evenementsBrouillon;
+    }
+
+    public Long getEvenementsPublies() {
+        return evenementsPublies;
+    }
+
+    public void setEvenementsPublies(Long evenementsPublies) {
+        this.evenementsPublies = evenementsPublies;
+    }
+
+    public Long getEvenementsAnnules() {
+        return evenementsAnnules;
+    }
+
+    public void setEvenementsAnnules(Long evenementsAnnules) {
+        this.evenementsAnnules = evenementsAnnules;
+    }
+
+    public Long getEvenementsTermines() {
+        return evenementsTermines;
+    }
+
+    public void setEvenementsTermines(Long evenementsTermines) {
+        this.evenementsTermines = evenementsTermines;
+    }
+
+    public Long getReservationsEnAttente() {
+        return reservationsEnAttente;
+    }
+
+    public void setReservationsEnAttente(Long reservationsEnAttente) {
+        this.reservationsEnAttente = reservationsEnAttente;
+    }
+
+    public Long getReservationsConfirmees() {
+        return reservationsConfirmees;
+    }
+
+    public void setReservationsConfirmees(Long reservationsConfirmees) {
+        this.reservationsConfirmees = reservationsConfirmees;
+    }
+
+    public Long getReservationsAnnulees() {
+        return reservationsAnnulees;
+    }
+
+    public void setReservationsAnnulees(Long reservationsAnnulees) {
+        this.reservationsAnnulees = reservationsAnnulees;
+    }
+
+    public Long getPlacesVendues() {
+        return placesVendues;
+    }
+
+    public void setPlacesVendues(Long placesVendues) {
+        this.placesVendues = placesVendues;
+    }
+
+    public Double getRevenuConfirme() {
+        return revenuConfirme;
+    }
+
+    public void setRevenuConfirme(Double revenuConfirme) {
+        this.revenuConfirme = revenuConfirme;
+    }
+
+    // Business methods
+    public long getTotalEvenements() {
+        return evenementsBrouillon + evenementsPublies + evenementsAnnules + evenementsTermines;
+    }
+
+    public long getTotalReservations() {
+        return reservationsEnAttente + reservationsConfirmees + reservationsAnnulees;
+    }
+}
@@ -4,16 +4,21 @@ import com.event.model.enums.ReservationStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_hold_expiry", columnList = "statut, expires_at"),
+        @Index(name = "idx_reservations_lease", columnList = "lease_id")
+})
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -45,6 +50,27 @@ public class Reservation {
     @Column(length = 500)
     private String commentaire;
 
+    /**
+     * End of the seat hold of a pending reservation (null once confirmed)
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Seat lease the places were taken from (null when taken from the event counter)
+     */
+    @Column(name = "lease_id", updatable = false)
+    private Long leaseId;
+
+    /**
+     * Key of the form submission that created the reservation, so that a replay finds it
+     */
+    @Column(name = "idempotency_key", unique = true, length = 36, updatable = false)
+    private String idempotencyKey;
+
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     // Constructors
     public Reservation() {
         this.dateReservation = LocalDateTime.now();
@@ -124,6 +150,38 @@ public class Reservation {
         this.commentaire = commentaire;
     }
 
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getLeaseId() {
+        return leaseId;
+    }
+
+    public void setLeaseId(Long leaseId) {
+        this.leaseId = leaseId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Business methods
     public void calculateMontantTotal() {
         if (evenement != null && nombrePlaces != null) {
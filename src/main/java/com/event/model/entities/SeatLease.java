@@ -0,0 +1,67 @@
+package com.event.model.entities;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A block of places taken from an event's counter by one application instance, which sells them
+ * from memory until the lease expires (see SeatLeaseManager)
+ */
+@Entity
+@Table(name = "seat_leases", indexes = @Index(name = "idx_seat_leases_expiry", columnList = "expires_at"))
+public class SeatLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_leases_seq")
+    @SequenceGenerator(name = "seat_leases_seq", sequenceName = "seat_leases_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "evenement_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event evenement;
+
+    @Column(nullable = false, length = 100)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private Integer places;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public SeatLease() {
+    }
+
+    public SeatLease(Event evenement, String nodeId, Integer places, LocalDateTime expiresAt) {
+        this.evenement = evenement;
+        this.nodeId = nodeId;
+        this.places = places;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Event getEvenement() {
+        return evenement;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Integer getPlaces() {
+        return places;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
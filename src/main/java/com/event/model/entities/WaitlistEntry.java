@@ -0,0 +1,117 @@
+package com.event.model.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A user waiting for places on a sold-out event, served in id order by WaitlistService
+ */
+@Entity
+@Table(name = "waitlist_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_user_event", columnNames = {"utilisateur_id", "evenement_id"}),
+        indexes = @Index(name = "idx_waitlist_event_order", columnList = "evenement_id, id"))
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_entries_seq")
+    @SequenceGenerator(name = "waitlist_entries_seq", sequenceName = "waitlist_entries_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "utilisateur_id", nullable = false)
+    private User utilisateur;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "evenement_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event evenement;
+
+    @NotNull(message = "Le nombre de places est obligatoire")
+    @Min(value = 1, message = "Le nombre de places doit être au moins 1")
+    @Column(nullable = false)
+    private Integer nombrePlaces;
+
+    @Column(nullable = false)
+    private LocalDateTime dateInscription;
+
+    // Constructors
+    public WaitlistEntry() {
+        this.dateInscription = LocalDateTime.now();
+    }
+
+    public WaitlistEntry(User utilisateur, Event evenement, Integer nombrePlaces) {
+        this();
+        this.utilisateur = utilisateur;
+        this.evenement = evenement;
+        this.nombrePlaces = nombrePlaces;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUtilisateur() {
+        return utilisateur;
+    }
+
+    public void setUtilisateur(User utilisateur) {
+        this.utilisateur = utilisateur;
+    }
+
+    public Event getEvenement() {
+        return evenement;
+    }
+
+    public void setEvenement(Event evenement) {
+        this.evenement = evenement;
+    }
+
+    public Integer getNombrePlaces() {
+        return nombrePlaces;
+    }
+
+    public void setNombrePlaces(Integer nombrePlaces) {
+        this.nombrePlaces = nombrePlaces;
+    }
+
+    public LocalDateTime getDateInscription() {
+        return dateInscription;
+    }
+
+    public void setDateInscription(LocalDateTime dateInscription) {
+        this.dateInscription = dateInscription;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WaitlistEntry that = (WaitlistEntry) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "id=" + id +
+                ", nombrePlaces=" + nombrePlaces +
+                ", dateInscription=" + dateInscription +
+                '}';
+    }
+}
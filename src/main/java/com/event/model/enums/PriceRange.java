@@ -0,0 +1,38 @@
+package com.event.model.enums;
+
+public enum PriceRange {
+    GRATUIT("Gratuit", 0.0, 0.0),
+    MOINS_100("Moins de 100 DH", 0.0, 100.0),
+    DE_100_A_250("100 à 249 DH", 100.0, 250.0),
+    DE_250_A_500("250 à 499 DH", 250.0, 500.0),
+    PLUS_500("500 DH et plus", 500.0, null);
+
+    private final String label;
+    private final Double min;
+    private final Double max;
+
+    PriceRange(String label, Double min, Double max) {
+        this.label = label;
+        this.min = min;
+        this.max = max;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Range of a unit price (lower bound inclusive, upper bound exclusive)
+     */
+    public static PriceRange of(double price) {
+        if (price <= 0) {
+            return GRATUIT;
+        }
+        for (PriceRange range : values()) {
+            if (range != GRATUIT && price >= range.min && (range.max == null || price < range.max)) {
+                return range;
+            }
+        }
+        return PLUS_500;
+    }
+}
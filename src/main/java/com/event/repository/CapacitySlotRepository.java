@@ -0,0 +1,53 @@
+package com.event.repository;
+
+import com.event.model.entities.CapacitySlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CapacitySlotRepository extends JpaRepository<CapacitySlot, Long> {
+
+    /**
+     * Atomically reserve places in one slot if it still has them (returns 0 when it does not)
+     */
+    @Modifying
+    @Query("UPDATE CapacitySlot s SET s.placesReservees = s.placesReservees + :places " +
+            "WHERE s.evenement.id = :eventId AND s.slotIndex = :slot AND s.capacite - s.placesReservees >= :places")
+    int reservePlaces(@Param("eventId") Long eventId, @Param("slot") int slot, @Param("places") int places);
+
+    /**
+     * Atomically give back places to one slot if it holds that many (returns 0 when it does not)
+     */
+    @Modifying
+    @Query("UPDATE CapacitySlot s SET s.placesReservees = s.placesReservees - :places " +
+            "WHERE s.evenement.id = :eventId AND s.slotIndex = :slot AND s.placesReservees >= :places")
+    int releasePlaces(@Param("eventId") Long eventId, @Param("slot") int slot, @Param("places") int places);
+
+    /**
+     * Slot index, free places and reserved places of the slots of an event above the given index, in index order
+     */
+    @Query("SELECT s.slotIndex, s.capacite - s.placesReservees, s.placesReservees FROM CapacitySlot s " +
+            "WHERE s.evenement.id = :eventId AND s.slotIndex > :afterSlot ORDER BY s.slotIndex")
+    List<Object[]> findSlotUsage(@Param("eventId") Long eventId, @Param("afterSlot") int afterSlot);
+
+    /**
+     * Slots of an event locked until the end of the transaction (waits for bookings in flight on them)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CapacitySlot s WHERE s.evenement.id = :eventId ORDER BY s.slotIndex")
+    List<CapacitySlot> findByEventIdForUpdate(@Param("eventId") Long eventId);
+
+    /**
+     * Remove the slots of an event (its capacity goes back to the single counter)
+     */
+    @Modifying
+    @Query("DELETE FROM CapacitySlot s WHERE s.evenement.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
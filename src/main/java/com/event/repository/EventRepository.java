@@ -5,27 +5,78 @@ import com.event.model.entities.Event;
 import com.event.model.entities.User;
 import com.event.model.enums.EventCategory;
 import com.event.model.enums.EventStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    /**
+     * Places taken of an event: its counter, or the sum of its slots when its capacity is split
+     * (the counter of a split event is only a copy folded by the lifecycle job)
+     */
+    String RESERVED_PLACES = "CASE WHEN e.nombreCompteurs IS NULL THEN e.placesReservees " +
+            "ELSE CAST((SELECT COALESCE(SUM(s.placesReservees), 0) FROM CapacitySlot s WHERE s.evenement = e) AS Integer) END";
+
+    /**
+     * Constructor expression shared by the EventDTO projections (one round-trip per list, no entity loading)
+     */
+    String DTO_SELECT = "SELECT new com.event.dto.EventDTO(e.id, e.titre, e.description, e.categorie, " +
+            "e.dateDebut, e.dateFin, e.lieu, e.ville, e.capaciteMax, e.prixUnitaire, e.imageUrl, " +
+            "o.id, o.prenom, o.nom, e.statut, " + RESERVED_PLACES + ") FROM Event e JOIN e.organisateur o ";
+
+    /**
+     * Structured criteria of the multi-criteria search (everything but the keyword)
+     */
+    String SEARCH_CRITERIA = "(:category IS NULL OR e.categorie = :category) AND " +
+            "(:ville IS NULL OR LOWER(e.ville) = LOWER(:ville)) AND " +
+            "(:minPrice IS NULL OR e.prixUnitaire >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR e.prixUnitaire <= :maxPrice) AND " +
+            "(:startDate IS NULL OR e.dateDebut >= :startDate) AND " +
+            "(:endDate IS NULL OR e.dateDebut <= :endDate) AND " +
+            "(:status IS NULL OR e.statut = :status) ";
+
+    /**
+     * Filters of the multi-criteria search, shared by the list and slice variants
+     */
+    String SEARCH_FILTER = SEARCH_CRITERIA +
+            "AND (:keyword IS NULL OR LOWER(e.titre) LIKE LOWER(CONCAT('%', :keyword, '%'))) ";
+
+    /**
+     * Optional title and status filters of the admin events screen
+     */
+    String ADMIN_FILTER = "(:status IS NULL OR e.statut = :status) AND " +
+            "(:keyword IS NULL OR LOWER(e.titre) LIKE LOWER(CONCAT('%', :keyword, '%')))";
+
+    /**
+     * Organizer scope plus the title and status filters of the organizer events screen
+     */
+    String ORGANIZER_FILTER = "e.organisateur = :organizer AND " + ADMIN_FILTER;
+
     /**
      * Find events by category
      */
-    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.organisateur LEFT JOIN FETCH e.reservations WHERE e.categorie = :category ORDER BY e.dateDebut ASC")
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.organisateur WHERE e.categorie = :category ORDER BY e.dateDebut ASC")
     List<Event> findByCategorie(@Param("category") EventCategory category);
 
     /**
      * Find published events between two dates
      */
-    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.organisateur LEFT JOIN FETCH e.reservations WHERE e.statut = 'PUBLIE' AND " +
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.organisateur WHERE e.statut = 'PUBLIE' AND " +
             "e.dateDebut >= :startDate AND e.dateDebut <= :endDate " +
             "ORDER BY e.dateDebut ASC")
     List<Event> findPublishedEventsBetweenDates(
@@ -36,13 +87,13 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     /**
      * Find events by organizer and status
      */
-    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.organisateur LEFT JOIN FETCH e.reservations WHERE e.organisateur = :organizer AND e.statut = :status ORDER BY e.dateDebut DESC")
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.organisateur WHERE e.organisateur = :organizer AND e.statut = :status ORDER BY e.dateDebut DESC")
     List<Event> findByOrganisateurAndStatut(@Param("organizer") User organizer, @Param("status") EventStatus status);
 
     /**
      * Find all available events (published and not finished)
      */
-    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.organisateur LEFT JOIN FETCH e.reservations WHERE e.statut = 'PUBLIE' AND " +
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.organisateur WHERE e.statut = 'PUBLIE' AND " +
             "e.dateDebut > :now ORDER BY e.dateDebut ASC")
     List<Event> findAvailableEvents(@Param("now") LocalDateTime now);
 
@@ -51,6 +102,24 @@ public interface EventRepository extends JpaRepository<Event, Long> {
      */
     long countByCategorie(EventCategory category);
 
+    /**
+     * Count events per category in one grouped query (category, count)
+     */
+    @Query("SELECT e.categorie, COUNT(e) FROM Event e GROUP BY e.categorie")
+    List<Object[]> countGroupedByCategorie();
+
+    /**
+     * Count events per category and status in one grouped query (category, status, count)
+     */
+    @Query("SELECT e.categorie, e.statut, COUNT(e) FROM Event e GROUP BY e.categorie, e.statut")
+    List<Object[]> countGroupedByCategorieAndStatut();
+
+    /**
+     * Count events per organizer and status (organizer id, status, count)
+     */
+    @Query("SELECT e.organisateur.id, e.statut, COUNT(e) FROM Event e GROUP BY e.organisateur.id, e.statut")
+    List<Object[]> countGroupedByOrganisateurAndStatut();
+
     /**
      * Find events by location or city
      */
@@ -101,16 +170,7 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     /**
      * Complex search with multiple filters
      */
-    @Query("SELECT e FROM Event e WHERE " +
-            "(:category IS NULL OR e.categorie = :category) AND " +
-            "(:ville IS NULL OR LOWER(e.ville) = LOWER(:ville)) AND " +
-            "(:minPrice IS NULL OR e.prixUnitaire >= :minPrice) AND " +
-            "(:maxPrice IS NULL OR e.prixUnitaire <= :maxPrice) AND " +
-            "(:startDate IS NULL OR e.dateDebut >= :startDate) AND " +
-            "(:endDate IS NULL OR e.dateDebut <= :endDate) AND " +
-            "(:status IS NULL OR e.statut = :status) AND " +
-            "(:keyword IS NULL OR LOWER(e.titre) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-            "ORDER BY e.dateDebut ASC")
+    @Query("SELECT e FROM Event e WHERE " + SEARCH_FILTER + "ORDER BY e.dateDebut ASC")
     List<Event> searchEvents(
             @Param("category") EventCategory category,
             @Param("ville") String ville,
@@ -122,6 +182,72 @@ public interface EventRepository extends JpaRepository<Event, Long> {
             @Param("keyword") String keyword
     );
 
+    /**
+     * Complex search with multiple filters - DTO projection
+     */
+    @Query(DTO_SELECT + "WHERE " + SEARCH_FILTER + "ORDER BY e.dateDebut ASC")
+    List<EventDTO> searchEventsDTO(
+            @Param("category") EventCategory category,
+            @Param("ville") String ville,
+            @Param("minPrice") Double minPrice,
+            @Param("maxPrice") Double maxPrice,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("status") EventStatus status,
+            @Param("keyword") String keyword
+    );
+
+    /**
+     * Find all available events - DTO projection
+     */
+    @Query(DTO_SELECT + "WHERE e.statut = 'PUBLIE' AND e.dateDebut > :now ORDER BY e.dateDebut ASC")
+    List<EventDTO> findAvailableEventsDTO(@Param("now") LocalDateTime now);
+
+    /**
+     * Find published events by category - DTO projection
+     */
+    @Query(DTO_SELECT + "WHERE e.categorie = :category AND e.statut = 'PUBLIE' ORDER BY e.dateDebut ASC")
+    List<EventDTO> findPublishedEventsByCategoryDTO(@Param("category") EventCategory category);
+
+    /**
+     * Find published events in a city - DTO projection
+     */
+    @Query(DTO_SELECT + "WHERE LOWER(e.ville) = LOWER(:ville) " +
+            "AND e.statut = 'PUBLIE' AND e.dateDebut > :now ORDER BY e.dateDebut ASC")
+    List<EventDTO> findPublishedEventsInCityDTO(@Param("ville") String ville, @Param("now") LocalDateTime now);
+
+    /**
+     * Find a single event - DTO projection
+     */
+    @Query(DTO_SELECT + "WHERE e.id = :id")
+    Optional<EventDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Find several events - DTO projection, in no particular order
+     */
+    @Query(DTO_SELECT + "WHERE e.id IN :ids")
+    List<EventDTO> findDTOsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids of the most popular published events (most reservations), limited by the pageable
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.statut = 'PUBLIE' " +
+            "ORDER BY (SELECT COUNT(r) FROM Reservation r WHERE r.evenement = e) DESC, e.id")
+    List<Long> findMostPopularEventIds(Pageable pageable);
+
+    /**
+     * Ids of the published upcoming events that have no place left
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.statut = 'PUBLIE' AND e.dateDebut > :now " +
+            "AND " + RESERVED_PLACES + " >= e.capaciteMax")
+    List<Long> findSoldOutEventIds(@Param("now") LocalDateTime now);
+
+    /**
+     * Places taken of several events as (id, placesReservees) rows, read from their counters or slots
+     */
+    @Query("SELECT e.id, " + RESERVED_PLACES + " FROM Event e WHERE e.id IN :ids")
+    List<Object[]> findReservedPlaces(@Param("ids") Collection<Long> ids);
+
     /**
      * Find most popular events (most reservations)
      */
@@ -148,6 +274,21 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e WHERE e.statut = 'PUBLIE' AND e.dateFin < :now")
     List<Event> findEventsToMarkAsFinished(@Param("now") LocalDateTime now);
 
+    /**
+     * Id and organizer id of the next published events already over (one lifecycle job chunk)
+     */
+    @Query("SELECT e.id, e.organisateur.id FROM Event e WHERE e.statut = 'PUBLIE' AND e.dateFin < :now ORDER BY e.id")
+    List<Object[]> findEndedPublishedEvents(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Move published events to TERMINE in one statement (returns the number of events moved)
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.statut = com.event.model.enums.EventStatus.TERMINE, " +
+            "e.dateModification = :now, e.version = e.version + 1 " +
+            "WHERE e.id IN :ids AND e.statut = 'PUBLIE'")
+    int markFinished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
     /**
      * Find upcoming events for organizer
      */
@@ -178,15 +319,229 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     long countByOrganisateur(User organisateur);
 
     /**
-     * Find events by organizer with eagerly loaded reservations
+     * Atomically reserve places if enough capacity remains (returns 0 when it does not, or when the
+     * event's capacity is split into slots)
      */
-    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.reservations " +
-            "WHERE e.organisateur = :organizer ORDER BY e.dateCreation DESC")
-    List<Event> findByOrganisateurWithReservations(@Param("organizer") User organizer);
+    @Modifying
+    @Query("UPDATE Event e SET e.placesReservees = e.placesReservees + :places " +
+            "WHERE e.id = :eventId AND e.capaciteMax - e.placesReservees >= :places AND e.nombreCompteurs IS NULL")
+    int reservePlaces(@Param("eventId") Long eventId, @Param("places") int places);
 
     /**
-     * Get all events with eagerly loaded organizer and reservations
+     * Atomically give back previously reserved places (returns 0 when the event's capacity is split into slots)
      */
-    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.organisateur LEFT JOIN FETCH e.reservations ORDER BY e.dateCreation DESC")
+    @Modifying
+    @Query("UPDATE Event e SET e.placesReservees = e.placesReservees - :places " +
+            "WHERE e.id = :eventId AND e.placesReservees >= :places AND e.nombreCompteurs IS NULL")
+    int releasePlaces(@Param("eventId") Long eventId, @Param("places") int places);
+
+    /**
+     * Keep given back places for the waitlist instead of freeing them, provided someone waits for
+     * the event (returns 0 when nobody does)
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.placesRetenues = e.placesRetenues + :places " +
+            "WHERE e.id = :eventId AND EXISTS (SELECT w FROM WaitlistEntry w WHERE w.evenement = e)")
+    int holdPlacesForWaitlist(@Param("eventId") Long eventId, @Param("places") int places);
+
+    /**
+     * Hand over places held for the waitlist (returns 0 when fewer are held)
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.placesRetenues = e.placesRetenues - :places " +
+            "WHERE e.id = :eventId AND e.placesRetenues >= :places")
+    int takeHeldPlaces(@Param("eventId") Long eventId, @Param("places") int places);
+
+    /**
+     * Places currently held for an event's waitlist
+     */
+    @Query("SELECT e.placesRetenues FROM Event e WHERE e.id = :eventId")
+    Integer findHeldPlaces(@Param("eventId") Long eventId);
+
+    /**
+     * Events holding places for their waitlist
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.placesRetenues > 0")
+    List<Long> findIdsWithHeldPlaces();
+
+    /**
+     * Realign reserved places counters with the reservations table and the places held for the waitlist
+     * (returns the number of drifted events;
+     * events with capacity slots are left to foldCapacitySlots, events with running seat leases to their leases)
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.placesReservees = e.placesRetenues + " +
+            "(SELECT COALESCE(SUM(r.nombrePlaces), 0) FROM Reservation r WHERE r.evenement = e AND r.statut != 'ANNULEE') " +
+            "WHERE e.nombreCompteurs IS NULL AND NOT EXISTS (SELECT l FROM SeatLease l WHERE l.evenement = e) " +
+            "AND e.placesReservees != e.placesRetenues + " +
+            "(SELECT COALESCE(SUM(r.nombrePlaces), 0) FROM Reservation r WHERE r.evenement = e AND r.statut != 'ANNULEE')")
+    int recomputeReservedPlaces();
+
+    /**
+     * Read the remaining places without loading the entity (summed over the slots of a split capacity)
+     */
+    @Query("SELECT CASE WHEN e.nombreCompteurs IS NULL THEN e.capaciteMax - e.placesReservees " +
+            "ELSE (SELECT COALESCE(SUM(s.capacite - s.placesReservees), 0) FROM CapacitySlot s WHERE s.evenement = e) END " +
+            "FROM Event e WHERE e.id = :eventId")
+    Integer findRemainingPlaces(@Param("eventId") Long eventId);
+
+    /**
+     * Lock an event row until the end of the transaction (waits for bookings in flight on its counter)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :eventId")
+    Optional<Event> findByIdForUpdate(@Param("eventId") Long eventId);
+
+    /**
+     * Switch an event between its single counter and capacity slots (null slots: back to the counter)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.nombreCompteurs = :slots, e.placesReservees = :placesReservees, " +
+            "e.version = e.version + 1 WHERE e.id = :eventId")
+    int switchCapacitySlots(@Param("eventId") Long eventId, @Param("slots") Integer slots,
+                            @Param("placesReservees") int placesReservees);
+
+    /**
+     * Number of capacity slots of an event (null when its single counter is authoritative)
+     */
+    @Query("SELECT e.nombreCompteurs FROM Event e WHERE e.id = :eventId")
+    Integer findNombreCompteurs(@Param("eventId") Long eventId);
+
+    /**
+     * Event id and slot count of every event whose capacity is split (loaded into memory at startup)
+     */
+    @Query("SELECT e.id, e.nombreCompteurs FROM Event e WHERE e.nombreCompteurs IS NOT NULL")
+    List<Object[]> findSplitCapacityEvents();
+
+    /**
+     * Copy the reserved places of the capacity slots into the displayed counter of split events
+     * (returns the number of events whose counter moved)
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.placesReservees = " +
+            "(SELECT COALESCE(SUM(s.placesReservees), 0) FROM CapacitySlot s WHERE s.evenement = e) " +
+            "WHERE e.nombreCompteurs IS NOT NULL AND e.placesReservees != " +
+            "(SELECT COALESCE(SUM(s.placesReservees), 0) FROM CapacitySlot s WHERE s.evenement = e)")
+    int foldCapacitySlots();
+
+    /**
+     * Find events by organizer, newest first
+     */
+    List<Event> findByOrganisateurOrderByDateCreationDesc(User organizer);
+
+    /**
+     * Most recently created events of an organizer
+     */
+    List<Event> findByOrganisateurOrderByDateCreationDesc(User organizer, Limit limit);
+
+    /**
+     * Get all events with eagerly loaded organizer
+     */
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.organisateur ORDER BY e.dateCreation DESC")
     List<Event> findAll();
+
+    /**
+     * Filter events by title and status, one slice at a time with their organizer
+     */
+    @EntityGraph(attributePaths = "organisateur")
+    @Query("SELECT e FROM Event e WHERE " + ADMIN_FILTER)
+    Slice<Event> filterEvents(@Param("keyword") String keyword, @Param("status") EventStatus status, Pageable pageable);
+
+    /**
+     * Count events matching the title and status filters
+     */
+    @Query("SELECT COUNT(e) FROM Event e WHERE " + ADMIN_FILTER)
+    long countFilteredEvents(@Param("keyword") String keyword, @Param("status") EventStatus status);
+
+    /**
+     * Filter the events of an organizer by title and status, one slice at a time
+     */
+    @Query("SELECT e FROM Event e WHERE " + ORGANIZER_FILTER)
+    Slice<Event> filterOrganizerEvents(@Param("organizer") User organizer,
+                                       @Param("keyword") String keyword,
+                                       @Param("status") EventStatus status,
+                                       Pageable pageable);
+
+    /**
+     * Count the events of an organizer matching the title and status filters
+     */
+    @Query("SELECT COUNT(e) FROM Event e WHERE " + ORGANIZER_FILTER)
+    long countFilteredOrganizerEvents(@Param("organizer") User organizer,
+                                      @Param("keyword") String keyword,
+                                      @Param("status") EventStatus status);
+
+    /**
+     * Complex search with multiple filters - DTO projection, one slice at a time (no count query)
+     */
+    @Query(DTO_SELECT + "WHERE " + SEARCH_FILTER)
+    Slice<EventDTO> searchEventsDTO(
+            @Param("category") EventCategory category,
+            @Param("ville") String ville,
+            @Param("minPrice") Double minPrice,
+            @Param("maxPrice") Double maxPrice,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("status") EventStatus status,
+            @Param("keyword") String keyword,
+            Pageable pageable
+    );
+
+    /**
+     * Structured search restricted to the events matched by the full-text index - DTO projection
+     */
+    @Query(DTO_SELECT + "WHERE " + SEARCH_CRITERIA + "AND e.id IN :ids")
+    List<EventDTO> searchEventsDTOByIds(
+            @Param("category") EventCategory category,
+            @Param("ville") String ville,
+            @Param("minPrice") Double minPrice,
+            @Param("maxPrice") Double maxPrice,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("status") EventStatus status,
+            @Param("ids") Collection<Long> ids
+    );
+
+    /**
+     * Ids of the events matched by the full-text index that pass the structured filters
+     */
+    @Query("SELECT e.id FROM Event e WHERE " + SEARCH_CRITERIA + "AND e.id IN :ids")
+    List<Long> filterIdsBySearchCriteria(
+            @Param("category") EventCategory category,
+            @Param("ville") String ville,
+            @Param("minPrice") Double minPrice,
+            @Param("maxPrice") Double maxPrice,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("status") EventStatus status,
+            @Param("ids") Collection<Long> ids
+    );
+
+    /**
+     * Structured search restricted to the events matched by the full-text index - one slice of DTOs
+     */
+    @Query(DTO_SELECT + "WHERE " + SEARCH_CRITERIA + "AND e.id IN :ids")
+    Slice<EventDTO> searchEventsDTOByIds(
+            @Param("category") EventCategory category,
+            @Param("ville") String ville,
+            @Param("minPrice") Double minPrice,
+            @Param("maxPrice") Double maxPrice,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("status") EventStatus status,
+            @Param("ids") Collection<Long> ids,
+            Pageable pageable
+    );
+
+    /**
+     * Keyset page of available events: the ones after (dateDebut, id) of the last row already shown
+     */
+    @Query(DTO_SELECT + "WHERE e.statut = 'PUBLIE' AND e.dateDebut > :now AND " +
+            "(e.dateDebut > :afterDate OR (e.dateDebut = :afterDate AND e.id > :afterId)) " +
+            "ORDER BY e.dateDebut ASC, e.id ASC")
+    List<EventDTO> findAvailableEventsDTOAfter(
+            @Param("now") LocalDateTime now,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
 }
\ No newline at end of file
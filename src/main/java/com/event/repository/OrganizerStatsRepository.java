@@ -0,0 +1,49 @@
+package com.event.repository;
+
+import com.event.model.entities.OrganizerStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrganizerStatsRepository extends JpaRepository<OrganizerStats, Long> {
+
+    /**
+     * Add signed deltas to an organizer's counters in place (returns 0 when the organizer has no row yet)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OrganizerStats s SET " +
+            "s.evenementsBrouillon = s.evenementsBrouillon + :brouillon, " +
+            "s.evenementsPublies = s.evenementsPublies + :publies, " +
+            "s.evenementsAnnules = s.evenementsAnnules + :annules, " +
+            "s.evenementsTermines = s.evenementsTermines + :termines, " +
+            "s.reservationsEnAttente = s.reservationsEnAttente + :enAttente, " +
+            "s.reservationsConfirmees = s.reservationsConfirmees + :confirmees, " +
+            "s.reservationsAnnulees = s.reservationsAnnulees + :reservationsAnnulees, " +
+            "s.placesVendues = s.placesVendues + :places, " +
+            "s.revenuConfirme = s.revenuConfirme + CAST(:revenu AS Double) " +
+            "WHERE s.organisateurId = :organizerId")
+    int applyDelta(@Param("organizerId") Long organizerId,
+                   @Param("brouillon") long brouillon,
+                   @Param("publies") long publies,
+                   @Param("annules") long annules,
+                   @Param("termines") long termines,
+                   @Param("enAttente") long enAttente,
+                   @Param("confirmees") long confirmees,
+                   @Param("reservationsAnnulees") long reservationsAnnulees,
+                   @Param("places") long places,
+                   @Param("revenu") double revenu);
+
+    /**
+     * Every rollup row, locked until the end of the transaction (waits for the deltas in flight on them)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OrganizerStats s")
+    List<OrganizerStats> findAllForUpdate();
+}
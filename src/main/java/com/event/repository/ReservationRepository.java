@@ -1,21 +1,71 @@
 package com.event.repository;
 
+import com.event.dto.UserStatisticsDTO;
 import com.event.model.entities.Event;
 import com.event.model.entities.Reservation;
 import com.event.model.entities.User;
 import com.event.model.enums.ReservationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    /**
+     * Text filter shared by the list and page variants of the reservation search
+     */
+    String SEARCH_FILTER = "LOWER(r.codeReservation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(r.utilisateur.nom) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(r.utilisateur.prenom) LIKE LOWER(CONCAT('%', :searchTerm, '%'))";
+
+    /**
+     * Optional text and status filters of the admin reservations screen
+     */
+    String ADMIN_FILTER = "(:status IS NULL OR r.statut = :status) AND (:searchTerm IS NULL OR " +
+            "LOWER(r.codeReservation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(CONCAT(r.utilisateur.prenom, ' ', r.utilisateur.nom)) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(r.evenement.titre) LIKE LOWER(CONCAT('%', :searchTerm, '%')))";
+
+    /**
+     * Organizer scope plus optional event, status and text filters of the organizer reservations screen
+     */
+    String ORGANIZER_FILTER = "r.evenement.organisateur = :organizer AND " +
+            "(:eventId IS NULL OR r.evenement.id = :eventId) AND " +
+            "(:status IS NULL OR r.statut = :status) AND (:searchTerm IS NULL OR " +
+            "LOWER(r.codeReservation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(CONCAT(r.utilisateur.prenom, ' ', r.utilisateur.nom)) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(r.utilisateur.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')))";
+
+    /**
+     * Select list of the hold expiry queries: id, event id, organizer id, places, amount
+     */
+    String HOLD_SELECT = "SELECT r.id, e.id, e.organisateur.id, r.nombrePlaces, r.montantTotal " +
+            "FROM Reservation r JOIN r.evenement e ";
+
+    /**
+     * Select list of the attendee exports: code, event, first name, last name, email, phone,
+     * places, amount, status, booking date
+     */
+    String EXPORT_SELECT = "SELECT r.codeReservation, e.titre, u.prenom, u.nom, u.email, u.telephone, " +
+            "r.nombrePlaces, r.montantTotal, r.statut, r.dateReservation " +
+            "FROM Reservation r JOIN r.evenement e JOIN r.utilisateur u ";
+
     /**
      * Find reservations by user
      */
@@ -35,11 +85,23 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             "r.evenement = :event AND r.statut != 'ANNULEE'")
     int calculateTotalReservedPlaces(@Param("event") Event event);
 
+    /**
+     * Places sold from a seat lease, whatever became of the reservations since (cancellations give
+     * their places back to the event on their own)
+     */
+    @Query("SELECT COALESCE(SUM(r.nombrePlaces), 0) FROM Reservation r WHERE r.leaseId = :leaseId")
+    int sumPlacesSoldFromLease(@Param("leaseId") Long leaseId);
+
     /**
      * Find reservation by code
      */
     Optional<Reservation> findByCodeReservation(String code);
 
+    /**
+     * Find the reservation created by a form submission
+     */
+    Optional<Reservation> findByIdempotencyKey(String idempotencyKey);
+
     /**
      * Find reservations between two dates
      */
@@ -63,6 +125,19 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             "r.utilisateur = :user AND r.statut = 'CONFIRMEE'")
     Double calculateTotalAmountByUser(@Param("user") User user);
 
+    /**
+     * Reservation counts by status, upcoming reservations, amount spent and events created by a user - one row
+     */
+    @Query("SELECT new com.event.dto.UserStatisticsDTO(COUNT(r), " +
+            "SUM(CASE WHEN r.statut = 'CONFIRMEE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.statut = 'EN_ATTENTE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.statut = 'ANNULEE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.statut != 'ANNULEE' AND e.dateDebut > :now THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.statut = 'CONFIRMEE' THEN r.montantTotal ELSE 0.0 END), " +
+            "(SELECT COUNT(o) FROM Event o WHERE o.organisateur.id = :userId)) " +
+            "FROM Reservation r JOIN r.evenement e WHERE r.utilisateur.id = :userId")
+    UserStatisticsDTO getUserStatistics(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
     /**
      * Find reservations by event
      */
@@ -117,10 +192,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     /**
      * Search reservations by user name or code
      */
-    @Query("SELECT r FROM Reservation r WHERE " +
-            "LOWER(r.codeReservation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(r.utilisateur.nom) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(r.utilisateur.prenom) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @Query("SELECT r FROM Reservation r WHERE " + SEARCH_FILTER)
     List<Reservation> searchReservations(@Param("searchTerm") String searchTerm);
 
     /**
@@ -153,6 +225,89 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             "r.statut = 'CONFIRMEE'")
     Double calculateTotalRevenue();
 
+    /**
+     * Reservations of an event per status (status, count, places, amount)
+     */
+    @Query("SELECT r.statut, COUNT(r), COALESCE(SUM(r.nombrePlaces), 0), COALESCE(SUM(r.montantTotal), 0.0) " +
+            "FROM Reservation r WHERE r.evenement = :event GROUP BY r.statut")
+    List<Object[]> summarizeByStatusForEvent(@Param("event") Event event);
+
+    /**
+     * Reservations per organizer and status (organizer id, status, count, places, amount)
+     */
+    @Query("SELECT r.evenement.organisateur.id, r.statut, COUNT(r), COALESCE(SUM(r.nombrePlaces), 0), " +
+            "COALESCE(SUM(r.montantTotal), 0.0) FROM Reservation r " +
+            "GROUP BY r.evenement.organisateur.id, r.statut")
+    List<Object[]> summarizeByOrganizerAndStatus();
+
+    /**
+     * Pending reservations whose seat hold has expired or whose event has started (one lifecycle job chunk)
+     */
+    @Query(HOLD_SELECT + "WHERE r.statut = 'EN_ATTENTE' AND (r.expiresAt <= :now OR e.dateDebut <= :now) ORDER BY r.id")
+    List<Object[]> findStalePendingReservations(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * The given reservations that are still pending with an expired seat hold
+     */
+    @Query(HOLD_SELECT + "WHERE r.id IN :ids AND r.statut = 'EN_ATTENTE' AND r.expiresAt <= :now")
+    List<Object[]> findExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Id and expiry of every seat hold still running (reloaded into the expiry queue at startup)
+     */
+    @Query("SELECT r.id, r.expiresAt FROM Reservation r WHERE r.statut = 'EN_ATTENTE' AND r.expiresAt IS NOT NULL")
+    List<Object[]> findActiveHolds();
+
+    /**
+     * Reservations with their event and organizer, for bulk actions
+     */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.evenement e JOIN FETCH e.organisateur WHERE r.id IN :ids")
+    List<Reservation> findAllWithEventByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Confirm pending reservations in one statement and end their seat holds (returns the number confirmed)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.statut = com.event.model.enums.ReservationStatus.CONFIRMEE, r.expiresAt = NULL, " +
+            "r.version = r.version + 1 " +
+            "WHERE r.id IN :ids AND r.statut = 'EN_ATTENTE'")
+    int confirmPending(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Cancel reservations that are not cancelled yet in one statement (returns the number cancelled)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.statut = com.event.model.enums.ReservationStatus.ANNULEE, " +
+            "r.version = r.version + 1 " +
+            "WHERE r.id IN :ids AND r.statut <> 'ANNULEE'")
+    int cancelActive(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Cancel pending reservations in one statement (returns the number of reservations cancelled)
+     */
+    @Modifying
+    @Query("UPDATE Reservation r SET r.statut = com.event.model.enums.ReservationStatus.ANNULEE, " +
+            "r.version = r.version + 1 " +
+            "WHERE r.id IN :ids AND r.statut = 'EN_ATTENTE'")
+    int cancelPending(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reservation and user totals of the admin dashboard in a single row (conditional aggregation):
+     * total, confirmed, pending, cancelled, revenue, users, active users, admins, organizers, clients
+     */
+    @Query("SELECT COUNT(r), " +
+            "COALESCE(SUM(CASE WHEN r.statut = 'CONFIRMEE' THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.statut = 'EN_ATTENTE' THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.statut = 'ANNULEE' THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.statut = 'CONFIRMEE' THEN r.montantTotal ELSE 0.0 END), 0.0), " +
+            "(SELECT COUNT(u) FROM User u), " +
+            "(SELECT COUNT(u) FROM User u WHERE u.actif = true), " +
+            "(SELECT COUNT(u) FROM User u WHERE u.role = 'ADMIN'), " +
+            "(SELECT COUNT(u) FROM User u WHERE u.role = 'ORGANIZER'), " +
+            "(SELECT COUNT(u) FROM User u WHERE u.role = 'CLIENT') " +
+            "FROM Reservation r")
+    List<Object[]> aggregateDashboardTotals();
+
     /**
      * Find recent reservations (last N days)
      */
@@ -162,4 +317,63 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findRecentReservations(@Param("sinceDate") LocalDateTime sinceDate);
 
     long countByStatut(ReservationStatus statut);
+
+    /**
+     * Filter reservations by text and status, one slice at a time with their user and event
+     */
+    @EntityGraph(attributePaths = {"utilisateur", "evenement"})
+    @Query("SELECT r FROM Reservation r WHERE " + ADMIN_FILTER)
+    Slice<Reservation> filterReservations(@Param("searchTerm") String searchTerm,
+                                          @Param("status") ReservationStatus status,
+                                          Pageable pageable);
+
+    /**
+     * Count reservations matching the text and status filters
+     */
+    @Query("SELECT COUNT(r) FROM Reservation r WHERE " + ADMIN_FILTER)
+    long countFilteredReservations(@Param("searchTerm") String searchTerm, @Param("status") ReservationStatus status);
+
+    /**
+     * Filter the reservations of an organizer's events, one slice at a time with their user and event
+     */
+    @EntityGraph(attributePaths = {"utilisateur", "evenement"})
+    @Query("SELECT r FROM Reservation r WHERE " + ORGANIZER_FILTER)
+    Slice<Reservation> filterOrganizerReservations(@Param("organizer") User organizer,
+                                                   @Param("eventId") Long eventId,
+                                                   @Param("status") ReservationStatus status,
+                                                   @Param("searchTerm") String searchTerm,
+                                                   Pageable pageable);
+
+    /**
+     * Count the reservations of an organizer's events matching the filters
+     */
+    @Query("SELECT COUNT(r) FROM Reservation r WHERE " + ORGANIZER_FILTER)
+    long countFilteredOrganizerReservations(@Param("organizer") User organizer,
+                                            @Param("eventId") Long eventId,
+                                            @Param("status") ReservationStatus status,
+                                            @Param("searchTerm") String searchTerm);
+
+    /**
+     * Forward-only export rows of the reservations matching the text and status filters
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + "WHERE " + ADMIN_FILTER + " ORDER BY r.id")
+    Stream<Object[]> streamFilteredReservations(@Param("searchTerm") String searchTerm,
+                                                @Param("status") ReservationStatus status);
+
+    /**
+     * Forward-only export rows of the reservations of an organizer's events matching the filters
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + "WHERE " + ORGANIZER_FILTER + " ORDER BY r.id")
+    Stream<Object[]> streamFilteredOrganizerReservations(@Param("organizer") User organizer,
+                                                         @Param("eventId") Long eventId,
+                                                         @Param("status") ReservationStatus status,
+                                                         @Param("searchTerm") String searchTerm);
 }
\ No newline at end of file
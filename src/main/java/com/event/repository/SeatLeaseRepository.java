@@ -0,0 +1,29 @@
+package com.event.repository;
+
+import com.event.model.entities.SeatLease;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SeatLeaseRepository extends JpaRepository<SeatLease, Long> {
+
+    /**
+     * Id, event id and places of leases that expired before the given instant, oldest first
+     */
+    @Query("SELECT l.id, l.evenement.id, l.places FROM SeatLease l WHERE l.expiresAt < :before ORDER BY l.expiresAt")
+    List<Object[]> findExpiredLeases(@Param("before") LocalDateTime before, Limit limit);
+
+    /**
+     * End a lease (returns 0 when it was already ended, so only one instance gives its places back)
+     */
+    @Modifying
+    @Query("DELETE FROM SeatLease l WHERE l.id = :leaseId")
+    int endLease(@Param("leaseId") Long leaseId);
+}
@@ -2,7 +2,11 @@ package com.event.repository;
 
 import com.event.model.entities.User;
 import com.event.model.enums.UserRole;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,6 +17,26 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Text filter shared by the list and page variants of the user search
+     */
+    String SEARCH_FILTER = "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(u.nom) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(u.prenom) LIKE LOWER(CONCAT('%', :searchTerm, '%'))";
+
+    /**
+     * Optional text, role and active filters of the admin users screen
+     */
+    String ADMIN_FILTER = "(:role IS NULL OR u.role = :role) AND (:actif IS NULL OR u.actif = :actif) AND " +
+            "(:searchTerm IS NULL OR " + SEARCH_FILTER + ")";
+
+    /**
+     * Lock a user row until the end of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :userId")
+    Optional<User> findByIdForUpdate(@Param("userId") Long userId);
+
     /**
      * Find user by email
      */
@@ -65,10 +89,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Search users by email or name
      */
-    @Query("SELECT u FROM User u WHERE " +
-            "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.nom) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.prenom) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @Query("SELECT u FROM User u WHERE " + SEARCH_FILTER)
     List<User> searchUsers(@Param("searchTerm") String searchTerm);
 
     /**
@@ -81,4 +102,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.role = 'ORGANIZER' AND u.actif = true")
     List<User> findActiveOrganizers();
+
+    /**
+     * Filter users by text, role and active status, one slice at a time
+     */
+    @Query("SELECT u FROM User u WHERE " + ADMIN_FILTER)
+    Slice<User> filterUsers(@Param("searchTerm") String searchTerm,
+                            @Param("role") UserRole role,
+                            @Param("actif") Boolean actif,
+                            Pageable pageable);
+
+    /**
+     * Count users matching the text, role and active filters
+     */
+    @Query("SELECT COUNT(u) FROM User u WHERE " + ADMIN_FILTER)
+    long countFilteredUsers(@Param("searchTerm") String searchTerm,
+                            @Param("role") UserRole role,
+                            @Param("actif") Boolean actif);
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.event.repository;
+
+import com.event.model.entities.User;
+import com.event.model.entities.WaitlistEntry;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Waitlist of an event, first come first served
+     */
+    @EntityGraph(attributePaths = {"utilisateur"})
+    List<WaitlistEntry> findByEvenementIdOrderByIdAsc(Long eventId);
+
+    /**
+     * Ids of an event's waitlist entries, first come first served
+     */
+    @Query("SELECT w.id FROM WaitlistEntry w WHERE w.evenement.id = :eventId ORDER BY w.id")
+    List<Long> findIdsByEvenementId(@Param("eventId") Long eventId);
+
+    /**
+     * Whether anyone waits for an event, on any instance
+     */
+    boolean existsByEvenementId(Long eventId);
+
+    /**
+     * One entry with its user
+     */
+    @EntityGraph(attributePaths = {"utilisateur"})
+    Optional<WaitlistEntry> findWithUtilisateurById(Long id);
+
+    /**
+     * Take an entry off the waitlist (returns 0 when another promotion or a leave got there first)
+     */
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :id")
+    int deleteEntry(@Param("id") Long id);
+
+    /**
+     * A user's entry on an event's waitlist
+     */
+    Optional<WaitlistEntry> findByUtilisateurAndEvenementId(User user, Long eventId);
+
+    /**
+     * Event id, entry id and user id of every entry in queue order (reloaded into memory at startup)
+     */
+    @Query("SELECT w.evenement.id, w.id, w.utilisateur.id FROM WaitlistEntry w ORDER BY w.id")
+    List<Object[]> findAllQueued();
+}
@@ -0,0 +1,308 @@
+package com.event.service;
+
+import com.event.exception.BusinessException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-writer booking path for flash-sale events.
+ * <p>
+ * When enabled for an event, booking requests are not run by the caller: they are queued in a
+ * bounded ring for that event and the caller gets a future. A worker drains the ring one
+ * micro-batch at a time, and never two batches of the same event at once, so requests for a hot
+ * event no longer queue up on its row lock. Each batch reads the remaining places once, decides
+ * every request in memory in arrival order, then commits all the winners in one transaction
+ * with a single counter update. The conditional update stays the safety net against bookings made
+ * outside the sequencer: if it fails the batch is decided again from a fresh read. A batch that
+ * fails in the database for any other reason is replayed request by request. A replayed submission
+ * (same idempotency key) gets the reservation it already created, whichever path it takes.
+ */
+@Component
+public class BookingSequencer {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingSequencer.class);
+    private static final int MAX_DECISION_ROUNDS = 3;
+
+    private final ReservationService reservationService;
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Set<Long> eventIds;
+    private final int ringSize;
+    private final int batchSize;
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+
+    public BookingSequencer(ReservationService reservationService,
+                            EventService eventService,
+                            EventRepository eventRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.booking-sequencer.enabled:false}") boolean enabled,
+                            @Value("${app.booking-sequencer.event-ids:}") Set<Long> eventIds,
+                            @Value("${app.booking-sequencer.ring-size:4096}") int ringSize,
+                            @Value("${app.booking-sequencer.batch-size:100}") int batchSize,
+                            @Value("${app.booking-sequencer.threads:4}") int threads) {
+        this.reservationService = reservationService;
+        this.eventService = eventService;
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.eventIds = Set.copyOf(eventIds);
+        this.ringSize = ringSize;
+        this.batchSize = batchSize;
+        this.workers = Executors.newFixedThreadPool(threads, new WorkerFactory());
+    }
+
+    /**
+     * Book places for an event - through the event's sequencer when it is enabled for it, otherwise
+     * directly on the calling thread (the returned future is then already completed)
+     */
+    public CompletableFuture<Reservation> book(Reservation reservation, User user, Long eventId) {
+        if (!isSequenced(eventId)) {
+            try {
+                return CompletableFuture.completedFuture(bookNow(reservation, user, eventId));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        // A replayed submission is answered without queueing
+        try {
+            Optional<Reservation> submitted = reservationService.findSubmittedReservation(
+                    reservation.getIdempotencyKey(), user, eventId);
+            if (submitted.isPresent()) {
+                return CompletableFuture.completedFuture(submitted.get());
+            }
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Request request = new Request(user, reservation.getNombrePlaces(), reservation.getCommentaire(),
+                reservation.getIdempotencyKey());
+        Lane lane = lanes.computeIfAbsent(eventId, Lane::new);
+        if (!lane.ring.offer(request)) {
+            return CompletableFuture.failedFuture(new BusinessException(
+                    "Trop de demandes en cours pour cet événement, veuillez réessayer dans un instant"));
+        }
+        schedule(lane);
+        return request.result;
+    }
+
+    /**
+     * Whether bookings for this event go through the sequencer
+     */
+    public boolean isSequenced(Long eventId) {
+        return enabled && (eventIds.isEmpty() || eventIds.contains(eventId));
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+        for (Lane lane : lanes.values()) {
+            Request request;
+            while ((request = lane.ring.poll()) != null) {
+                request.result.completeExceptionally(
+                        new BusinessException("Le service de réservation redémarre, veuillez réessayer"));
+            }
+        }
+    }
+
+    // Private helper methods
+
+    private void schedule(Lane lane) {
+        // At most one batch of an event is in flight: that is the single writer
+        if (lane.scheduled.compareAndSet(false, true)) {
+            try {
+                workers.execute(() -> drain(lane));
+            } catch (RejectedExecutionException e) {
+                lane.scheduled.set(false);
+                stop();
+            }
+        }
+    }
+
+    private void drain(Lane lane) {
+        List<Request> batch = new ArrayList<>(batchSize);
+        try {
+            lane.ring.drainTo(batch, batchSize);
+            if (!batch.isEmpty()) {
+                process(lane.eventId, batch);
+            }
+        } catch (RuntimeException e) {
+            log.error("Booking sequencer failure for event {}", lane.eventId, e);
+            // Callers must never wait forever
+            batch.forEach(request -> request.result.completeExceptionally(e));
+        } finally {
+            lane.scheduled.set(false);
+            // One batch per turn so that other hot events get their share of the workers
+            if (!lane.ring.isEmpty()) {
+                schedule(lane);
+            }
+        }
+    }
+
+    private void process(Long eventId, List<Request> batch) {
+        List<Request> pending = batch;
+        for (int round = 1; ; round++) {
+            List<Request> winners = decide(eventId, pending);
+            if (winners.isEmpty()) {
+                return;
+            }
+            try {
+                List<Reservation> saved = transactionTemplate.execute(status ->
+                        reservationService.createGrantedReservations(eventId, toReservations(winners)));
+                for (int i = 0; i < winners.size(); i++) {
+                    winners.get(i).result.complete(saved.get(i));
+                }
+                return;
+            } catch (BusinessException e) {
+                // Places taken outside the sequencer since the read: decide again from a fresh one
+                if (round >= MAX_DECISION_ROUNDS) {
+                    replayOneByOne(eventId, winners);
+                    return;
+                }
+                pending = winners;
+            } catch (RuntimeException e) {
+                log.warn("Booking batch of {} request(s) for event {} failed, replaying one by one: {}",
+                        winners.size(), eventId, e.getMessage());
+                replayOneByOne(eventId, winners);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Grant requests in arrival order against the remaining places and fail the others right away
+     */
+    private List<Request> decide(Long eventId, List<Request> requests) {
+        Event event;
+        try {
+            event = eventService.findById(eventId);
+        } catch (RuntimeException e) {
+            requests.forEach(request -> request.result.completeExceptionally(e));
+            return List.of();
+        }
+        Integer remaining = eventRepository.findRemainingPlaces(eventId);
+        int left = remaining != null ? remaining : 0;
+
+        List<Request> winners = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            try {
+                reservationService.validateBookingRequest(event, request.places);
+            } catch (RuntimeException e) {
+                request.result.completeExceptionally(e);
+                continue;
+            }
+
+            if (request.places <= left) {
+                left -= request.places;
+                winners.add(request);
+            } else if (left <= 0) {
+                request.result.completeExceptionally(
+                        new BusinessException("Il n'y a plus de places disponibles pour cet événement"));
+            } else {
+                request.result.completeExceptionally(
+                        new BusinessException("Il n'y a que " + left + " place(s) disponible(s)"));
+            }
+        }
+        return winners;
+    }
+
+    private void replayOneByOne(Long eventId, List<Request> requests) {
+        for (Request request : requests) {
+            try {
+                request.result.complete(bookNow(request.toReservation(), request.user, eventId));
+            } catch (RuntimeException e) {
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Book on the calling thread; a submission that lost the race to its own twin gets the twin's reservation
+     */
+    private Reservation bookNow(Reservation reservation, User user, Long eventId) {
+        try {
+            return reservationService.createReservation(reservation, user, eventId);
+        } catch (DataIntegrityViolationException e) {
+            return reservationService.findSubmittedReservation(reservation.getIdempotencyKey(), user, eventId)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private List<Reservation> toReservations(List<Request> requests) {
+        // Fresh entities on every attempt: a rolled back attempt leaves ids and codes on the old ones
+        List<Reservation> reservations = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            Reservation reservation = request.toReservation();
+            reservation.setUtilisateur(request.user);
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+
+    /**
+     * Requests waiting for one event
+     */
+    private final class Lane {
+        private final Long eventId;
+        private final BlockingQueue<Request> ring;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Lane(Long eventId) {
+            this.eventId = eventId;
+            this.ring = new ArrayBlockingQueue<>(ringSize);
+        }
+    }
+
+    private static final class Request {
+        private final User user;
+        private final Integer places;
+        private final String commentaire;
+        private final String idempotencyKey;
+        private final CompletableFuture<Reservation> result = new CompletableFuture<>();
+
+        private Request(User user, Integer places, String commentaire, String idempotencyKey) {
+            this.user = user;
+            this.places = places;
+            this.commentaire = commentaire;
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        private Reservation toReservation() {
+            Reservation reservation = new Reservation();
+            reservation.setNombrePlaces(places);
+            reservation.setCommentaire(commentaire);
+            reservation.setIdempotencyKey(idempotencyKey);
+            return reservation;
+        }
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "booking-sequencer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.event.service;
+
+import com.event.dto.EventDTO;
+import com.event.model.enums.EventStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-process read-through cache of published events, keyed by event id.
+ * <p>
+ * Bounded LRU with a time-to-live per entry. Only published events are kept, since they
+ * are the ones the public pages render over and over. Entries hold the descriptive part of an
+ * event: the places shown come from the counter at read time, so bookings never evict anything.
+ * Writers evict an entry both immediately and again once their transaction completes, and each
+ * load in progress notes the evictions of its own event, so a reader racing the commit cannot
+ * leave a stale copy behind while loads of the other events are kept.
+ */
+@Component
+public class EventCatalogCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Long, Entry> entries;
+    // Event id -> load in progress, so a load that raced a write on that event is not cached
+    private final Map<Long, Load> loads = new HashMap<>();
+    // Bumped on every eviction: derived views of the catalogue compare it to know when to reload
+    private long generation;
+    // Bumped when everything is evicted
+    private long epoch;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public EventCatalogCache(@Value("${app.catalog-cache.max-size:500}") int maxSize,
+                             @Value("${app.catalog-cache.ttl:PT5M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > EventCatalogCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Return the cached event or load it, caching the result when the event is published
+     */
+    public EventDTO get(Long eventId, Function<Long, EventDTO> loader) {
+        long now = System.nanoTime();
+        long loadVersion;
+        long loadEpoch;
+        synchronized (entries) {
+            EventDTO cached = lookup(eventId, now);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            loadVersion = startLoad(eventId);
+            loadEpoch = epoch;
+        }
+
+        misses.incrementAndGet();
+        EventDTO event = null;
+        try {
+            event = loader.apply(eventId);
+        } finally {
+            synchronized (entries) {
+                if (event != null) {
+                    store(event, now, loadVersion, loadEpoch);
+                }
+                finishLoad(eventId);
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Return the cached events in the order of the ids, loading the missing ones with a single call
+     * (ids the loader does not return are left out)
+     */
+    public List<EventDTO> getAll(List<Long> eventIds, Function<List<Long>, List<EventDTO>> loader) {
+        long now = System.nanoTime();
+        Map<Long, EventDTO> found = new HashMap<>();
+        Map<Long, Long> loadVersions = new HashMap<>();
+        long loadEpoch;
+        synchronized (entries) {
+            for (Long eventId : eventIds) {
+                EventDTO cached = lookup(eventId, now);
+                if (cached != null) {
+                    found.put(eventId, cached);
+                } else if (!loadVersions.containsKey(eventId)) {
+                    loadVersions.put(eventId, startLoad(eventId));
+                }
+            }
+            loadEpoch = epoch;
+        }
+        hits.addAndGet(found.size());
+
+        if (!loadVersions.isEmpty()) {
+            misses.addAndGet(loadVersions.size());
+            List<EventDTO> loaded = null;
+            try {
+                loaded = loader.apply(new ArrayList<>(loadVersions.keySet()));
+            } finally {
+                synchronized (entries) {
+                    for (EventDTO event : loaded != null ? loaded : List.<EventDTO>of()) {
+                        found.put(event.getId(), event);
+                        Long loadVersion = loadVersions.get(event.getId());
+                        if (loadVersion != null) {
+                            store(event, now, loadVersion, loadEpoch);
+                        }
+                    }
+                    loadVersions.keySet().forEach(this::finishLoad);
+                }
+            }
+        }
+
+        List<EventDTO> events = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds) {
+            EventDTO event = found.get(eventId);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Drop an event now and again when the current transaction completes
+     */
+    public void evict(Long eventId) {
+        remove(eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(eventId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop every event now and again when the current transaction completes
+     */
+    public void evictAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * Number of invalidations so far - derived views of the catalogue compare it to know when to reload
+     */
+    public long getGeneration() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Hit/miss counters and current size
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+
+        return stats;
+    }
+
+    /**
+     * Fresh cached copy of an event or null (call with the lock held)
+     */
+    private EventDTO lookup(Long eventId, long now) {
+        Entry entry = entries.get(eventId);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            return entry.event;
+        }
+        if (entry != null) {
+            entries.remove(eventId);
+        }
+        return null;
+    }
+
+    /**
+     * Register a load of an event and return its evictions so far (call with the lock held)
+     */
+    private long startLoad(Long eventId) {
+        Load load = loads.computeIfAbsent(eventId, id -> new Load());
+        load.readers++;
+        return load.version;
+    }
+
+    /**
+     * Forget a finished load once no other one is running for the event (call with the lock held)
+     */
+    private void finishLoad(Long eventId) {
+        Load load = loads.get(eventId);
+        if (load != null && --load.readers == 0) {
+            loads.remove(eventId);
+        }
+    }
+
+    /**
+     * Cache a loaded event unless it was evicted since the load started (call with the lock held)
+     */
+    private void store(EventDTO event, long loadedAt, long loadVersion, long loadEpoch) {
+        Load load = loads.get(event.getId());
+        if (event.getStatut() == EventStatus.PUBLIE && maxSize > 0
+                && loadEpoch == epoch && load != null && loadVersion == load.version) {
+            entries.put(event.getId(), new Entry(event, loadedAt));
+        }
+    }
+
+    private void remove(Long eventId) {
+        synchronized (entries) {
+            generation++;
+            Load load = loads.get(eventId);
+            if (load != null) {
+                load.version++;
+            }
+            entries.remove(eventId);
+        }
+    }
+
+    private void clear() {
+        synchronized (entries) {
+            generation++;
+            epoch++;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Loads of one event in progress and the evictions of that event since the first of them started
+     */
+    private static final class Load {
+        private int readers;
+        private long version;
+    }
+
+    private static final class Entry {
+        private final EventDTO event;
+        private final long loadedAt;
+
+        private Entry(EventDTO event, long loadedAt) {
+            this.event = event;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
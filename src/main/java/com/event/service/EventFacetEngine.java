@@ -0,0 +1,255 @@
+package com.event.service;
+
+import com.event.dto.EventDTO;
+import com.event.dto.EventFacetsDTO;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.PriceRange;
+import com.event.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.text.Collator;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Faceted search over the in-memory catalogue of available events.
+ * <p>
+ * The catalogue keeps one bitset per category, city, price range and month. A search ANDs
+ * the bitsets of the selected values with the keyword and range filters, and each facet is
+ * counted against every filter but its own, so the counts tell how many results picking
+ * another value would give. The catalogue is reloaded (one query, by one caller at a time while
+ * the others keep using the previous one) only after a change to the catalogue itself seen by
+ * the {@link EventCatalogCache}: publication, edit, cancellation, end. Bookings do not touch it:
+ * sold out events are masked with a separate availability overlay, read again at most every
+ * few seconds.
+ */
+@Component
+public class EventFacetEngine {
+
+    private static final BitSet NONE = new BitSet();
+
+    private final EventRepository eventRepository;
+    private final EventSearchIndex searchIndex;
+    private final EventCatalogCache catalogCache;
+    private final long availabilityTtlNanos;
+
+    private volatile Catalogue catalogue;
+    private volatile SoldOut soldOut;
+    private final ReentrantLock catalogueLoad = new ReentrantLock();
+    private final ReentrantLock soldOutLoad = new ReentrantLock();
+
+    public EventFacetEngine(EventRepository eventRepository,
+                            EventSearchIndex searchIndex,
+                            EventCatalogCache catalogCache,
+                            @Value("${app.facets.availability-ttl:PT2S}") Duration availabilityTtl) {
+        this.eventRepository = eventRepository;
+        this.searchIndex = searchIndex;
+        this.catalogCache = catalogCache;
+        this.availabilityTtlNanos = availabilityTtl.toNanos();
+    }
+
+    /**
+     * Search available events and count the results per category, city, price range and month
+     */
+    public EventFacetsDTO search(EventCategory category, String ville,
+                                 Double minPrice, Double maxPrice,
+                                 LocalDateTime startDate, LocalDateTime endDate,
+                                 String keyword, PriceRange priceRange, YearMonth month,
+                                 Pageable pageable) {
+        Catalogue current = currentCatalogue();
+        Set<Long> full = currentSoldOut();
+        int size = current.events.size();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Keyword and "not started yet" form the base every facet is counted on
+        List<Integer> order = new ArrayList<>();
+        BitSet base = new BitSet(size);
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            for (Long id : searchIndex.search(keyword)) {
+                Integer ordinal = current.ordinals.get(id);
+                if (ordinal != null) {
+                    base.set(ordinal);
+                    order.add(ordinal);
+                }
+            }
+        } else {
+            base.set(0, size);
+            for (int i = 0; i < size; i++) {
+                order.add(i);
+            }
+        }
+
+        // Range filters in a single pass
+        BitSet prices = new BitSet(size);
+        BitSet dates = new BitSet(size);
+        for (int i = base.nextSetBit(0); i >= 0; i = base.nextSetBit(i + 1)) {
+            EventDTO event = current.events.get(i);
+            if (!event.getDateDebut().isAfter(now) || full.contains(event.getId())) {
+                base.clear(i);
+                continue;
+            }
+            double price = event.getPrixUnitaire();
+            if ((minPrice == null || price >= minPrice) && (maxPrice == null || price <= maxPrice)) {
+                prices.set(i);
+            }
+            LocalDateTime start = event.getDateDebut();
+            if ((startDate == null || !start.isBefore(startDate)) && (endDate == null || !start.isAfter(endDate))) {
+                dates.set(i);
+            }
+        }
+        if (priceRange != null) {
+            prices.and(current.priceRanges.getOrDefault(priceRange, NONE));
+        }
+        if (month != null) {
+            dates.and(current.months.getOrDefault(month, NONE));
+        }
+        BitSet categories = category != null ? current.categories.getOrDefault(category, NONE) : null;
+        BitSet cities = ville != null && !ville.trim().isEmpty() ? current.cities.getOrDefault(ville.trim(), NONE) : null;
+
+        BitSet matches = and(base, categories, cities, prices, dates);
+
+        List<EventDTO> page = new ArrayList<>();
+        int skip = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        for (Integer ordinal : order) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (matches.get(ordinal) && skip-- <= 0) {
+                page.add(current.events.get(ordinal));
+            }
+        }
+
+        return new EventFacetsDTO(
+                page,
+                matches.cardinality(),
+                count(current.categories, and(base, cities, prices, dates), new EnumMap<>(EventCategory.class)),
+                count(current.cities, and(base, categories, prices, dates), cityMap()),
+                count(current.priceRanges, and(base, categories, cities, dates), new EnumMap<>(PriceRange.class)),
+                count(current.months, and(base, categories, cities, prices), new TreeMap<>())
+        );
+    }
+
+    // Private helper methods
+
+    private Catalogue currentCatalogue() {
+        Catalogue current = catalogue;
+        long generation = catalogCache.getGeneration();
+        if (current != null && current.generation == generation) {
+            return current;
+        }
+        if (!reload(catalogueLoad, current != null)) {
+            return current;
+        }
+        try {
+            current = catalogue;
+            generation = catalogCache.getGeneration();
+            if (current == null || current.generation != generation) {
+                current = new Catalogue(generation, eventRepository.findAvailableEventsDTO(LocalDateTime.now()));
+                catalogue = current;
+            }
+            return current;
+        } finally {
+            catalogueLoad.unlock();
+        }
+    }
+
+    private Set<Long> currentSoldOut() {
+        SoldOut current = soldOut;
+        if (current != null && System.nanoTime() - current.loadedAt < availabilityTtlNanos) {
+            return current.eventIds;
+        }
+        if (!reload(soldOutLoad, current != null)) {
+            return current.eventIds;
+        }
+        try {
+            current = soldOut;
+            if (current == null || System.nanoTime() - current.loadedAt >= availabilityTtlNanos) {
+                long loadedAt = System.nanoTime();
+                current = new SoldOut(Set.copyOf(eventRepository.findSoldOutEventIds(LocalDateTime.now())), loadedAt);
+                soldOut = current;
+            }
+            return current.eventIds;
+        } finally {
+            soldOutLoad.unlock();
+        }
+    }
+
+    /**
+     * Take the right to reload: callers that have a previous copy to serve do not wait for it
+     */
+    private static boolean reload(ReentrantLock lock, boolean hasPrevious) {
+        if (hasPrevious) {
+            return lock.tryLock();
+        }
+        lock.lock();
+        return true;
+    }
+
+    private static BitSet and(BitSet first, BitSet... others) {
+        BitSet result = (BitSet) first.clone();
+        for (BitSet other : others) {
+            if (other != null) {
+                result.and(other);
+            }
+        }
+        return result;
+    }
+
+    private static <K> Map<K, Integer> count(Map<K, BitSet> facet, BitSet filter, Map<K, Integer> counts) {
+        facet.forEach((value, bits) -> {
+            BitSet hits = (BitSet) bits.clone();
+            hits.and(filter);
+            counts.put(value, hits.cardinality());
+        });
+        return counts;
+    }
+
+    private static <V> TreeMap<String, V> cityMap() {
+        Collator collator = Collator.getInstance(Locale.FRENCH);
+        collator.setStrength(Collator.PRIMARY);
+        return new TreeMap<>(collator);
+    }
+
+    private static final class SoldOut {
+        private final Set<Long> eventIds;
+        private final long loadedAt;
+
+        private SoldOut(Set<Long> eventIds, long loadedAt) {
+            this.eventIds = eventIds;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the published upcoming events and their facet bitsets
+     */
+    private static final class Catalogue {
+        private final long generation;
+        private final List<EventDTO> events = new ArrayList<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final Map<EventCategory, BitSet> categories = new EnumMap<>(EventCategory.class);
+        private final Map<String, BitSet> cities = cityMap();
+        private final Map<PriceRange, BitSet> priceRanges = new EnumMap<>(PriceRange.class);
+        private final Map<YearMonth, BitSet> months = new TreeMap<>();
+
+        private Catalogue(long generation, List<EventDTO> available) {
+            this.generation = generation;
+            // Sold out events stay in: the overlay hides them for as long as they are full
+            for (EventDTO event : available) {
+                int ordinal = events.size();
+                events.add(event);
+                ordinals.put(event.getId(), ordinal);
+                categories.computeIfAbsent(event.getCategorie(), k -> new BitSet()).set(ordinal);
+                cities.computeIfAbsent(event.getVille(), k -> new BitSet()).set(ordinal);
+                priceRanges.computeIfAbsent(PriceRange.of(event.getPrixUnitaire()), k -> new BitSet()).set(ordinal);
+                months.computeIfAbsent(YearMonth.from(event.getDateDebut()), k -> new BitSet()).set(ordinal);
+            }
+        }
+    }
+}
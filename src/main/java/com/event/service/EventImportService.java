@@ -0,0 +1,500 @@
+package com.event.service;
+
+import com.event.dto.EventImportReport;
+import com.event.exception.BadRequestException;
+import com.event.exception.ForbiddenException;
+import com.event.model.entities.Event;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk creation of events from a CSV or JSON file.
+ * <p>
+ * The file is read one row at a time and every row is checked against the same rules as a
+ * single event creation. Valid rows are inserted in JDBC batches, one transaction per batch,
+ * together with their organizer rollup delta. A batch that fails in the database is replayed
+ * row by row, so the report always names the rows that were rejected and why. Imported events
+ * are drafts: the organizer reviews and publishes them afterwards. Screens hand the uploaded
+ * file to a small worker pool and receive the report once the import is done.
+ */
+@Service
+public class EventImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventImportService.class);
+
+    /**
+     * Rows per insert transaction, matching hibernate.jdbc.batch_size
+     */
+    static final int BATCH_SIZE = 50;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
+    );
+
+    /**
+     * Accepted file formats
+     */
+    public enum Format {
+        CSV, JSON;
+
+        public static Format fromFileName(String fileName) {
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".json")) {
+                return JSON;
+            }
+            throw new BadRequestException("Format de fichier non supporté (CSV ou JSON attendu)");
+        }
+    }
+
+    private final EventService eventService;
+    private final OrganizerStatsService organizerStatsService;
+    private final EventSearchIndex searchIndex;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+
+    public EventImportService(EventService eventService,
+                              OrganizerStatsService organizerStatsService,
+                              EventSearchIndex searchIndex,
+                              EntityManager entityManager,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.event-import.threads:2}") int threads) {
+        this.eventService = eventService;
+        this.organizerStatsService = organizerStatsService;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = Executors.newFixedThreadPool(threads, new WorkerFactory());
+    }
+
+    /**
+     * Import an uploaded file on the import workers (the file is deleted once read)
+     */
+    public CompletableFuture<EventImportReport> importEventsInBackground(File file, Format format, User organizer) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (InputStream in = new FileInputStream(file)) {
+                return importEvents(in, format, organizer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                file.delete();
+            }
+        }, workers);
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+    }
+
+    /**
+     * Create the events of a file as drafts of the given organizer (returns the per-row report)
+     */
+    public EventImportReport importEvents(InputStream in, Format format, User organizer) {
+        if (!organizer.getRole().isOrganizer()) {
+            throw new ForbiddenException("Seuls les organisateurs et administrateurs peuvent créer des événements");
+        }
+
+        EventImportReport report = new EventImportReport(MAX_REPORTED_ERRORS);
+        List<Row> batch = new ArrayList<>(BATCH_SIZE);
+
+        try (RowReader reader = format == Format.CSV ? new CsvRowReader(in) : new JsonRowReader(objectMapper, in)) {
+            Map<String, String> values;
+            while ((values = reader.next()) != null) {
+                int position = reader.position();
+                try {
+                    batch.add(new Row(position, toEvent(values)));
+                } catch (BadRequestException e) {
+                    report.rejected(position, values.get("titre"), e.getMessage());
+                    continue;
+                }
+
+                if (batch.size() == BATCH_SIZE) {
+                    insert(batch, organizer.getId(), report);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            // Rows read so far are kept; the rest of the file cannot be trusted
+            report.rejected(0, null, "Fichier illisible : " + e.getMessage());
+        }
+        insert(batch, organizer.getId(), report);
+
+        log.info("Event import by user {}: {} created, {} rejected",
+                organizer.getId(), report.getImported(), report.getRejected());
+        return report;
+    }
+
+    // Private helper methods
+
+    /**
+     * Insert a batch in one transaction; on failure, replay it row by row to find the culprits
+     */
+    private void insert(List<Row> batch, Long organizerId, EventImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            report.imported(transactionTemplate.execute(status -> persist(batch, organizerId)));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                Row row = batch.get(0);
+                report.rejected(row.position, row.event.getTitre(), rootMessage(e));
+                return;
+            }
+            for (Row row : batch) {
+                // Forget what the rolled back attempt assigned
+                row.event.setId(null);
+                row.event.setVersion(null);
+                insert(List.of(row), organizerId, report);
+            }
+        }
+    }
+
+    private int persist(List<Row> batch, Long organizerId) {
+        User organizer = entityManager.getReference(User.class, organizerId);
+        for (Row row : batch) {
+            row.event.setOrganisateur(organizer);
+            entityManager.persist(row.event);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        organizerStatsService.eventsCreated(organizerId, EventStatus.BROUILLON, batch.size());
+        batch.forEach(row -> searchIndex.index(row.event));
+        return batch.size();
+    }
+
+    /**
+     * Build and validate the event of one row
+     */
+    private Event toEvent(Map<String, String> values) {
+        Event event = new Event();
+        event.setTitre(values.get("titre"));
+        event.setDescription(values.get("description"));
+        event.setCategorie(parseCategory(values.get("categorie")));
+        event.setDateDebut(parseDate(values.get("datedebut"), "date de début"));
+        event.setDateFin(parseDate(values.get("datefin"), "date de fin"));
+        event.setLieu(values.get("lieu"));
+        event.setVille(values.get("ville"));
+        event.setCapaciteMax(parseInteger(values.get("capacitemax")));
+        event.setPrixUnitaire(parsePrice(values.get("prixunitaire")));
+        event.setImageUrl(values.get("imageurl"));
+        event.setStatut(EventStatus.BROUILLON);
+
+        eventService.validateNewEvent(event);
+        Set<ConstraintViolation<Event>> violations = validator.validate(event);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.iterator().next().getMessage());
+        }
+        return event;
+    }
+
+    private EventCategory parseCategory(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (EventCategory category : EventCategory.values()) {
+            if (category.name().equalsIgnoreCase(value) || category.getLabel().equalsIgnoreCase(value)) {
+                return category;
+            }
+        }
+        throw new BadRequestException("Catégorie inconnue : " + value);
+    }
+
+    private LocalDateTime parseDate(String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDateTime.parse(value, format);
+            } catch (DateTimeParseException e) {
+                // Try the next accepted format
+            }
+        }
+        throw new BadRequestException("Format invalide pour la " + field + " : " + value);
+    }
+
+    private Integer parseInteger(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Capacité maximale invalide : " + value);
+        }
+    }
+
+    private Double parsePrice(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Prix unitaire invalide : " + value);
+        }
+    }
+
+    private String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    /**
+     * Column name or JSON key reduced to lowercase ASCII letters (date_debut, "Date début" -> datedebut)
+     */
+    private static String normalizeKey(String key) {
+        String ascii = Normalizer.normalize(key, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return ascii.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+    }
+
+    private static void put(Map<String, String> values, String key, String value) {
+        if (value != null && !value.trim().isEmpty()) {
+            values.put(normalizeKey(key), value.trim());
+        }
+    }
+
+    /**
+     * Valid event of a file row, with its position for the report
+     */
+    private static final class Row {
+        private final int position;
+        private final Event event;
+
+        private Row(int position, Event event) {
+            this.position = position;
+            this.event = event;
+        }
+    }
+
+    /**
+     * Forward-only source of rows as key/value maps
+     */
+    private interface RowReader extends Closeable {
+        /**
+         * Next row, or null at the end of the file
+         */
+        Map<String, String> next() throws IOException;
+
+        /**
+         * Position of the last row read: line number (CSV) or element number (JSON)
+         */
+        int position();
+    }
+
+    /**
+     * CSV with a header line, ';' or ',' separated, with RFC 4180 quoting
+     */
+    private static final class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final List<String> header;
+        private final char separator;
+        private int lineNumber;
+        private int position;
+
+        private CsvRowReader(InputStream in) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new BadRequestException("Le fichier est vide");
+            }
+            lineNumber = 1;
+            if (headerLine.startsWith("\uFEFF")) {
+                headerLine = headerLine.substring(1);
+            }
+            this.separator = headerLine.indexOf(';') >= 0 ? ';' : ',';
+            this.header = split(headerLine);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.trim().isEmpty());
+            position = lineNumber;
+
+            // A quoted value may span several lines
+            StringBuilder record = new StringBuilder(line);
+            while (quoteCount(record) % 2 != 0) {
+                String continuation = reader.readLine();
+                if (continuation == null) {
+                    throw new IOException("guillemet non fermé à la ligne " + position);
+                }
+                lineNumber++;
+                record.append('\n').append(continuation);
+            }
+
+            List<String> fields = split(record.toString());
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                put(values, header.get(i), fields.get(i));
+            }
+            return values;
+        }
+
+        @Override
+        public int position() {
+            return position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private List<String> split(String record) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < record.length(); i++) {
+                char c = record.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == separator) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int quoteCount(CharSequence record) {
+            int count = 0;
+            for (int i = 0; i < record.length(); i++) {
+                if (record.charAt(i) == '"') {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * JSON array of flat objects, read one element at a time
+     */
+    private static final class JsonRowReader implements RowReader {
+        private final ObjectMapper objectMapper;
+        private final JsonParser parser;
+        private int position;
+
+        private JsonRowReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+            this.objectMapper = objectMapper;
+            this.parser = objectMapper.getFactory().createParser(in);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Le fichier JSON doit contenir une liste d'événements");
+            }
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            position++;
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("l'élément " + position + " n'est pas un objet");
+            }
+
+            JsonNode node = objectMapper.readTree(parser);
+            Map<String, String> values = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                if (!field.getValue().isNull()) {
+                    put(values, field.getKey(), field.getValue().asText());
+                }
+            });
+            return values;
+        }
+
+        @Override
+        public int position() {
+            return position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "event-import-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.event.service;
+
+import com.event.config.SchedulingConfig;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.ReservationStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-based transitions of events and reservations.
+ * <p>
+ * Each transition runs as bulk UPDATEs over bounded chunks, one transaction per chunk, so a
+ * large backlog never holds locks for long. Every chunk keeps the organizer rollups, the seat
+ * counters and the catalogue cache in step with the rows it moved. A chunk whose rows changed
+ * status concurrently is rolled back and taken again from fresh rows.
+ */
+@Service
+public class EventLifecycleService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLifecycleService.class);
+    private static final int MAX_CHUNK_RETRIES = 3;
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final OrganizerStatsService organizerStatsService;
+    private final SeatAllocationService seatAllocationService;
+    private final ShardedCapacityService shardedCapacityService;
+    private final EventCatalogCache catalogCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong finishedEvents = new AtomicLong();
+    private final AtomicLong expiredReservations = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private volatile long lastRunMillis;
+    private volatile LocalDateTime lastRun;
+
+    public EventLifecycleService(EventRepository eventRepository,
+                                 ReservationRepository reservationRepository,
+                                 OrganizerStatsService organizerStatsService,
+                                 SeatAllocationService seatAllocationService,
+                                 ShardedCapacityService shardedCapacityService,
+                                 EventCatalogCache catalogCache,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.lifecycle.enabled:true}") boolean enabled,
+                                 @Value("${app.lifecycle.chunk-size:500}") int chunkSize) {
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.organizerStatsService = organizerStatsService;
+        this.seatAllocationService = seatAllocationService;
+        this.shardedCapacityService = shardedCapacityService;
+        this.catalogCache = catalogCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Scheduled entry point
+     */
+    @Scheduled(fixedDelayString = "${app.lifecycle.interval:PT1M}",
+            initialDelayString = "${app.lifecycle.initial-delay:PT30S}",
+            scheduler = SchedulingConfig.LIFECYCLE_SCHEDULER)
+    public void runScheduled() {
+        if (enabled) {
+            run(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Apply every time-based transition due at the given instant
+     */
+    public void run(LocalDateTime now) {
+        long start = System.nanoTime();
+
+        int expired = expireStalePendingReservations(now);
+        int finished = finishEndedEvents(now);
+        // Screens read the event counter: bring the split ones up to date with their slots
+        shardedCapacityService.foldCounters();
+
+        long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        runs.incrementAndGet();
+        totalMillis.addAndGet(millis);
+        lastRunMillis = millis;
+        lastRun = now;
+
+        if (finished > 0 || expired > 0) {
+            log.info("Lifecycle run: {} event(s) finished, {} expired hold(s) cancelled in {} ms",
+                    finished, expired, millis);
+        }
+    }
+
+    /**
+     * Move published events whose end date has passed to TERMINE (returns the number of events moved)
+     */
+    public int finishEndedEvents(LocalDateTime now) {
+        int finished = inChunks(status -> {
+            List<Object[]> rows = eventRepository.findEndedPublishedEvents(now, Limit.of(chunkSize));
+            if (rows.isEmpty()) {
+                return 0;
+            }
+
+            List<Long> ids = new ArrayList<>(rows.size());
+            Map<Long, Long> perOrganizer = new HashMap<>();
+            for (Object[] row : rows) {
+                ids.add((Long) row[0]);
+                perOrganizer.merge((Long) row[1], 1L, Long::sum);
+            }
+
+            if (eventRepository.markFinished(ids, now) != ids.size()) {
+                status.setRollbackOnly();
+                return null;
+            }
+            perOrganizer.forEach((organizerId, count) -> organizerStatsService.eventsStatusChanged(
+                    organizerId, EventStatus.PUBLIE, EventStatus.TERMINE, count));
+            ids.forEach(catalogCache::evict);
+            return ids.size();
+        });
+
+        finishedEvents.addAndGet(finished);
+        return finished;
+    }
+
+    /**
+     * Cancel pending reservations whose seat hold has expired or whose event has started,
+     * and give their places back (returns the number of reservations cancelled)
+     */
+    public int expireStalePendingReservations(LocalDateTime now) {
+        int expired = inChunks(status -> cancelHolds(
+                reservationRepository.findStalePendingReservations(now, Limit.of(chunkSize)), status));
+
+        expiredReservations.addAndGet(expired);
+        return expired;
+    }
+
+    /**
+     * Cancel the given reservations if their seat hold has expired (expiry queue)
+     */
+    public int expireHolds(Collection<Long> reservationIds, LocalDateTime now) {
+        Integer expired = null;
+        for (int attempt = 0; expired == null && attempt <= MAX_CHUNK_RETRIES; attempt++) {
+            expired = transactionTemplate.execute(status -> cancelHolds(
+                    reservationRepository.findExpiredHolds(reservationIds, now), status));
+        }
+        if (expired == null) {
+            return 0;
+        }
+
+        expiredReservations.addAndGet(expired);
+        return expired;
+    }
+
+    /**
+     * Rows touched and runtime of the job so far
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long runCount = runs.get();
+
+        stats.put("runs", runCount);
+        stats.put("finishedEvents", finishedEvents.get());
+        stats.put("expiredReservations", expiredReservations.get());
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("averageMillis", runCount == 0 ? 0.0 : (double) totalMillis.get() / runCount);
+        stats.put("lastRun", lastRun);
+
+        return stats;
+    }
+
+    // Private helper methods
+
+    /**
+     * Cancel pending reservation rows (id, event id, organizer id, places, amount) and release their
+     * places; returns null after rolling back when one of them is no longer pending
+     */
+    private Integer cancelHolds(List<Object[]> rows, TransactionStatus status) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        Map<Long, Integer> placesPerEvent = new HashMap<>();
+        Map<Long, long[]> perOrganizer = new HashMap<>();
+        for (Object[] row : rows) {
+            int places = ((Number) row[3]).intValue();
+            ids.add((Long) row[0]);
+            placesPerEvent.merge((Long) row[1], places, Integer::sum);
+            long[] totals = perOrganizer.computeIfAbsent((Long) row[2], id -> new long[2]);
+            totals[0]++;
+            totals[1] += places;
+        }
+
+        if (reservationRepository.cancelPending(ids) != ids.size()) {
+            status.setRollbackOnly();
+            return null;
+        }
+        // Pending reservations carry no revenue in the rollup
+        perOrganizer.forEach((organizerId, totals) -> organizerStatsService.reservationsStatusChanged(
+                organizerId, ReservationStatus.EN_ATTENTE, ReservationStatus.ANNULEE, totals[0], totals[1], 0));
+        placesPerEvent.forEach(seatAllocationService::release);
+        return ids.size();
+    }
+
+    /**
+     * Run a chunk in its own transaction until a chunk comes back short; a null result means
+     * the chunk was rolled back and is taken again
+     */
+    private int inChunks(TransactionCallback<Integer> chunk) {
+        int total = 0;
+        int retries = 0;
+        while (true) {
+            Integer touched = transactionTemplate.execute(chunk);
+            if (touched == null) {
+                if (++retries > MAX_CHUNK_RETRIES) {
+                    log.warn("Lifecycle chunk kept conflicting with concurrent updates, left for the next run");
+                    return total;
+                }
+                continue;
+            }
+            total += touched;
+            if (touched < chunkSize) {
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.event.service;
+
+import com.event.config.SchedulingConfig;
+import com.event.model.entities.Event;
+import com.event.repository.EventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the title, description, place and city of every event.
+ * <p>
+ * Text is accent-folded and lower-cased, then every token is indexed under all its prefixes
+ * (search-as-you-type) and its trigrams (infix matches). Each token is also indexed under a
+ * loose transliteration key so that spellings like "Marrakesh"/"Marrakech" or
+ * "Essawira"/"Essaouira" meet. Matches are ranked by field weight: title first, then place
+ * and city, then description. Writes are applied once their transaction commits.
+ * <p>
+ * Each instance holds its own copy and only sees the writes committed through it; the copy is
+ * rebuilt from the database on a schedule, so changes made through another instance show up
+ * in its searches after at most one refresh interval.
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "au", "aux", "avec", "d", "de", "des", "du", "en", "et", "l", "la", "le", "les",
+            "pour", "sur", "un", "une"
+    );
+
+    private static final int MAX_PREFIX = 20;
+    private static final int GRAM = 3;
+    private static final String VARIANT_MARK = "~";
+
+    private static final float TITLE_WEIGHT = 4f;
+    private static final float PLACE_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_FACTOR = 0.5f;
+    private static final float VARIANT_FACTOR = 0.8f;
+    private static final float INFIX_SCORE = 0.25f;
+
+    private final EventRepository eventRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    // Token prefix (or transliteration key) -> event id -> best score
+    private final Map<String, Map<Long, Float>> prefixes = new HashMap<>();
+    // Trigram -> event ids
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+    // Writes committed while a rebuild reads the table (null document: removed), replayed over it
+    private Map<Long, Document> pendingWrites;
+
+    public EventSearchIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Load every event into the index
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Document> loaded = null;
+        try {
+            loaded = eventRepository.findAll().stream().map(Document::new).toList();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                Map<Long, Document> committedMeanwhile = pendingWrites;
+                pendingWrites = null;
+                if (loaded != null) {
+                    documents.clear();
+                    prefixes.clear();
+                    trigrams.clear();
+                    loaded.forEach(this::add);
+                    committedMeanwhile.forEach(this::write);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Scheduled refresh, picking up the events changed through other instances
+     */
+    @Scheduled(fixedDelayString = "${app.search-index.refresh-interval:PT5M}",
+            initialDelayString = "${app.search-index.refresh-interval:PT5M}",
+            scheduler = SchedulingConfig.LIFECYCLE_SCHEDULER)
+    public void refreshScheduled() {
+        rebuild();
+    }
+
+    /**
+     * Index or re-index an event once the current transaction commits
+     */
+    public void index(Event event) {
+        Document document = new Document(event);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                write(document.id, document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove an event once the current transaction commits
+     */
+    public void remove(Long eventId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                write(eventId, null);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Ids of the events matching every word of the query, best match first
+     */
+    public List<Long> search(String query) {
+        return search(query, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ids of the best matching events, at most the given number (for ids sent to the database)
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String phrase = String.join(" ", tokens(query));
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String term : terms) {
+                Map<Long, Float> matches = match(term);
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    scores.keySet().retainAll(matches.keySet());
+                    scores.replaceAll((id, score) -> score + matches.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            // Whole query found as is in the title
+            if (terms.size() > 1) {
+                scores.replaceAll((id, score) ->
+                        documents.get(id).title.contains(phrase) ? score + TITLE_WEIGHT : score);
+            }
+
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+            return ranked.stream().limit(limit).map(Map.Entry::getKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed events
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-case, accent-free form of a text
+     */
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = text.toLowerCase(Locale.ROOT)
+                .replace("œ", "oe")
+                .replace("æ", "ae")
+                .replace("ß", "ss");
+        return MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Loose key for transliterated names: ou/w -> u, sh -> ch, q -> k, doubled letters collapsed
+     */
+    static String variant(String token) {
+        String key = token.replace("ou", "u")
+                .replace("w", "u")
+                .replace("sh", "ch")
+                .replace("q", "k");
+        StringBuilder collapsed = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            if (i == 0 || key.charAt(i) != key.charAt(i - 1)) {
+                collapsed.append(key.charAt(i));
+            }
+        }
+        return collapsed.toString();
+    }
+
+    // Private helper methods
+
+    private List<String> queryTerms(String query) {
+        List<String> tokens = tokens(query);
+        List<String> terms = tokens.stream().filter(t -> !STOP_WORDS.contains(t)).toList();
+        return terms.isEmpty() ? tokens : terms;
+    }
+
+    private Map<Long, Float> match(String term) {
+        Map<Long, Float> matches = new HashMap<>();
+        String key = term.length() > MAX_PREFIX ? term.substring(0, MAX_PREFIX) : term;
+        merge(matches, prefixes.get(key), 1f);
+        merge(matches, prefixes.get(VARIANT_MARK + truncate(variant(term))), VARIANT_FACTOR);
+
+        // Infix fallback: candidates sharing every trigram, checked against the folded text
+        if (term.length() >= GRAM) {
+            Set<Long> candidates = null;
+            for (String gram : grams(term)) {
+                Set<Long> ids = trigrams.getOrDefault(gram, Collections.emptySet());
+                if (candidates == null) {
+                    candidates = new HashSet<>(ids);
+                } else {
+                    candidates.retainAll(ids);
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+            }
+            for (Long id : candidates) {
+                if (!matches.containsKey(id) && documents.get(id).text.contains(term)) {
+                    matches.put(id, INFIX_SCORE);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void merge(Map<Long, Float> matches, Map<Long, Float> postings, float factor) {
+        if (postings != null) {
+            postings.forEach((id, score) -> matches.merge(id, score * factor, Math::max));
+        }
+    }
+
+    /**
+     * Apply a committed write (null document: removed), remembering it for a rebuild in progress
+     */
+    private void write(Long eventId, Document document) {
+        delete(eventId);
+        if (document != null) {
+            add(document);
+        }
+        if (pendingWrites != null) {
+            pendingWrites.put(eventId, document);
+        }
+    }
+
+    private void add(Document document) {
+        documents.put(document.id, document);
+        document.keys.forEach((key, score) ->
+                prefixes.computeIfAbsent(key, k -> new HashMap<>()).put(document.id, score));
+        document.grams.forEach(gram ->
+                trigrams.computeIfAbsent(gram, k -> new HashSet<>()).add(document.id));
+    }
+
+    private void delete(Long eventId) {
+        Document document = documents.remove(eventId);
+        if (document == null) {
+            return;
+        }
+        document.keys.keySet().forEach(key -> {
+            Map<Long, Float> postings = prefixes.get(key);
+            postings.remove(eventId);
+            if (postings.isEmpty()) {
+                prefixes.remove(key);
+            }
+        });
+        document.grams.forEach(gram -> {
+            Set<Long> postings = trigrams.get(gram);
+            postings.remove(eventId);
+            if (postings.isEmpty()) {
+                trigrams.remove(gram);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_PREFIX ? key.substring(0, MAX_PREFIX) : key;
+    }
+
+    private static Set<String> grams(String token) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            grams.add(token.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Index entries of one event, kept so the event can be removed again
+     */
+    private static final class Document {
+        private final Long id;
+        private final String title;
+        private final String text;
+        private final Map<String, Float> keys = new HashMap<>();
+        private final Set<String> grams = new HashSet<>();
+
+        private Document(Event event) {
+            this.id = event.getId();
+            this.title = String.join(" ", tokens(event.getTitre()));
+            this.text = String.join(" ", tokens(String.join(" ",
+                    Objects.toString(event.getTitre(), ""), Objects.toString(event.getDescription(), ""),
+                    Objects.toString(event.getLieu(), ""), Objects.toString(event.getVille(), ""))));
+
+            addField(event.getTitre(), TITLE_WEIGHT);
+            addField(event.getLieu(), PLACE_WEIGHT);
+            addField(event.getVille(), PLACE_WEIGHT);
+            addField(event.getDescription(), DESCRIPTION_WEIGHT);
+        }
+
+        private void addField(String value, float weight) {
+            for (String token : tokens(value)) {
+                addPrefixes(token, "", weight);
+                String variant = variant(token);
+                addPrefixes(variant, VARIANT_MARK, weight);
+                grams.addAll(EventSearchIndex.grams(token));
+            }
+        }
+
+        private void addPrefixes(String token, String mark, float weight) {
+            String key = truncate(token);
+            for (int length = 1; length <= key.length(); length++) {
+                float score = length == token.length() ? weight : weight * PREFIX_FACTOR;
+                keys.merge(mark + key.substring(0, length), score, Math::max);
+            }
+        }
+    }
+}
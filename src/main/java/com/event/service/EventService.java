@@ -1,40 +1,75 @@
 package com.event.service;
 
 import com.event.dto.EventDTO;
+import com.event.dto.EventFacetsDTO;
 import com.event.exception.BadRequestException;
 import com.event.exception.BusinessException;
 import com.event.exception.ForbiddenException;
 import com.event.exception.ResourceNotFoundException;
 import com.event.model.entities.Event;
+import com.event.model.entities.OrganizerStats;
 import com.event.model.entities.User;
 import com.event.model.enums.EventCategory;
 import com.event.model.enums.EventStatus;
+import com.event.model.enums.PriceRange;
 import com.event.model.enums.ReservationStatus;
 import com.event.model.enums.UserRole;
 import com.event.repository.EventRepository;
 import com.event.repository.ReservationRepository;
 import com.event.util.DateValidator;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class EventService {
 
+    private static final Sort DEFAULT_SORT = Sort.by("dateDebut").ascending().and(Sort.by("id"));
+    // Best keyword matches sent to the database as an IN list
+    private static final int MAX_KEYWORD_MATCHES = 500;
+
     private final EventRepository eventRepository;
     private final ReservationRepository reservationRepository;
     private final DateValidator dateValidator;
+    private final EventCatalogCache catalogCache;
+    private final EventSearchIndex searchIndex;
+    private final EventFacetEngine facetEngine;
+    private final OrganizerStatsService organizerStatsService;
+    private final EventLifecycleService lifecycleService;
+    private final ShardedCapacityService shardedCapacityService;
+    private final OptimisticLockRetry optimisticLockRetry;
 
     public EventService(EventRepository eventRepository,
                         ReservationRepository reservationRepository,
-                        DateValidator dateValidator) {
+                        DateValidator dateValidator,
+                        EventCatalogCache catalogCache,
+                        EventSearchIndex searchIndex,
+                        EventFacetEngine facetEngine,
+                        OrganizerStatsService organizerStatsService,
+                        EventLifecycleService lifecycleService,
+                        ShardedCapacityService shardedCapacityService,
+                        OptimisticLockRetry optimisticLockRetry) {
         this.eventRepository = eventRepository;
         this.reservationRepository = reservationRepository;
         this.dateValidator = dateValidator;
+        this.catalogCache = catalogCache;
+        this.searchIndex = searchIndex;
+        this.facetEngine = facetEngine;
+        this.organizerStatsService = organizerStatsService;
+        this.lifecycleService = lifecycleService;
+        this.shardedCapacityService = shardedCapacityService;
+        this.optimisticLockRetry = optimisticLockRetry;
     }
 
     /**
@@ -60,14 +95,19 @@ public class EventService {
             event.setStatut(EventStatus.BROUILLON);
         }
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        organizerStatsService.eventCreated(saved);
+        searchIndex.index(saved);
+        return saved;
     }
 
     /**
      * Update event
      */
     public Event updateEvent(Long eventId, Event updatedEvent, User currentUser) {
-        Event event = findById(eventId);
+        // Row locked so that no booking lands between the capacity check and the new capacity
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement", "id", eventId));
 
         // Check permissions
         validateUpdatePermissions(event, currentUser);
@@ -77,6 +117,19 @@ public class EventService {
             throw new BusinessException("Cet événement ne peut plus être modifié");
         }
 
+        // Capacity cannot drop below the places already taken
+        if (updatedEvent.getCapaciteMax() != null && updatedEvent.getCapaciteMax() < event.getPlacesReservees()) {
+            throw new BusinessException(
+                    "La capacité ne peut pas être inférieure aux " + event.getPlacesReservees() + " place(s) déjà réservée(s)"
+            );
+        }
+
+        // A split capacity is spread again over its slots (exact check against their reserved places)
+        if (event.isCapaciteFractionnee() && updatedEvent.getCapaciteMax() != null
+                && !updatedEvent.getCapaciteMax().equals(event.getCapaciteMax())) {
+            shardedCapacityService.resize(eventId, updatedEvent.getCapaciteMax());
+        }
+
         // Validate dates if changed
         if (!event.getDateDebut().equals(updatedEvent.getDateDebut()) ||
                 !event.getDateFin().equals(updatedEvent.getDateFin())) {
@@ -95,47 +148,26 @@ public class EventService {
         event.setPrixUnitaire(updatedEvent.getPrixUnitaire());
         event.setImageUrl(updatedEvent.getImageUrl());
 
-        return eventRepository.save(event);
+        catalogCache.evict(eventId);
+        Event saved = eventRepository.save(event);
+        searchIndex.index(saved);
+        return saved;
     }
 
     /**
-     * Publish event
+     * Publish event (retried from a fresh read if a concurrent change wins the race)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Event publishEvent(Long eventId, User currentUser) {
-        Event event = findById(eventId);
-
-        // Check permissions
-        validateUpdatePermissions(event, currentUser);
-
-        // Validate event is complete
-        if (!isEventComplete(event)) {
-            throw new BusinessException("L'événement doit avoir toutes les informations requises avant d'être publié");
-        }
-
-        // Validate dates
-        if (!dateValidator.isFuture(event.getDateDebut())) {
-            throw new BusinessException("La date de début doit être dans le futur");
-        }
-
-        event.setStatut(EventStatus.PUBLIE);
-        return eventRepository.save(event);
+        return optimisticLockRetry.execute("publishEvent", "Event#" + eventId, () -> applyPublication(eventId, currentUser));
     }
 
     /**
-     * Cancel event
+     * Cancel event (retried from a fresh read if a concurrent change wins the race)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Event cancelEvent(Long eventId, User currentUser) {
-        Event event = findById(eventId);
-
-        // Check permissions
-        validateUpdatePermissions(event, currentUser);
-
-        if (event.getStatut() == EventStatus.TERMINE) {
-            throw new BusinessException("Un événement terminé ne peut pas être annulé");
-        }
-
-        event.setStatut(EventStatus.ANNULE);
-        return eventRepository.save(event);
+        return optimisticLockRetry.execute("cancelEvent", "Event#" + eventId, () -> applyCancellation(eventId, currentUser));
     }
 
     /**
@@ -153,75 +185,152 @@ public class EventService {
             throw new BusinessException("Cet événement ne peut pas être supprimé car il a des réservations actives");
         }
 
+        organizerStatsService.eventDeleted(event);
         eventRepository.delete(event);
+        catalogCache.evict(eventId);
+        searchIndex.remove(eventId);
     }
 
     /**
-     * Calculate available places - returns DTO with reserved places calculated
+     * Calculate available places
      */
     @Transactional(readOnly = true)
     public int getAvailablePlaces(Long eventId) {
-        Event event = findById(eventId);
-        int reservedPlaces = reservationRepository.calculateTotalReservedPlaces(event);
-        return event.getCapaciteMax() - reservedPlaces;
+        // From the counters: the entity of a split event only has the copy folded by the lifecycle job
+        Integer remaining = eventRepository.findRemainingPlaces(eventId);
+        if (remaining == null) {
+            throw new ResourceNotFoundException("Événement", "id", eventId);
+        }
+        return remaining;
     }
 
     /**
-     * Convert Event to EventDTO with reserved places
+     * Recompute reserved places counters and organizer rollups from the reservations (admin maintenance job)
      */
-    private EventDTO toDTO(Event event) {
-        int reservedPlaces = reservationRepository.calculateTotalReservedPlaces(event);
-        return new EventDTO(event, reservedPlaces);
+    public int recomputeReservedPlaces() {
+        catalogCache.evictAll();
+        organizerStatsService.rebuild();
+        return eventRepository.recomputeReservedPlaces();
     }
 
     /**
-     * Search events with filters - returns DTOs
+     * Search events with filters - returns DTOs, best keyword match first when a keyword is given
      */
     @Transactional(readOnly = true)
     public List<EventDTO> searchEventsDTO(EventCategory category, String ville,
                                           Double minPrice, Double maxPrice,
                                           LocalDateTime startDate, LocalDateTime endDate,
                                           EventStatus status, String keyword) {
-        List<Event> events = eventRepository.searchEvents(
+        if (blankToNull(keyword) == null) {
+            return eventRepository.searchEventsDTO(
+                    category, ville, minPrice, maxPrice,
+                    startDate, endDate, status, null
+            );
+        }
+
+        List<Long> rankedIds = searchIndex.search(keyword, MAX_KEYWORD_MATCHES);
+        if (rankedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<EventDTO> events = new ArrayList<>(eventRepository.searchEventsDTOByIds(
                 category, ville, minPrice, maxPrice,
-                startDate, endDate, status, keyword
+                startDate, endDate, status, rankedIds
+        ));
+        sortByRank(events, rankedIds);
+        return events;
+    }
+
+    /**
+     * Search events with filters - returns one slice of DTOs
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventDTO> searchEventsDTO(EventCategory category, String ville,
+                                           Double minPrice, Double maxPrice,
+                                           LocalDateTime startDate, LocalDateTime endDate,
+                                           EventStatus status, String keyword,
+                                           Pageable pageable) {
+        if (blankToNull(keyword) != null && pageable.getSort().isUnsorted()) {
+            return searchRankedSlice(category, ville, minPrice, maxPrice, startDate, endDate, status, keyword,
+                    pageable);
+        }
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SORT);
+        }
+        if (blankToNull(keyword) != null) {
+            List<Long> ids = searchIndex.search(keyword, MAX_KEYWORD_MATCHES);
+            if (ids.isEmpty()) {
+                return new SliceImpl<>(new ArrayList<>(), pageable, false);
+            }
+            return eventRepository.searchEventsDTOByIds(
+                    category, ville, minPrice, maxPrice,
+                    startDate, endDate, status, ids, pageable
+            );
+        }
+        return eventRepository.searchEventsDTO(
+                category, ville, minPrice, maxPrice,
+                startDate, endDate, status, null, pageable
         );
+    }
+
+    /**
+     * Search available events with live counts per category, city, price range and month
+     */
+    @Transactional(readOnly = true)
+    public EventFacetsDTO searchAvailableEventsWithFacets(EventCategory category, String ville,
+                                                          Double minPrice, Double maxPrice,
+                                                          LocalDateTime startDate, LocalDateTime endDate,
+                                                          String keyword, PriceRange priceRange, YearMonth month,
+                                                          Pageable pageable) {
+        EventFacetsDTO facets = facetEngine.search(category, ville, minPrice, maxPrice, startDate, endDate,
+                blankToNull(keyword), priceRange, month, pageable);
+        List<Long> ids = facets.getEvents().stream().map(EventDTO::getId).toList();
+        return new EventFacetsDTO(getCatalogueEvents(ids), facets.getTotal(), facets.getCategories(),
+                facets.getCities(), facets.getPriceRanges(), facets.getMonths());
+    }
 
-        return events.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    /**
+     * Get the next available events after the last one shown (keyset pagination, pass null for the first page)
+     */
+    @Transactional(readOnly = true)
+    public List<EventDTO> getAvailableEventsDTOAfter(EventDTO last, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        if (last == null) {
+            return eventRepository.findAvailableEventsDTOAfter(now, now, 0L, Limit.of(size));
+        }
+        return eventRepository.findAvailableEventsDTOAfter(now, last.getDateDebut(), last.getId(), Limit.of(size));
     }
 
     /**
-     * Get available events - returns DTOs
+     * Get available events - returns DTOs (single projection query)
      */
     @Transactional(readOnly = true)
     public List<EventDTO> getAvailableEventsDTO() {
-        List<Event> events = eventRepository.findAvailableEvents(LocalDateTime.now());
-        return events.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return eventRepository.findAvailableEventsDTO(LocalDateTime.now());
     }
 
     /**
-     * Get most popular events - returns DTOs
+     * Get most popular events - returns DTOs (single projection query)
      */
     @Transactional(readOnly = true)
     public List<EventDTO> getMostPopularEventsDTO(int limit) {
-        List<Event> events = eventRepository.findMostPopularEvents();
-        return events.stream()
-                .limit(limit)
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return getCatalogueEvents(eventRepository.findMostPopularEventIds(PageRequest.of(0, limit)));
     }
 
     /**
-     * Get event by ID with DTO
+     * Get event by ID with DTO (published events are served from the catalogue cache)
      */
     @Transactional(readOnly = true)
     public EventDTO getEventDTO(Long eventId) {
-        Event event = findById(eventId);
-        return toDTO(event);
+        EventDTO event = catalogCache.get(eventId, id -> eventRepository.findDTOById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement", "id", id)));
+        return withCurrentPlaces(List.of(event)).get(0);
+    }
+
+    /**
+     * Get catalogue cache hit/miss statistics
+     */
+    public Map<String, Object> getCatalogCacheStatistics() {
+        return catalogCache.getStatistics();
     }
 
     /**
@@ -229,74 +338,84 @@ public class EventService {
      */
     @Transactional(readOnly = true)
     public List<Event> getEventsByOrganizer(User organizer) {
-        List<Event> events = eventRepository.findByOrganisateurWithReservations(organizer);
+        List<Event> events = eventRepository.findByOrganisateurOrderByDateCreationDesc(organizer);
         return events != null ? events : new ArrayList<>();
     }
 
     /**
-     * Get organizer statistics
+     * Get the most recently created events of an organizer
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> getOrganizerStatistics(User organizer) {
-        Map<String, Object> stats = new HashMap<>();
+    public List<Event> getRecentEventsByOrganizer(User organizer, int limit) {
+        return eventRepository.findByOrganisateurOrderByDateCreationDesc(organizer, Limit.of(limit));
+    }
 
-        List<Event> events = eventRepository.findByOrganisateur(organizer);
+    /**
+     * Filter the events of an organizer by title and status - one slice, newest first unless sorted otherwise
+     */
+    @Transactional(readOnly = true)
+    public Slice<Event> filterOrganizerEvents(User organizer, String keyword, EventStatus status, Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by("dateCreation").descending().and(Sort.by("id")));
+        }
+        return eventRepository.filterOrganizerEvents(organizer, blankToNull(keyword), status, pageable);
+    }
 
-        long totalEvents = events.size();
-        long draftEvents = events.stream().filter(e -> e.getStatut().isDraft()).count();
-        long publishedEvents = events.stream().filter(e -> e.getStatut().isPublished()).count();
-        long cancelledEvents = events.stream().filter(e -> e.getStatut().isCancelled()).count();
-        long finishedEvents = events.stream().filter(e -> e.getStatut().isFinished()).count();
+    /**
+     * Count the events of an organizer matching the title and status filters
+     */
+    @Transactional(readOnly = true)
+    public long countFilteredOrganizerEvents(User organizer, String keyword, EventStatus status) {
+        return eventRepository.countFilteredOrganizerEvents(organizer, blankToNull(keyword), status);
+    }
 
-        long totalReservations = events.stream()
-                .mapToLong(e -> reservationRepository.countByEvenement(e))
-                .sum();
+    /**
+     * Get organizer statistics (read from the organizer's rollup row)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getOrganizerStatistics(User organizer) {
+        Map<String, Object> stats = new HashMap<>();
 
-        Double totalRevenue = reservationRepository.calculateTotalRevenueByOrganizer(organizer);
+        OrganizerStats rollup = organizerStatsService.getStatistics(organizer.getId());
 
-        stats.put("totalEvents", totalEvents);
-        stats.put("draftEvents", draftEvents);
-        stats.put("publishedEvents", publishedEvents);
-        stats.put("cancelledEvents", cancelledEvents);
-        stats.put("finishedEvents", finishedEvents);
-        stats.put("totalReservations", totalReservations);
-        stats.put("totalRevenue", totalRevenue != null ? totalRevenue : 0.0);
+        stats.put("totalEvents", rollup.getTotalEvenements());
+        stats.put("draftEvents", rollup.getEvenementsBrouillon());
+        stats.put("publishedEvents", rollup.getEvenementsPublies());
+        stats.put("cancelledEvents", rollup.getEvenementsAnnules());
+        stats.put("finishedEvents", rollup.getEvenementsTermines());
+        stats.put("totalReservations", rollup.getTotalReservations());
+        stats.put("pendingReservations", rollup.getReservationsEnAttente());
+        stats.put("confirmedReservations", rollup.getReservationsConfirmees());
+        stats.put("cancelledReservations", rollup.getReservationsAnnulees());
+        stats.put("soldPlaces", rollup.getPlacesVendues());
+        stats.put("totalRevenue", rollup.getRevenuConfirme());
 
         return stats;
     }
 
     /**
-     * Mark finished events automatically
+     * Mark finished events now (bulk chunks, each in its own transaction)
      */
-    public void markFinishedEvents() {
-        List<Event> eventsToFinish = eventRepository.findEventsToMarkAsFinished(LocalDateTime.now());
-
-        eventsToFinish.forEach(event -> {
-            event.setStatut(EventStatus.TERMINE);
-            eventRepository.save(event);
-        });
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int markFinishedEvents() {
+        return lifecycleService.finishEndedEvents(LocalDateTime.now());
     }
 
     /**
-     * Get events by category - returns DTOs
+     * Get events by category - returns DTOs (single projection query)
      */
     @Transactional(readOnly = true)
     public List<EventDTO> getEventsByCategoryDTO(EventCategory category) {
-        List<Event> events = eventRepository.findPublishedEventsByCategory(category);
-        return events.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return eventRepository.findPublishedEventsByCategoryDTO(category);
     }
 
     /**
-     * Get events in city - returns DTOs
+     * Get events in city - returns DTOs (single projection query)
      */
     @Transactional(readOnly = true)
     public List<EventDTO> getEventsInCityDTO(String ville) {
-        List<Event> events = eventRepository.findPublishedEventsInCity(ville, LocalDateTime.now());
-        return events.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return eventRepository.findPublishedEventsInCityDTO(ville, LocalDateTime.now());
     }
 
     /**
@@ -317,28 +436,145 @@ public class EventService {
     }
 
     /**
-     * Get global event statistics
+     * Filter events by title and status - one slice, newest first unless sorted otherwise
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> getGlobalStatistics() {
-        Map<String, Object> stats = new HashMap<>();
+    public Slice<Event> filterEvents(String keyword, EventStatus status, Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by("dateCreation").descending().and(Sort.by("id")));
+        }
+        return eventRepository.filterEvents(blankToNull(keyword), status, pageable);
+    }
+
+    /**
+     * Count events matching the title and status filters
+     */
+    @Transactional(readOnly = true)
+    public long countFilteredEvents(String keyword, EventStatus status) {
+        return eventRepository.countFilteredEvents(blankToNull(keyword), status);
+    }
+
+    /**
+     * Check the rules every new event must satisfy (shared with the bulk import)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void validateNewEvent(Event event) {
+        validateEventDates(event);
+        validateEventFields(event);
+    }
 
-        stats.put("totalEvents", eventRepository.count());
-        stats.put("publishedEvents", eventRepository.countByStatut(EventStatus.PUBLIE));
-        stats.put("draftEvents", eventRepository.countByStatut(EventStatus.BROUILLON));
-        stats.put("cancelledEvents", eventRepository.countByStatut(EventStatus.ANNULE));
-        stats.put("finishedEvents", eventRepository.countByStatut(EventStatus.TERMINE));
+    // Private helper methods
 
-        Map<String, Long> byCategory = new HashMap<>();
-        for (EventCategory category : EventCategory.values()) {
-            byCategory.put(category.name(), eventRepository.countByCategorie(category));
+    /**
+     * Events in the given order, described from the catalogue cache, with their places read from the counters
+     */
+    private List<EventDTO> getCatalogueEvents(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
-        stats.put("byCategory", byCategory);
+        return withCurrentPlaces(catalogCache.getAll(ids, eventRepository::findDTOsByIds));
+    }
 
-        return stats;
+    /**
+     * Cached descriptions never carry the places: bookings do not evict them
+     */
+    private List<EventDTO> withCurrentPlaces(List<EventDTO> events) {
+        Map<Long, Integer> reserved = new HashMap<>();
+        for (Object[] row : eventRepository.findReservedPlaces(events.stream().map(EventDTO::getId).toList())) {
+            reserved.put((Long) row[0], (Integer) row[1]);
+        }
+        List<EventDTO> current = new ArrayList<>(events.size());
+        for (EventDTO event : events) {
+            current.add(event.withPlacesReservees(reserved.getOrDefault(event.getId(), event.getPlacesReservees())));
+        }
+        return current;
     }
 
-    // Private helper methods
+    private Event applyPublication(Long eventId, User currentUser) {
+        Event event = findById(eventId);
+
+        // Check permissions
+        validateUpdatePermissions(event, currentUser);
+
+        // Validate event is complete
+        if (!isEventComplete(event)) {
+            throw new BusinessException("L'événement doit avoir toutes les informations requises avant d'être publié");
+        }
+
+        // Validate dates
+        if (!dateValidator.isFuture(event.getDateDebut())) {
+            throw new BusinessException("La date de début doit être dans le futur");
+        }
+
+        EventStatus previousStatus = event.getStatut();
+        event.setStatut(EventStatus.PUBLIE);
+        organizerStatsService.eventStatusChanged(event, previousStatus);
+        catalogCache.evict(eventId);
+        return eventRepository.save(event);
+    }
+
+    private Event applyCancellation(Long eventId, User currentUser) {
+        Event event = findById(eventId);
+
+        // Check permissions
+        validateUpdatePermissions(event, currentUser);
+
+        if (event.getStatut() == EventStatus.TERMINE) {
+            throw new BusinessException("Un événement terminé ne peut pas être annulé");
+        }
+
+        EventStatus previousStatus = event.getStatut();
+        event.setStatut(EventStatus.ANNULE);
+        organizerStatsService.eventStatusChanged(event, previousStatus);
+        catalogCache.evict(eventId);
+        return eventRepository.save(event);
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /**
+     * Relevance order comes from the index: the filters are applied to the ranked ids first, then
+     * only the DTOs of the requested window are loaded
+     */
+    private Slice<EventDTO> searchRankedSlice(EventCategory category, String ville,
+                                              Double minPrice, Double maxPrice,
+                                              LocalDateTime startDate, LocalDateTime endDate,
+                                              EventStatus status, String keyword, Pageable pageable) {
+        List<Long> rankedIds = searchIndex.search(keyword, MAX_KEYWORD_MATCHES);
+        if (rankedIds.isEmpty()) {
+            return new SliceImpl<>(new ArrayList<>(), pageable, false);
+        }
+        Set<Long> matching = new HashSet<>(eventRepository.filterIdsBySearchCriteria(
+                category, ville, minPrice, maxPrice, startDate, endDate, status, rankedIds));
+        List<Long> window = rankedIds.stream()
+                .filter(matching::contains)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .toList();
+        boolean hasNext = window.size() > pageable.getPageSize();
+        if (hasNext) {
+            window = window.subList(0, pageable.getPageSize());
+        }
+        if (window.isEmpty()) {
+            return new SliceImpl<>(new ArrayList<>(), pageable, false);
+        }
+
+        List<EventDTO> events = new ArrayList<>(eventRepository.searchEventsDTOByIds(
+                category, ville, minPrice, maxPrice, startDate, endDate, status, window));
+        sortByRank(events, window);
+        return new SliceImpl<>(events, pageable, hasNext);
+    }
+
+    private void sortByRank(List<EventDTO> events, List<Long> rankedIds) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rank.put(rankedIds.get(i), i);
+        }
+        events.sort(Comparator.comparing(event -> rank.get(event.getId())));
+    }
 
     private void validateEventDates(Event event) {
         if (!dateValidator.isFuture(event.getDateDebut())) {
@@ -0,0 +1,154 @@
+package com.event.service;
+
+import com.event.exception.ConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry of state transitions that lost an optimistic locking race.
+ * <p>
+ * The transition runs in its own transaction; when its commit finds that the row's version moved
+ * on, it is run again from a fresh read after a short random pause, so the checks are made
+ * against the state the other writer left (which usually ends in a clear business error rather
+ * than a silent overwrite). Conflicts are counted per operation and per entity so that contention
+ * on hot events shows up on the admin dashboard. Inside a caller's transaction the transition
+ * simply joins it and the caller owns the outcome.
+ */
+@Component
+public class OptimisticLockRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetry.class);
+    private static final int MAX_TRACKED_ENTITIES = 500;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    private final Map<String, Counters> operations = new ConcurrentHashMap<>();
+    // "Reservation#42" -> conflicts
+    private final Map<String, AtomicLong> contendedEntities = new ConcurrentHashMap<>();
+
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager,
+                               @Value("${app.optimistic-retry.max-attempts:3}") int maxAttempts,
+                               @Value("${app.optimistic-retry.backoff:PT0.02S}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Run a transition on an entity ("Reservation#42") in a transaction, again from scratch after an
+     * optimistic locking conflict
+     */
+    public <T> T execute(String operation, String entity, Supplier<T> transition) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transition.get();
+        }
+
+        Counters counters = operations.computeIfAbsent(operation, name -> new Counters());
+        counters.calls.incrementAndGet();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> transition.get());
+                if (attempt > 1) {
+                    counters.recovered.incrementAndGet();
+                }
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                counters.conflicts.incrementAndGet();
+                recordConflict(entity);
+                if (attempt >= maxAttempts) {
+                    counters.exhausted.incrementAndGet();
+                    log.warn("{} still conflicting after {} attempts: {}", operation, attempt, e.getMessage());
+                    throw new ConflictException(
+                            "Cette donnée vient d'être modifiée par un autre utilisateur, veuillez réessayer");
+                }
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * Conflict counters per operation and the most contended entities
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long calls = 0;
+        long conflicts = 0;
+        long recovered = 0;
+        long exhausted = 0;
+
+        Map<String, Map<String, Long>> perOperation = new TreeMap<>();
+        for (Map.Entry<String, Counters> entry : operations.entrySet()) {
+            Counters counters = entry.getValue();
+            calls += counters.calls.get();
+            conflicts += counters.conflicts.get();
+            recovered += counters.recovered.get();
+            exhausted += counters.exhausted.get();
+            perOperation.put(entry.getKey(), Map.of(
+                    "calls", counters.calls.get(),
+                    "conflicts", counters.conflicts.get(),
+                    "recovered", counters.recovered.get(),
+                    "exhausted", counters.exhausted.get()));
+        }
+
+        List<Map.Entry<String, Long>> hottest = contendedEntities.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().get()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(5)
+                .toList();
+
+        stats.put("calls", calls);
+        stats.put("conflicts", conflicts);
+        stats.put("recovered", recovered);
+        stats.put("exhausted", exhausted);
+        stats.put("operations", perOperation);
+        stats.put("hottest", hottest);
+        return stats;
+    }
+
+    // Private helper methods
+
+    private void recordConflict(String entity) {
+        // Batched versioned updates fail without naming the row, so the caller tells which one it was
+        AtomicLong counter = contendedEntities.get(entity);
+        if (counter == null && contendedEntities.size() >= MAX_TRACKED_ENTITIES) {
+            // Enough entities tracked to spot the hot ones
+            return;
+        }
+        contendedEntities.computeIfAbsent(entity, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void pause(int attempt) {
+        long maxMillis = backoff.toMillis() * attempt;
+        if (maxMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis / 2, maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Opération interrompue, veuillez réessayer");
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong conflicts = new AtomicLong();
+        private final AtomicLong recovered = new AtomicLong();
+        private final AtomicLong exhausted = new AtomicLong();
+    }
+}
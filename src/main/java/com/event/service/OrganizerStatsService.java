@@ -0,0 +1,240 @@
+package com.event.service;
+
+import com.event.model.entities.Event;
+import com.event.model.entities.OrganizerStats;
+import com.event.model.entities.Reservation;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.ReservationStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.OrganizerStatsRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-organizer statistics rollup.
+ * <p>
+ * Every event or reservation state transition adds signed deltas to the organizer's row with a
+ * single UPDATE inside the caller's transaction, so the rollup commits or rolls back together
+ * with the change it describes. Reading an organizer's figures is then a primary key lookup.
+ * The first row of an organizer is created under a lock on the organizer's user row, and a rebuild
+ * locks every row before reading the totals, so neither races with the deltas of other transactions.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OrganizerStatsService {
+
+    private final OrganizerStatsRepository organizerStatsRepository;
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final UserRepository userRepository;
+
+    public OrganizerStatsService(OrganizerStatsRepository organizerStatsRepository,
+                                 EventRepository eventRepository,
+                                 ReservationRepository reservationRepository,
+                                 UserRepository userRepository) {
+        this.organizerStatsRepository = organizerStatsRepository;
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * A new event was created
+     */
+    public void eventCreated(Event event) {
+        apply(organizerId(event), new Delta().event(event.getStatut(), 1));
+    }
+
+    /**
+     * Several events of one organizer were created with the same status (bulk import)
+     */
+    public void eventsCreated(Long organizerId, EventStatus status, long count) {
+        apply(organizerId, new Delta().event(status, count));
+    }
+
+    /**
+     * An event moved from one status to another
+     */
+    public void eventStatusChanged(Event event, EventStatus previousStatus) {
+        if (previousStatus == event.getStatut()) {
+            return;
+        }
+        apply(organizerId(event), new Delta().event(previousStatus, -1).event(event.getStatut(), 1));
+    }
+
+    /**
+     * Several events of one organizer moved from one status to another (bulk transition)
+     */
+    public void eventsStatusChanged(Long organizerId, EventStatus previousStatus, EventStatus newStatus, long count) {
+        apply(organizerId, new Delta().event(previousStatus, -count).event(newStatus, count));
+    }
+
+    /**
+     * An event is about to be deleted together with its reservations
+     */
+    public void eventDeleted(Event event) {
+        Delta delta = new Delta().event(event.getStatut(), -1);
+        for (Object[] row : reservationRepository.summarizeByStatusForEvent(event)) {
+            delta.reservations((ReservationStatus) row[0], -((Number) row[1]).longValue(),
+                    -((Number) row[2]).longValue(), -((Number) row[3]).doubleValue());
+        }
+        apply(organizerId(event), delta);
+    }
+
+    /**
+     * A new reservation was created
+     */
+    public void reservationCreated(Reservation reservation) {
+        apply(organizerId(reservation.getEvenement()), new Delta().reservation(reservation, reservation.getStatut(), 1));
+    }
+
+    /**
+     * A reservation moved from one status to another
+     */
+    public void reservationStatusChanged(Reservation reservation, ReservationStatus previousStatus) {
+        if (previousStatus == reservation.getStatut()) {
+            return;
+        }
+        apply(organizerId(reservation.getEvenement()), new Delta()
+                .reservation(reservation, previousStatus, -1)
+                .reservation(reservation, reservation.getStatut(), 1));
+    }
+
+    /**
+     * Several reservations of one organizer moved from one status to another (bulk transition)
+     */
+    public void reservationsStatusChanged(Long organizerId, ReservationStatus previousStatus, ReservationStatus newStatus,
+                                          long count, long seats, double amount) {
+        apply(organizerId, new Delta()
+                .reservations(previousStatus, -count, -seats, -amount)
+                .reservations(newStatus, count, seats, amount));
+    }
+
+    /**
+     * Get an organizer's rollup (zeros when the organizer has no event yet)
+     */
+    @Transactional(readOnly = true)
+    public OrganizerStats getStatistics(Long organizerId) {
+        return organizerStatsRepository.findById(organizerId)
+                .orElseGet(() -> new OrganizerStats(organizerId));
+    }
+
+    /**
+     * Rebuild every rollup row from the events and reservations (maintenance job)
+     */
+    @Transactional
+    public int rebuild() {
+        // Every organizer with events gets a row, then all rows are locked before the totals are read:
+        // a delta already applied has committed and is counted, a later one waits and applies on top
+        for (Object[] row : eventRepository.countGroupedByOrganisateurAndStatut()) {
+            ensureRow((Long) row[0]);
+        }
+        Map<Long, OrganizerStats> rows = new HashMap<>();
+        for (OrganizerStats stats : organizerStatsRepository.findAllForUpdate()) {
+            rows.put(stats.getOrganisateurId(), stats);
+        }
+
+        Map<Long, Delta> totals = new HashMap<>();
+        for (Object[] row : eventRepository.countGroupedByOrganisateurAndStatut()) {
+            totals.computeIfAbsent((Long) row[0], id -> new Delta())
+                    .event((EventStatus) row[1], ((Number) row[2]).longValue());
+        }
+        for (Object[] row : reservationRepository.summarizeByOrganizerAndStatus()) {
+            totals.computeIfAbsent((Long) row[0], id -> new Delta())
+                    .reservations((ReservationStatus) row[1], ((Number) row[2]).longValue(),
+                            ((Number) row[3]).longValue(), ((Number) row[4]).doubleValue());
+        }
+
+        // A row created after the lock (first event of a new organizer) is exact already: it only holds deltas
+        rows.forEach((organizerId, stats) -> totals.getOrDefault(organizerId, new Delta()).assignTo(stats));
+        return rows.size();
+    }
+
+    // Private helper methods
+
+    private Long organizerId(Event event) {
+        return event.getOrganisateur().getId();
+    }
+
+    private void apply(Long organizerId, Delta delta) {
+        if (delta.apply(organizerStatsRepository, organizerId) == 0) {
+            // First event of this organizer
+            ensureRow(organizerId);
+            delta.apply(organizerStatsRepository, organizerId);
+        }
+    }
+
+    private void ensureRow(Long organizerId) {
+        // Two first deltas for the same organizer queue on its user row instead of both inserting
+        userRepository.findByIdForUpdate(organizerId);
+        if (!organizerStatsRepository.existsById(organizerId)) {
+            organizerStatsRepository.saveAndFlush(new OrganizerStats(organizerId));
+        }
+    }
+
+    /**
+     * Signed changes to the counters of one organizer
+     */
+    private static final class Delta {
+        private long brouillon;
+        private long publies;
+        private long annules;
+        private long termines;
+        private long enAttente;
+        private long confirmees;
+        private long reservationsAnnulees;
+        private long places;
+        private double revenu;
+
+        private Delta event(EventStatus status, long count) {
+            switch (status) {
+                case BROUILLON -> brouillon += count;
+                case PUBLIE -> publies += count;
+                case ANNULE -> annules += count;
+                case TERMINE -> termines += count;
+            }
+            return this;
+        }
+
+        private Delta reservation(Reservation reservation, ReservationStatus status, int sign) {
+            return reservations(status, sign, (long) sign * reservation.getNombrePlaces(),
+                    sign * reservation.getMontantTotal());
+        }
+
+        private Delta reservations(ReservationStatus status, long count, long seats, double amount) {
+            switch (status) {
+                case EN_ATTENTE -> enAttente += count;
+                case CONFIRMEE -> {
+                    confirmees += count;
+                    places += seats;
+                    revenu += amount;
+                }
+                case ANNULEE -> reservationsAnnulees += count;
+            }
+            return this;
+        }
+
+        private int apply(OrganizerStatsRepository repository, Long organizerId) {
+            return repository.applyDelta(organizerId, brouillon, publies, annules, termines,
+                    enAttente, confirmees, reservationsAnnulees, places, revenu);
+        }
+
+        private void assignTo(OrganizerStats stats) {
+            stats.setEvenementsBrouillon(brouillon);
+            stats.setEvenementsPublies(publies);
+            stats.setEvenementsAnnules(annules);
+            stats.setEvenementsTermines(termines);
+            stats.setReservationsEnAttente(enAttente);
+            stats.setReservationsConfirmees(confirmees);
+            stats.setReservationsAnnulees(reservationsAnnulees);
+            stats.setPlacesVendues(places);
+            stats.setRevenuConfirme(revenu);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.event.service;
+
+import com.event.model.entities.User;
+import com.event.model.enums.ReservationStatus;
+import com.event.repository.ReservationRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Attendee list exports as CSV.
+ * <p>
+ * Rows are read as plain column values through a forward-only cursor and written to the output
+ * as they arrive, so nothing is kept in the persistence context and memory stays flat whatever
+ * the size of the event. The file uses ';' separators and a UTF-8 byte order mark so that it
+ * opens directly in Excel.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReservationExportService {
+
+    private static final String[] HEADER = {
+            "Code", "Événement", "Prénom", "Nom", "Email", "Téléphone",
+            "Places", "Montant (DH)", "Statut", "Date de réservation"
+    };
+    private static final char SEPARATOR = ';';
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final ReservationRepository reservationRepository;
+
+    public ReservationExportService(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+    }
+
+    /**
+     * Write the reservations matching the admin filters (returns the number of rows written)
+     */
+    public long exportReservations(String searchTerm, ReservationStatus status, OutputStream out) {
+        try (Stream<Object[]> rows = reservationRepository.streamFilteredReservations(blankToNull(searchTerm), status)) {
+            return write(rows, out);
+        }
+    }
+
+    /**
+     * Write the reservations of an organizer's events matching the filters (returns the number of rows written)
+     */
+    public long exportOrganizerReservations(User organizer, Long eventId, ReservationStatus status,
+                                            String searchTerm, OutputStream out) {
+        try (Stream<Object[]> rows = reservationRepository.streamFilteredOrganizerReservations(
+                organizer, eventId, status, blankToNull(searchTerm))) {
+            return write(rows, out);
+        }
+    }
+
+    // Private helper methods
+
+    private long write(Stream<Object[]> rows, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long[] count = {0};
+        try {
+            writer.write('\uFEFF');
+            writeLine(writer, HEADER);
+            rows.forEach(row -> {
+                try {
+                    writeLine(writer, toColumns(row));
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count[0];
+    }
+
+    private String[] toColumns(Object[] row) {
+        String[] columns = new String[row.length];
+        for (int i = 0; i < row.length; i++) {
+            Object value = row[i];
+            if (value == null) {
+                columns[i] = "";
+            } else if (value instanceof ReservationStatus status) {
+                columns[i] = status.getLabel();
+            } else if (value instanceof LocalDateTime date) {
+                columns[i] = date.format(DATE_FORMAT);
+            } else if (value instanceof Double amount) {
+                columns[i] = String.format(Locale.FRANCE, "%.2f", amount);
+            } else {
+                columns[i] = value.toString();
+            }
+        }
+        return columns;
+    }
+
+    private void writeLine(Writer writer, String[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writer.write(escape(columns[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private String escape(String value) {
+        // Keep user-entered text from being read as a spreadsheet formula
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(SEPARATOR) >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+}
@@ -1,7 +1,10 @@
 package com.event.service;
 
+import com.event.dto.BulkActionReport;
+import com.event.dto.UserStatisticsDTO;
 import com.event.exception.BadRequestException;
 import com.event.exception.BusinessException;
+import com.event.exception.ConflictException;
 import com.event.exception.ResourceNotFoundException;
 import com.event.model.entities.Event;
 import com.event.model.entities.Reservation;
@@ -11,110 +14,204 @@ import com.event.model.enums.ReservationStatus;
 import com.event.repository.ReservationRepository;
 import com.event.util.DateValidator;
 import com.event.util.ReservationCodeGenerator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ReservationService {
 
-    private static final int MAX_PLACES_PER_RESERVATION = 10;
+    static final int MAX_PLACES_PER_RESERVATION = 10;
+    private static final int BULK_CHUNK_SIZE = 1000;
 
     private final ReservationRepository reservationRepository;
     private final EventService eventService;
+    private final SeatAllocationService seatAllocationService;
+    private final SeatLeaseManager seatLeaseManager;
+    private final OrganizerStatsService organizerStatsService;
+    private final SeatHoldQueue seatHoldQueue;
     private final ReservationCodeGenerator codeGenerator;
     private final DateValidator dateValidator;
+    private final OptimisticLockRetry optimisticLockRetry;
 
     public ReservationService(ReservationRepository reservationRepository,
                               EventService eventService,
+                              SeatAllocationService seatAllocationService,
+                              SeatLeaseManager seatLeaseManager,
+                              OrganizerStatsService organizerStatsService,
+                              SeatHoldQueue seatHoldQueue,
                               ReservationCodeGenerator codeGenerator,
-                              DateValidator dateValidator) {
+                              DateValidator dateValidator,
+                              OptimisticLockRetry optimisticLockRetry) {
         this.reservationRepository = reservationRepository;
         this.eventService = eventService;
+        this.seatAllocationService = seatAllocationService;
+        this.seatLeaseManager = seatLeaseManager;
+        this.organizerStatsService = organizerStatsService;
+        this.seatHoldQueue = seatHoldQueue;
         this.codeGenerator = codeGenerator;
         this.dateValidator = dateValidator;
+        this.optimisticLockRetry = optimisticLockRetry;
     }
 
     /**
      * Create a new reservation
      */
     public Reservation createReservation(Reservation reservation, User user, Long eventId) {
+        // A replayed submission gets the reservation it already created, without taking places again
+        Optional<Reservation> submitted = findSubmitted(reservation.getIdempotencyKey(), user, eventId);
+        if (submitted.isPresent()) {
+            return submitted.get();
+        }
+
         Event event = eventService.findById(eventId);
 
         // Validate event availability
         validateEventAvailability(event);
 
         // Validate number of places
-        validateNumberOfPlaces(reservation.getNombrePlaces(), event);
+        validateNumberOfPlaces(reservation.getNombrePlaces());
 
-        // Generate unique reservation code
-        String code = generateUniqueCode();
-        reservation.setCodeReservation(code);
+        // From this instance's seat lease when it holds one, else atomically from the counter
+        // (rolled back if the insert below fails)
+        Long leaseId = seatLeaseManager.take(eventId, reservation.getNombrePlaces());
+        if (leaseId == null) {
+            seatAllocationService.allocate(eventId, reservation.getNombrePlaces());
+        }
+        reservation.setLeaseId(leaseId);
 
-        // Set relationships
-        reservation.setUtilisateur(user);
-        reservation.setEvenement(event);
+        return saveNewReservation(reservation, user, event);
+    }
 
-        // Calculate total amount
-        reservation.calculateMontantTotal();
+    /**
+     * Reservation already created by a booking submission key (double click, retry after a timeout)
+     */
+    @Transactional(readOnly = true)
+    public Optional<Reservation> findSubmittedReservation(String idempotencyKey, User user, Long eventId) {
+        return findSubmitted(idempotencyKey, user, eventId);
+    }
 
-        // Set initial status
-        reservation.setStatut(ReservationStatus.EN_ATTENTE);
+    /**
+     * Book places for a waitlisted user from those held for the waitlist, then the free ones - never fails for lack of places
+     */
+    public Optional<Reservation> createWaitlistReservation(User user, Event event, int places) {
+        if (!seatAllocationService.tryAllocateForWaitlist(event.getId(), places)) {
+            return Optional.empty();
+        }
 
-        return reservationRepository.save(reservation);
+        Reservation reservation = new Reservation();
+        reservation.setNombrePlaces(places);
+        reservation.setCommentaire("Places obtenues depuis la liste d'attente");
+        return Optional.of(saveNewReservation(reservation, user, event));
     }
 
     /**
-     * Confirm a reservation
+     * Create reservations granted together by the booking sequencer - their places are taken in one update
      */
-    public Reservation confirmReservation(Long reservationId, User currentUser) {
-        Reservation reservation = findById(reservationId);
-
-        // Validate user can confirm (organizer or admin)
-        if (!canManageReservation(reservation, currentUser)) {
-            throw new BusinessException("Vous n'avez pas la permission de confirmer cette réservation");
+    public List<Reservation> createGrantedReservations(Long eventId, List<Reservation> reservations) {
+        Event event = eventService.findById(eventId);
+        int places = 0;
+        for (Reservation reservation : reservations) {
+            validateBookingRequest(event, reservation.getNombrePlaces());
+            places += reservation.getNombrePlaces();
         }
 
-        if (reservation.getStatut().isConfirmed()) {
-            throw new BusinessException("Cette réservation est déjà confirmée");
-        }
+        // Fails if bookings made outside the sequencer took the places in the meantime
+        seatAllocationService.allocate(eventId, places);
 
-        if (reservation.getStatut().isCancelled()) {
-            throw new BusinessException("Cette réservation est annulée et ne peut pas être confirmée");
+        List<Reservation> saved = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            saved.add(saveNewReservation(reservation, reservation.getUtilisateur(), event));
         }
+        return saved;
+    }
 
-        reservation.setStatut(ReservationStatus.CONFIRMEE);
-        return reservationRepository.save(reservation);
+    /**
+     * Check a booking request against the event and the places limits without taking any place
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void validateBookingRequest(Event event, Integer places) {
+        validateEventAvailability(event);
+        validateNumberOfPlaces(places);
+    }
+
+    /**
+     * Confirm a reservation (retried from a fresh read if a concurrent change wins the race)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Reservation confirmReservation(Long reservationId, User currentUser) {
+        return optimisticLockRetry.execute("confirmReservation", "Reservation#" + reservationId, () -> applyConfirmation(reservationId, currentUser));
     }
 
     /**
-     * Cancel a reservation
+     * Cancel a reservation (retried from a fresh read if a concurrent change wins the race)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Reservation cancelReservation(Long reservationId, User currentUser) {
-        Reservation reservation = findById(reservationId);
+        return optimisticLockRetry.execute("cancelReservation", "Reservation#" + reservationId, () -> applyCancellation(reservationId, currentUser));
+    }
 
-        // Validate user can cancel (owner, organizer, or admin)
-        if (!canCancelReservation(reservation, currentUser)) {
-            throw new BusinessException("Vous n'avez pas la permission d'annuler cette réservation");
+    /**
+     * Confirm many reservations at once (organizer or admin) - one result per requested reservation
+     */
+    public BulkActionReport confirmReservations(Collection<Long> reservationIds, User currentUser) {
+        Map<Long, String> codes = new HashMap<>();
+        Map<Long, String> failures = new HashMap<>();
+        List<Reservation> accepted = new ArrayList<>();
+
+        for (Reservation reservation : loadForBulkAction(reservationIds, currentUser, codes, failures)) {
+            if (reservation.getStatut().isConfirmed()) {
+                failures.put(reservation.getId(), "Cette réservation est déjà confirmée");
+            } else if (reservation.getStatut().isCancelled()) {
+                failures.put(reservation.getId(), "Cette réservation est annulée et ne peut pas être confirmée");
+            } else {
+                accepted.add(reservation);
+            }
         }
 
-        if (reservation.getStatut().isCancelled()) {
-            throw new BusinessException("Cette réservation est déjà annulée");
-        }
+        applyInChunks(accepted, reservationRepository::confirmPending);
+        applyRollup(accepted, ReservationStatus.CONFIRMEE);
+        return buildReport(reservationIds, codes, failures);
+    }
 
-        // Check cancellation deadline (48h before event)
-        if (!reservation.canBeCancelled()) {
-            throw new BusinessException(
-                    "Les réservations ne peuvent être annulées que jusqu'à 48h avant l'événement"
-            );
+    /**
+     * Cancel many reservations at once (organizer or admin) - one result per requested reservation
+     */
+    public BulkActionReport cancelReservations(Collection<Long> reservationIds, User currentUser) {
+        Map<Long, String> codes = new HashMap<>();
+        Map<Long, String> failures = new HashMap<>();
+        List<Reservation> accepted = new ArrayList<>();
+
+        for (Reservation reservation : loadForBulkAction(reservationIds, currentUser, codes, failures)) {
+            if (reservation.getStatut().isCancelled()) {
+                failures.put(reservation.getId(), "Cette réservation est déjà annulée");
+            } else if (!reservation.canBeCancelled()) {
+                failures.put(reservation.getId(),
+                        "Les réservations ne peuvent être annulées que jusqu'à 48h avant l'événement");
+            } else {
+                accepted.add(reservation);
+            }
         }
 
-        reservation.setStatut(ReservationStatus.ANNULEE);
-        return reservationRepository.save(reservation);
+        applyInChunks(accepted, reservationRepository::cancelActive);
+        applyRollup(accepted, ReservationStatus.ANNULEE);
+
+        // One release per event (promotes its waitlist once)
+        Map<Long, Integer> placesPerEvent = new HashMap<>();
+        accepted.forEach(r -> placesPerEvent.merge(r.getEvenement().getId(), r.getNombrePlaces(), Integer::sum));
+        placesPerEvent.forEach(seatAllocationService::release);
+
+        return buildReport(reservationIds, codes, failures);
     }
 
     /**
@@ -159,6 +256,9 @@ public class ReservationService {
      */
     @Transactional(readOnly = true)
     public Optional<Reservation> findByCode(String code) {
+        if (!codeGenerator.isValidFormat(code)) {
+            return Optional.empty();
+        }
         return reservationRepository.findByCodeReservation(code);
     }
 
@@ -167,6 +267,10 @@ public class ReservationService {
      */
     @Transactional(readOnly = true)
     public Reservation verifyReservation(String code) {
+        // Mistyped codes fail the check symbol without a lookup
+        if (!codeGenerator.isValidFormat(code)) {
+            throw new BadRequestException("Code de réservation invalide");
+        }
         return reservationRepository.findByCodeReservation(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation", "code", code));
     }
@@ -196,37 +300,11 @@ public class ReservationService {
     }
 
     /**
-     * Get user reservation statistics
+     * Get user reservation statistics (single aggregate query)
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> getUserReservationStatistics(User user) {
-        Map<String, Object> stats = new HashMap<>();
-
-        long totalReservations = reservationRepository.countByUtilisateur(user);
-        long confirmedReservations = reservationRepository.countByUtilisateurAndStatut(
-                user, ReservationStatus.CONFIRMEE
-        );
-        long pendingReservations = reservationRepository.countByUtilisateurAndStatut(
-                user, ReservationStatus.EN_ATTENTE
-        );
-        long cancelledReservations = reservationRepository.countByUtilisateurAndStatut(
-                user, ReservationStatus.ANNULEE
-        );
-
-        Double totalSpent = reservationRepository.calculateTotalAmountByUser(user);
-
-        List<Reservation> upcomingReservations = reservationRepository.findUpcomingReservationsByUser(
-                user, LocalDateTime.now()
-        );
-
-        stats.put("totalReservations", totalReservations);
-        stats.put("confirmedReservations", confirmedReservations);
-        stats.put("pendingReservations", pendingReservations);
-        stats.put("cancelledReservations", cancelledReservations);
-        stats.put("totalSpent", totalSpent != null ? totalSpent : 0.0);
-        stats.put("upcomingReservationsCount", upcomingReservations.size());
-
-        return stats;
+    public UserStatisticsDTO getUserReservationStatistics(User user) {
+        return reservationRepository.getUserStatistics(user.getId(), LocalDateTime.now());
     }
 
     /**
@@ -243,9 +321,10 @@ public class ReservationService {
                 event, ReservationStatus.CONFIRMEE
         );
 
-        int totalPlacesReserved = event.getPlacesReservees();
-        int availablePlaces = event.getPlacesDisponibles();
-        double fillRate = event.getTauxRemplissage();
+        // From the counters: the entity of a split event only has the copy folded by the lifecycle job
+        int availablePlaces = eventService.getAvailablePlaces(eventId);
+        int totalPlacesReserved = event.getCapaciteMax() - availablePlaces;
+        double fillRate = event.getCapaciteMax() > 0 ? (double) totalPlacesReserved / event.getCapaciteMax() * 100 : 0.0;
 
         Double totalRevenue = reservationRepository.calculateTotalRevenueByEvent(event);
 
@@ -281,6 +360,52 @@ public class ReservationService {
         return list;
     }
 
+    /**
+     * Filter reservations by text and status - one slice, most recent first unless sorted otherwise
+     */
+    @Transactional(readOnly = true)
+    public Slice<Reservation> filterReservations(String searchTerm, ReservationStatus status, Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by("dateReservation").descending().and(Sort.by("id")));
+        }
+        return reservationRepository.filterReservations(blankToNull(searchTerm), status, pageable);
+    }
+
+    /**
+     * Count reservations matching the text and status filters
+     */
+    @Transactional(readOnly = true)
+    public long countFilteredReservations(String searchTerm, ReservationStatus status) {
+        return reservationRepository.countFilteredReservations(blankToNull(searchTerm), status);
+    }
+
+    /**
+     * Filter the reservations of an organizer's events (optional event, status and text) - one slice
+     */
+    @Transactional(readOnly = true)
+    public Slice<Reservation> filterOrganizerReservations(User organizer, Long eventId, ReservationStatus status,
+                                                          String searchTerm, Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by("dateReservation").descending().and(Sort.by("id")));
+        }
+        return reservationRepository.filterOrganizerReservations(
+                organizer, eventId, status, blankToNull(searchTerm), pageable
+        );
+    }
+
+    /**
+     * Count the reservations of an organizer's events matching the filters
+     */
+    @Transactional(readOnly = true)
+    public long countFilteredOrganizerReservations(User organizer, Long eventId, ReservationStatus status,
+                                                   String searchTerm) {
+        return reservationRepository.countFilteredOrganizerReservations(
+                organizer, eventId, status, blankToNull(searchTerm)
+        );
+    }
+
     /**
      * Get reservations by status
      */
@@ -299,41 +424,68 @@ public class ReservationService {
     }
 
     /**
-     * Get global reservation statistics
+     * Find reservation by ID
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> getGlobalStatistics() {
-        Map<String, Object> stats = new HashMap<>();
+    public Reservation findById(Long id) {
+        return reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Réservation", "id", id));
+    }
 
-        long totalReservations = reservationRepository.count();
-        long activeReservations = reservationRepository.countActiveReservations();
+    // Private helper methods
 
-        long confirmedReservations = reservationRepository.countByStatut(ReservationStatus.CONFIRMEE);
-        long pendingReservations = reservationRepository.countByStatut(ReservationStatus.EN_ATTENTE);
-        long cancelledReservations = reservationRepository.countByStatut(ReservationStatus.ANNULEE);
+    private Reservation applyConfirmation(Long reservationId, User currentUser) {
+        Reservation reservation = findById(reservationId);
 
-        Double totalRevenue = reservationRepository.calculateTotalRevenue();
+        // Validate user can confirm (organizer or admin)
+        if (!canManageReservation(reservation, currentUser)) {
+            throw new BusinessException("Vous n'avez pas la permission de confirmer cette réservation");
+        }
 
-        stats.put("totalReservations", totalReservations);
-        stats.put("activeReservations", activeReservations);
-        stats.put("confirmedReservations", confirmedReservations);
-        stats.put("pendingReservations", pendingReservations);
-        stats.put("cancelledReservations", cancelledReservations);
-        stats.put("totalRevenue", totalRevenue != null ? totalRevenue : 0.0);
+        if (reservation.getStatut().isConfirmed()) {
+            throw new BusinessException("Cette réservation est déjà confirmée");
+        }
 
-        return stats;
+        if (reservation.getStatut().isCancelled()) {
+            throw new BusinessException("Cette réservation est annulée et ne peut pas être confirmée");
+        }
+
+        ReservationStatus previousStatus = reservation.getStatut();
+        reservation.setStatut(ReservationStatus.CONFIRMEE);
+        reservation.setExpiresAt(null);
+        organizerStatsService.reservationStatusChanged(reservation, previousStatus);
+        return reservationRepository.save(reservation);
     }
 
-    /**
-     * Find reservation by ID
-     */
-    @Transactional(readOnly = true)
-    public Reservation findById(Long id) {
-        return reservationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Réservation", "id", id));
+    private Reservation applyCancellation(Long reservationId, User currentUser) {
+        Reservation reservation = findById(reservationId);
+
+        // Validate user can cancel (owner, organizer, or admin)
+        if (!canCancelReservation(reservation, currentUser)) {
+            throw new BusinessException("Vous n'avez pas la permission d'annuler cette réservation");
+        }
+
+        if (reservation.getStatut().isCancelled()) {
+            throw new BusinessException("Cette réservation est déjà annulée");
+        }
+
+        // Check cancellation deadline (48h before event)
+        if (!reservation.canBeCancelled()) {
+            throw new BusinessException(
+                    "Les réservations ne peuvent être annulées que jusqu'à 48h avant l'événement"
+            );
+        }
+
+        ReservationStatus previousStatus = reservation.getStatut();
+        reservation.setStatut(ReservationStatus.ANNULEE);
+        organizerStatsService.reservationStatusChanged(reservation, previousStatus);
+        seatAllocationService.release(reservation.getEvenement().getId(), reservation.getNombrePlaces());
+        return reservationRepository.save(reservation);
     }
 
-    // Private helper methods
+    private String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
 
     private void validateEventAvailability(Event event) {
         if (event.getStatut() != EventStatus.PUBLIE) {
@@ -343,13 +495,9 @@ public class ReservationService {
         if (!dateValidator.isFuture(event.getDateDebut())) {
             throw new BusinessException("Cet événement est déjà passé");
         }
-
-        if (event.getPlacesDisponibles() <= 0) {
-            throw new BusinessException("Il n'y a plus de places disponibles pour cet événement");
-        }
     }
 
-    private void validateNumberOfPlaces(Integer numberOfPlaces, Event event) {
+    private void validateNumberOfPlaces(Integer numberOfPlaces) {
         if (numberOfPlaces == null || numberOfPlaces <= 0) {
             throw new BadRequestException("Le nombre de places doit être supérieur à 0");
         }
@@ -359,29 +507,119 @@ public class ReservationService {
                     "Vous ne pouvez pas réserver plus de " + MAX_PLACES_PER_RESERVATION + " places à la fois"
             );
         }
+    }
 
-        if (numberOfPlaces > event.getPlacesDisponibles()) {
-            throw new BusinessException(
-                    "Il n'y a que " + event.getPlacesDisponibles() + " place(s) disponible(s)"
-            );
-        }
+    private Reservation saveNewReservation(Reservation reservation, User user, Event event) {
+        // Unique by construction - the unique constraint is only a safety net
+        reservation.setCodeReservation(codeGenerator.generateCode());
+
+        // Set relationships
+        reservation.setUtilisateur(user);
+        reservation.setEvenement(event);
+
+        // Calculate total amount
+        reservation.calculateMontantTotal();
+
+        // Set initial status - the places are only held until confirmation or expiry
+        reservation.setStatut(ReservationStatus.EN_ATTENTE);
+        seatHoldQueue.hold(reservation);
+
+        Reservation saved = reservationRepository.save(reservation);
+        organizerStatsService.reservationCreated(saved);
+        return saved;
     }
 
-    private String generateUniqueCode() {
-        String code;
-        int attempts = 0;
-        int maxAttempts = 100;
+    private Optional<Reservation> findSubmitted(String idempotencyKey, User user, Long eventId) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
 
-        do {
-            code = codeGenerator.generateCode();
-            attempts++;
+        // One lookup on the unique key index
+        Optional<Reservation> submitted = reservationRepository.findByIdempotencyKey(idempotencyKey);
+        if (submitted.isPresent()) {
+            Reservation reservation = submitted.get();
+            if (!reservation.getUtilisateur().getId().equals(user.getId())
+                    || !reservation.getEvenement().getId().equals(eventId)) {
+                throw new ConflictException("Cette demande de réservation a déjà été utilisée");
+            }
+            // Not a success to replay: the places of a cancelled reservation are no longer held
+            if (reservation.getStatut().isCancelled()) {
+                throw new ConflictException("La réservation créée par cette demande a été annulée, " +
+                        "veuillez soumettre une nouvelle demande");
+            }
+        }
+        return submitted;
+    }
 
-            if (attempts >= maxAttempts) {
-                throw new BusinessException("Impossible de générer un code de réservation unique");
+    /**
+     * Load the requested reservations in chunks; permissions are checked once per event
+     */
+    private List<Reservation> loadForBulkAction(Collection<Long> reservationIds, User user,
+                                                Map<Long, String> codes, Map<Long, String> failures) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(reservationIds));
+        Map<Long, Reservation> loaded = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            reservationRepository.findAllWithEventByIdIn(chunk).forEach(r -> loaded.put(r.getId(), r));
+        }
+        loaded.values().forEach(r -> codes.put(r.getId(), r.getCodeReservation()));
+
+        Map<Long, Boolean> allowedByEvent = new HashMap<>();
+        List<Reservation> allowed = new ArrayList<>();
+        for (Long id : ids) {
+            Reservation reservation = loaded.get(id);
+            if (reservation == null) {
+                failures.put(id, "Réservation introuvable");
+            } else if (!allowedByEvent.computeIfAbsent(reservation.getEvenement().getId(),
+                    eventId -> canManageReservation(reservation, user))) {
+                failures.put(id, "Vous n'avez pas la permission de gérer cette réservation");
+            } else {
+                allowed.add(reservation);
             }
-        } while (reservationRepository.existsByCodeReservation(code));
+        }
+        return allowed;
+    }
 
-        return code;
+    /**
+     * Run a set-based update over the accepted reservations, chunk by chunk; a row changed
+     * concurrently rolls the whole action back
+     */
+    private void applyInChunks(List<Reservation> accepted, ToIntFunction<List<Long>> update) {
+        List<Long> ids = accepted.stream().map(Reservation::getId).toList();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            updated += update.applyAsInt(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+        }
+        if (updated != ids.size()) {
+            throw new ConflictException("Certaines réservations ont été modifiées entre-temps, veuillez réessayer");
+        }
+    }
+
+    /**
+     * One rollup update per organizer and previous status
+     */
+    private void applyRollup(List<Reservation> moved, ReservationStatus newStatus) {
+        Map<Long, Map<ReservationStatus, List<Reservation>>> groups = moved.stream().collect(Collectors.groupingBy(
+                r -> r.getEvenement().getOrganisateur().getId(), Collectors.groupingBy(Reservation::getStatut)));
+
+        groups.forEach((organizerId, byStatus) -> byStatus.forEach((previousStatus, reservations) ->
+                organizerStatsService.reservationsStatusChanged(organizerId, previousStatus, newStatus,
+                        reservations.size(),
+                        reservations.stream().mapToLong(Reservation::getNombrePlaces).sum(),
+                        reservations.stream().mapToDouble(Reservation::getMontantTotal).sum())));
+    }
+
+    private BulkActionReport buildReport(Collection<Long> reservationIds, Map<Long, String> codes,
+                                         Map<Long, String> failures) {
+        BulkActionReport report = new BulkActionReport();
+        for (Long id : new LinkedHashSet<>(reservationIds)) {
+            if (failures.containsKey(id)) {
+                report.failure(id, codes.get(id), failures.get(id));
+            } else {
+                report.success(id, codes.get(id));
+            }
+        }
+        return report;
     }
 
     private boolean canManageReservation(Reservation reservation, User user) {
@@ -0,0 +1,131 @@
+package com.event.service;
+
+import com.event.exception.BusinessException;
+import com.event.exception.ResourceNotFoundException;
+import com.event.repository.EventRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Seat allocation engine backed by the per-event reserved places counter.
+ * <p>
+ * Allocation is a single conditional UPDATE, so the database row lock is the only
+ * synchronization point and an event can never be oversold. Both operations must run
+ * inside the caller's transaction: if the reservation insert fails afterwards, the
+ * counter change is rolled back with it. The catalogue cache is left alone: screens read the
+ * places from the counters. Hot events may have their counter split into slots
+ * (see ShardedCapacityService); bookings and cancellations on them go to the slots instead.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class SeatAllocationService {
+
+    private final EventRepository eventRepository;
+    private final ShardedCapacityService shardedCapacity;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SeatAllocationService(EventRepository eventRepository,
+                                 ShardedCapacityService shardedCapacity,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.eventRepository = eventRepository;
+        this.shardedCapacity = shardedCapacity;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Reserve places for an event or fail without touching the counter
+     */
+    public void allocate(Long eventId, int places) {
+        if (tryAllocate(eventId, places)) {
+            return;
+        }
+
+        Integer remaining = eventRepository.findRemainingPlaces(eventId);
+        if (remaining == null) {
+            throw new ResourceNotFoundException("Événement", "id", eventId);
+        }
+        if (remaining <= 0) {
+            throw new BusinessException("Il n'y a plus de places disponibles pour cet événement");
+        }
+        throw new BusinessException("Il n'y a que " + remaining + " place(s) disponible(s)");
+    }
+
+    /**
+     * Reserve places for an event if they are all still free (returns false without touching the counter)
+     */
+    public boolean tryAllocate(Long eventId, int places) {
+        return takePlaces(eventId, places);
+    }
+
+    /**
+     * Reserve places for a waiting user, first from those held for the waitlist (returns false
+     * without touching the counters)
+     */
+    public boolean tryAllocateForWaitlist(Long eventId, int places) {
+        Integer held = eventRepository.findHeldPlaces(eventId);
+        int fromHold = held == null ? 0 : Math.min(held, places);
+        if (fromHold < places && !takePlaces(eventId, places - fromHold)) {
+            return false;
+        }
+        if (fromHold > 0 && eventRepository.takeHeldPlaces(eventId, fromHold) == 0) {
+            // Handed to a concurrent promotion in the meantime
+            if (fromHold < places) {
+                givePlacesBack(eventId, places - fromHold);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Give places back to an event (cancellation). While users wait for the event the places stay taken,
+     * held for the waitlist, so a booking made before the promotion cannot get them ahead of the queue;
+     * the waitlist promotes from them once this transaction commits.
+     */
+    public void release(Long eventId, int places) {
+        boolean held = eventRepository.holdPlacesForWaitlist(eventId, places) == 1;
+        if (!held && !givePlacesBack(eventId, places)) {
+            throw new BusinessException("Impossible de libérer " + places + " place(s) pour cet événement");
+        }
+        eventPublisher.publishEvent(new SeatsReleasedEvent(eventId, places, held));
+    }
+
+    /**
+     * Free the places still held for a waitlist nobody waits on any more
+     */
+    public void releaseHeld(Long eventId) {
+        Integer held = eventRepository.findHeldPlaces(eventId);
+        if (held == null || held == 0 || eventRepository.takeHeldPlaces(eventId, held) == 0) {
+            return;
+        }
+        if (!givePlacesBack(eventId, held)) {
+            throw new BusinessException("Impossible de libérer " + held + " place(s) pour cet événement");
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Reserve on the event counter or on its capacity slots, whichever holds its places; the other
+     * side refuses, so an event switched by a concurrent transaction is retried on the right one
+     */
+    private boolean takePlaces(Long eventId, int places) {
+        if (shardedCapacity.isSplit(eventId)) {
+            return shardedCapacity.tryAllocate(eventId, places)
+                    || !shardedCapacity.refresh(eventId) && eventRepository.reservePlaces(eventId, places) == 1;
+        }
+        return eventRepository.reservePlaces(eventId, places) == 1
+                || shardedCapacity.refresh(eventId) && shardedCapacity.tryAllocate(eventId, places);
+    }
+
+    private boolean givePlacesBack(Long eventId, int places) {
+        if (shardedCapacity.isSplit(eventId)) {
+            return shardedCapacity.release(eventId, places)
+                    || !shardedCapacity.refresh(eventId) && eventRepository.releasePlaces(eventId, places) == 1;
+        }
+        return eventRepository.releasePlaces(eventId, places) == 1
+                || shardedCapacity.refresh(eventId) && shardedCapacity.release(eventId, places);
+    }
+}
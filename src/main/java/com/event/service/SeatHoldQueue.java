@@ -0,0 +1,145 @@
+package com.event.service;
+
+import com.event.model.entities.Reservation;
+import com.event.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expiry of the seat holds of pending reservations.
+ * <p>
+ * A pending reservation holds its seats until its indexed expires_at column. Holds wait in a
+ * delay queue and a single worker thread wakes up only when the earliest one is due, cancelling
+ * every due hold in one batch. Confirmed or cancelled reservations simply fail the expiry
+ * check, so their queue entries need no removal. The column is the source of truth: the queue
+ * is reloaded from it at startup, and the lifecycle job sweeps it for anything missed.
+ */
+@Component
+public class SeatHoldQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldQueue.class);
+    private static final int MAX_BATCH = 500;
+
+    private final ReservationRepository reservationRepository;
+    private final EventLifecycleService lifecycleService;
+    private final Duration ttl;
+
+    private final DelayQueue<Hold> queue = new DelayQueue<>();
+    private volatile Thread worker;
+
+    public SeatHoldQueue(ReservationRepository reservationRepository,
+                         EventLifecycleService lifecycleService,
+                         @Value("${app.seat-hold.ttl:PT24H}") Duration ttl) {
+        this.reservationRepository = reservationRepository;
+        this.lifecycleService = lifecycleService;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Load the running holds and start the expiry worker
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        for (Object[] row : reservationRepository.findActiveHolds()) {
+            queue.add(new Hold((Long) row[0], (LocalDateTime) row[1]));
+        }
+
+        worker = new Thread(this::expireDueHolds, "seat-hold-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    /**
+     * Start the hold of a new pending reservation; it is queued once the transaction commits
+     */
+    public void hold(Reservation reservation) {
+        // Whole seconds, so the stored value is never later than the queued one
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl).truncatedTo(ChronoUnit.SECONDS);
+        reservation.setExpiresAt(expiresAt);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue.add(new Hold(reservation.getId(), expiresAt));
+                }
+            });
+        } else {
+            queue.add(new Hold(reservation.getId(), expiresAt));
+        }
+    }
+
+    /**
+     * Number of holds waiting in the queue (including ones already confirmed or cancelled)
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    // Private helper methods
+
+    private void expireDueHolds() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Hold> due = new ArrayList<>();
+                due.add(queue.take());
+                queue.drainTo(due, MAX_BATCH - 1);
+
+                List<Long> ids = due.stream().map(hold -> hold.reservationId).toList();
+                lifecycleService.expireHolds(ids, LocalDateTime.now());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Still pending in the table, so the next lifecycle sweep cancels them
+                log.warn("Seat hold expiry failed, left to the lifecycle job", e);
+            }
+        }
+    }
+
+    private static final class Hold implements Delayed {
+        private final Long reservationId;
+        private final LocalDateTime expiresAt;
+
+        private Hold(Long reservationId, LocalDateTime expiresAt) {
+            this.reservationId = reservationId;
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return expiresAt.compareTo(((Hold) other).expiresAt);
+        }
+    }
+}
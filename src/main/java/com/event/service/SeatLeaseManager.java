@@ -0,0 +1,311 @@
+package com.event.service;
+
+import com.event.config.SchedulingConfig;
+import com.event.model.entities.SeatLease;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.SeatLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocks of places leased by this application instance, for deployments with several instances.
+ * <p>
+ * When enabled, an instance takes a block of places from an event's counter in one short
+ * transaction and records it as a seat lease. Bookings are then served from memory with a
+ * compare-and-set on the block, without touching the counter; each reservation records the
+ * lease it came from. A lease is used until it runs out or expires, and its unused places go
+ * back to the counter then, or when the instance stops. Near the end of a sale, when no full
+ * block is left, bookings simply use the counter again. An instance that died keeps its leases
+ * until they have been expired for a whole lease lifetime: any other instance then gives back
+ * what its reservations show it did not sell.
+ */
+@Component
+public class SeatLeaseManager {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatLeaseManager.class);
+    private static final int CLOSED = -1;
+    private static final int MAX_RECLAIMED_PER_SWEEP = 100;
+
+    private final SeatAllocationService seatAllocationService;
+    private final SeatLeaseRepository leaseRepository;
+    private final ReservationRepository reservationRepository;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final boolean enabled;
+    private final int blockSize;
+    private final Duration ttl;
+    private final String nodeId;
+
+    // Event id -> lease this instance sells from
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+    private final Map<Long, ReentrantLock> leaseLocks = new ConcurrentHashMap<>();
+    // Event id -> no new lease before, after the counter had no full block left
+    private final Map<Long, LocalDateTime> refusedUntil = new ConcurrentHashMap<>();
+
+    public SeatLeaseManager(SeatAllocationService seatAllocationService,
+                            SeatLeaseRepository leaseRepository,
+                            ReservationRepository reservationRepository,
+                            EventRepository eventRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.seat-leases.enabled:false}") boolean enabled,
+                            @Value("${app.seat-leases.block-size:50}") int blockSize,
+                            @Value("${app.seat-leases.ttl:PT2M}") Duration ttl,
+                            @Value("${app.seat-leases.node-id:}") String nodeId) {
+        this.seatAllocationService = seatAllocationService;
+        this.leaseRepository = leaseRepository;
+        this.reservationRepository = reservationRepository;
+        this.eventRepository = eventRepository;
+        // Leasing and giving back commit on their own, whatever becomes of the booking that needed it
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.blockSize = blockSize;
+        this.ttl = ttl;
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+    }
+
+    /**
+     * Take places for a booking from this instance's lease on the event, leasing a new block when
+     * needed (returns the lease id, or null when the places must come from the event counter).
+     * Called inside the booking transaction: a rollback puts the places back in the lease.
+     */
+    public Long take(Long eventId, int places) {
+        if (!enabled || places > blockSize) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Lease lease = leases.get(eventId);
+        if (lease == null || !lease.take(places, now)) {
+            lease = renew(eventId, places, now);
+            if (lease == null) {
+                return null;
+            }
+        }
+
+        Lease taken = lease;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    taken.giveBack(places);
+                }
+            }
+        });
+        return lease.id;
+    }
+
+    /**
+     * Give back the unused places of this instance's expired leases, and of the leases instances
+     * that are gone left behind
+     */
+    @Scheduled(fixedDelayString = "${app.seat-leases.sweep-interval:PT15S}",
+            initialDelayString = "${app.seat-leases.sweep-interval:PT15S}",
+            scheduler = SchedulingConfig.SEAT_LEASE_SCHEDULER)
+    public void sweepScheduled() {
+        if (enabled) {
+            sweep(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Sweep the leases at the given instant (returns the number of leases ended)
+     */
+    public int sweep(LocalDateTime now) {
+        int ended = 0;
+        for (Lease lease : leases.values()) {
+            if (!now.isBefore(lease.expiresAt) && leases.remove(lease.eventId, lease)) {
+                end(lease);
+                ended++;
+            }
+        }
+
+        // Any instance would have ended its own lease by now
+        for (Object[] row : leaseRepository.findExpiredLeases(now.minus(ttl), Limit.of(MAX_RECLAIMED_PER_SWEEP))) {
+            if (reclaim((Long) row[0], (Long) row[1], (Integer) row[2])) {
+                ended++;
+            }
+        }
+        return ended;
+    }
+
+    /**
+     * Give every lease of this instance back (shutdown)
+     */
+    @PreDestroy
+    public void stop() {
+        for (Lease lease : leases.values()) {
+            if (leases.remove(lease.eventId, lease)) {
+                end(lease);
+            }
+        }
+    }
+
+    /**
+     * Places this instance can still sell from its lease on an event
+     */
+    public int getLeasedPlaces(Long eventId) {
+        Lease lease = leases.get(eventId);
+        return lease != null ? Math.max(lease.remaining.get(), 0) : 0;
+    }
+
+    // Private helper methods
+
+    /**
+     * Replace a lease that ran out or expired, once per event whatever the number of bookings asking
+     */
+    private Lease renew(Long eventId, int places, LocalDateTime now) {
+        ReentrantLock lock = leaseLocks.computeIfAbsent(eventId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            // Another booking is renewing it: rather than hold a connection waiting, use the counter
+            return null;
+        }
+        try {
+            Lease lease = leases.get(eventId);
+            if (lease != null) {
+                if (lease.take(places, now)) {
+                    // Another booking renewed it meanwhile
+                    return lease;
+                }
+                if (leases.remove(eventId, lease)) {
+                    end(lease);
+                }
+            }
+
+            LocalDateTime refused = refusedUntil.get(eventId);
+            if (refused != null && now.isBefore(refused)) {
+                return null;
+            }
+
+            Lease fresh = lease(eventId, now);
+            if (fresh == null) {
+                refusedUntil.put(eventId, now.plus(ttl));
+                return null;
+            }
+            refusedUntil.remove(eventId);
+            fresh.take(places, now);
+            leases.put(eventId, fresh);
+            return fresh;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take a block of places from the event counter (null when not a full block is left)
+     */
+    private Lease lease(Long eventId, LocalDateTime now) {
+        return leaseTransaction.execute(status -> {
+            if (!seatAllocationService.tryAllocate(eventId, blockSize)) {
+                return null;
+            }
+            SeatLease row = leaseRepository.save(new SeatLease(
+                    eventRepository.getReferenceById(eventId), nodeId, blockSize, now.plus(ttl)));
+            return new Lease(row.getId(), eventId, blockSize, row.getExpiresAt());
+        });
+    }
+
+    /**
+     * Stop selling from a lease and give its unused places back to the event counter
+     */
+    private void end(Lease lease) {
+        int unused = lease.close();
+        try {
+            leaseTransaction.executeWithoutResult(status -> {
+                // Already reclaimed by another instance if this one was stalled that long
+                if (leaseRepository.endLease(lease.id) == 1 && unused > 0) {
+                    seatAllocationService.release(lease.eventId, unused);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The row stays: the lease is reclaimed from its reservations later on
+            log.warn("Could not end seat lease {} on event {}: {}", lease.id, lease.eventId, e.getMessage());
+        }
+    }
+
+    /**
+     * End a lease left behind by another instance, giving back what its reservations did not take
+     */
+    private boolean reclaim(Long leaseId, Long eventId, int places) {
+        Boolean reclaimed = leaseTransaction.execute(status -> {
+            if (leaseRepository.endLease(leaseId) == 0) {
+                return false;
+            }
+            int unused = places - reservationRepository.sumPlacesSoldFromLease(leaseId);
+            if (unused > 0) {
+                seatAllocationService.release(eventId, unused);
+            }
+            log.warn("Reclaimed {} unused place(s) of abandoned seat lease {} on event {}", unused, leaseId, eventId);
+            return true;
+        });
+        return Boolean.TRUE.equals(reclaimed);
+    }
+
+    private static final class Lease {
+        private final Long id;
+        private final Long eventId;
+        private final LocalDateTime expiresAt;
+        private final AtomicInteger remaining;
+
+        private Lease(Long id, Long eventId, int places, LocalDateTime expiresAt) {
+            this.id = id;
+            this.eventId = eventId;
+            this.expiresAt = expiresAt;
+            this.remaining = new AtomicInteger(places);
+        }
+
+        private boolean take(int places, LocalDateTime now) {
+            if (!now.isBefore(expiresAt)) {
+                return false;
+            }
+            while (true) {
+                int left = remaining.get();
+                if (left < places) {
+                    return false;
+                }
+                if (remaining.compareAndSet(left, left - places)) {
+                    return true;
+                }
+            }
+        }
+
+        private void giveBack(int places) {
+            while (true) {
+                int left = remaining.get();
+                if (left == CLOSED) {
+                    // Counted as sold until the counters are recomputed: never oversells
+                    return;
+                }
+                if (remaining.compareAndSet(left, left + places)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Stop selling and return the places left
+         */
+        private int close() {
+            return Math.max(remaining.getAndSet(CLOSED), 0);
+        }
+    }
+}
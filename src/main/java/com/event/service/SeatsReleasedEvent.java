@@ -0,0 +1,34 @@
+package com.event.service;
+
+/**
+ * Published by SeatAllocationService inside the transaction that gave places back to an event
+ * (the waitlist acts on it once that transaction has committed)
+ */
+public final class SeatsReleasedEvent {
+
+    private final Long eventId;
+    private final int places;
+    private final boolean held;
+
+    /**
+     * @param places places given back (0 when a waiting user left, the places held for them going to the next in line)
+     * @param held   whether the places are held for the waitlist rather than free
+     */
+    public SeatsReleasedEvent(Long eventId, int places, boolean held) {
+        this.eventId = eventId;
+        this.places = places;
+        this.held = held;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public int getPlaces() {
+        return places;
+    }
+
+    public boolean isHeld() {
+        return held;
+    }
+}
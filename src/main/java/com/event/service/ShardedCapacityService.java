@@ -0,0 +1,292 @@
+package com.event.service;
+
+import com.event.exception.BadRequestException;
+import com.event.exception.BusinessException;
+import com.event.exception.ResourceNotFoundException;
+import com.event.model.entities.CapacitySlot;
+import com.event.model.entities.Event;
+import com.event.repository.CapacitySlotRepository;
+import com.event.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capacity of hot events split over several counter rows.
+ * <p>
+ * On request, the capacity of an event is split into slots, each with its own share of the
+ * places and its own reserved counter. A booking reads the slots without locking them and takes
+ * its places from a random slot that has them, with the same kind of conditional update as the
+ * single counter, so concurrent bookings lock different rows. When no slot has them all, they are
+ * gathered from several slots. While an event is split its own counter refuses bookings, availability reads
+ * sum the slots, and the lifecycle job copies the slot totals into the counter the screens show.
+ * Splitting and merging lock the rows they move, so no booking can land on the wrong side.
+ */
+@Service
+@Transactional
+public class ShardedCapacityService {
+
+    private final CapacitySlotRepository slotRepository;
+    private final EventRepository eventRepository;
+    private final int slotCount;
+
+    // Event id -> number of slots, for the events whose capacity is split
+    private final Map<Long, Integer> splitEvents = new ConcurrentHashMap<>();
+
+    public ShardedCapacityService(CapacitySlotRepository slotRepository,
+                                  EventRepository eventRepository,
+                                  @Value("${app.capacity-slots.count:8}") int slotCount) {
+        this.slotRepository = slotRepository;
+        this.eventRepository = eventRepository;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Load the events whose capacity is split
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reload() {
+        splitEvents.clear();
+        for (Object[] row : eventRepository.findSplitCapacityEvents()) {
+            splitEvents.put((Long) row[0], (Integer) row[1]);
+        }
+    }
+
+    /**
+     * Split the capacity of an event into slots, spreading the places already taken over them (admin)
+     */
+    public void split(Long eventId) {
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement", "id", eventId));
+        if (event.isCapaciteFractionnee()) {
+            throw new BusinessException("La capacité de cet événement est déjà répartie");
+        }
+        if (slotCount < 2 || event.getCapaciteMax() < slotCount) {
+            throw new BadRequestException("La capacité de cet événement est trop faible pour être répartie sur "
+                    + slotCount + " compteurs");
+        }
+
+        int[] capacities = spread(event.getCapaciteMax(), slotCount);
+        int[] reserved = spread(event.getPlacesReservees(), slotCount);
+        List<CapacitySlot> slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new CapacitySlot(event, i, capacities[i], reserved[i]));
+        }
+        slotRepository.saveAll(slots);
+        eventRepository.switchCapacitySlots(eventId, slotCount, event.getPlacesReservees());
+        afterCommit(() -> splitEvents.put(eventId, slotCount));
+    }
+
+    /**
+     * Put the capacity of an event back on its single counter (admin)
+     */
+    public void merge(Long eventId) {
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement", "id", eventId));
+        if (!event.isCapaciteFractionnee()) {
+            throw new BusinessException("La capacité de cet événement n'est pas répartie");
+        }
+
+        int reserved = 0;
+        for (CapacitySlot slot : slotRepository.findByEventIdForUpdate(eventId)) {
+            reserved += slot.getPlacesReservees();
+        }
+        slotRepository.deleteByEventId(eventId);
+        eventRepository.switchCapacitySlots(eventId, null, reserved);
+        afterCommit(() -> splitEvents.remove(eventId));
+    }
+
+    /**
+     * Change the capacity of a split event: each slot keeps its reserved places and the free places
+     * are spread again
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void resize(Long eventId, int capacity) {
+        List<CapacitySlot> slots = slotRepository.findByEventIdForUpdate(eventId);
+        int reserved = slots.stream().mapToInt(CapacitySlot::getPlacesReservees).sum();
+        if (capacity < reserved) {
+            throw new BusinessException(
+                    "La capacité ne peut pas être inférieure aux " + reserved + " place(s) déjà réservée(s)"
+            );
+        }
+
+        int[] free = spread(capacity - reserved, slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            CapacitySlot slot = slots.get(i);
+            slot.setCapacite(slot.getPlacesReservees() + free[i]);
+        }
+    }
+
+    /**
+     * Whether the capacity of an event is split (as known to this instance)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean isSplit(Long eventId) {
+        return splitEvents.containsKey(eventId);
+    }
+
+    /**
+     * Read from the database whether the capacity of an event is split, for callers that found the
+     * other side refusing them while a split or merge was being committed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean refresh(Long eventId) {
+        // A query rather than the entity, which may already be loaded with the old value
+        Integer slots = eventRepository.findNombreCompteurs(eventId);
+        if (slots == null) {
+            splitEvents.remove(eventId);
+            return false;
+        }
+        splitEvents.put(eventId, slots);
+        return true;
+    }
+
+    /**
+     * Reserve places in the slots of an event if they are all still free (returns false without
+     * touching any slot)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryAllocate(Long eventId, int places) {
+        return splitEvents.containsKey(eventId) && moveAcrossSlots(eventId, places, true);
+    }
+
+    /**
+     * Give places back to the slots of an event (returns false without touching any slot when they
+     * do not hold that many)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean release(Long eventId, int places) {
+        return splitEvents.containsKey(eventId) && moveAcrossSlots(eventId, places, false);
+    }
+
+    /**
+     * Copy the slot totals into the counter shown for split events (returns the number of events updated)
+     */
+    public int foldCounters() {
+        if (splitEvents.isEmpty()) {
+            return 0;
+        }
+        return eventRepository.foldCapacitySlots();
+    }
+
+    // Private helper methods
+
+    /**
+     * Take (or give back) places on the slots of an event: from one random slot that can spare them,
+     * else from the slots in index order; undoes its own updates when the places could not all be moved.
+     * <p>
+     * A conditional update that waited on a slot may keep its lock even when it changed nothing, so
+     * every transaction moves through the slots in index order: after a miss, only the higher slots
+     * are tried. Two bookings then never wait on each other. The random slot is therefore only picked
+     * among those with enough places above them to finish in order if it is drained meanwhile, and a
+     * miss re-reads the higher slots before giving up.
+     */
+    private boolean moveAcrossSlots(Long eventId, int places, boolean allocating) {
+        List<Object[]> usage = slotRepository.findSlotUsage(eventId, -1);
+        if (spareTotal(usage, 0, allocating) < places) {
+            return false;
+        }
+
+        int floor = -1;
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < usage.size(); i++) {
+            if (spare(usage.get(i), allocating) >= places && spareTotal(usage, i + 1, allocating) >= places) {
+                candidates.add((Integer) usage.get(i)[0]);
+            }
+        }
+        if (!candidates.isEmpty()) {
+            // Random slot so that concurrent bookings write to different rows
+            int slot = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+            if (move(eventId, slot, places, allocating)) {
+                return true;
+            }
+            floor = slot;
+            usage = slotRepository.findSlotUsage(eventId, floor);
+        }
+
+        Map<Integer, Integer> moved = new HashMap<>();
+        int needed = places;
+        while (spareTotal(usage, 0, allocating) >= needed) {
+            boolean missed = false;
+            for (Object[] row : usage) {
+                int slot = (Integer) row[0];
+                floor = slot;
+                int share = Math.min(spare(row, allocating), needed);
+                if (share == 0) {
+                    continue;
+                }
+                if (!move(eventId, slot, share, allocating)) {
+                    missed = true;
+                    break;
+                }
+                moved.merge(slot, share, Integer::sum);
+                needed -= share;
+                if (needed == 0) {
+                    return true;
+                }
+            }
+            if (!missed) {
+                break;
+            }
+            usage = slotRepository.findSlotUsage(eventId, floor);
+        }
+
+        // Other bookings got there first
+        moved.forEach((slot, share) -> move(eventId, slot, share, !allocating));
+        return false;
+    }
+
+    /**
+     * Places a slot usage row (index, free, reserved) can take or give back
+     */
+    private int spare(Object[] row, boolean allocating) {
+        return ((Number) row[allocating ? 1 : 2]).intValue();
+    }
+
+    /**
+     * Places the usage rows from the given position on can take or give back together
+     */
+    private int spareTotal(List<Object[]> usage, int from, boolean allocating) {
+        int total = 0;
+        for (int i = from; i < usage.size(); i++) {
+            total += spare(usage.get(i), allocating);
+        }
+        return total;
+    }
+
+    private boolean move(Long eventId, int slot, int places, boolean allocating) {
+        return (allocating
+                ? slotRepository.reservePlaces(eventId, slot, places)
+                : slotRepository.releasePlaces(eventId, slot, places)) == 1;
+    }
+
+    /**
+     * Split a total into near-equal shares, the first ones taking the remainder
+     */
+    private int[] spread(int total, int count) {
+        int[] shares = new int[count];
+        for (int i = 0; i < count; i++) {
+            shares[i] = total / count + (i < total % count ? 1 : 0);
+        }
+        return shares;
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
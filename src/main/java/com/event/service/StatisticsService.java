@@ -0,0 +1,119 @@
+package com.event.service;
+
+import com.event.dto.GlobalStatisticsDTO;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Platform-wide statistics of the admin dashboard.
+ * <p>
+ * Everything comes from two aggregate queries (events grouped by category and status, then one
+ * conditional-aggregation row for reservations and users), read in one read-only transaction so
+ * both describe the same state. The result is kept as a snapshot for a short time; when it
+ * expires the first caller recomputes it while concurrent callers wait and reuse the same result.
+ */
+@Service
+public class StatisticsService {
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final long ttlNanos;
+
+    private final Object refreshLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public StatisticsService(EventRepository eventRepository,
+                             ReservationRepository reservationRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.statistics.ttl:PT10S}") Duration ttl) {
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Get global statistics (shared snapshot, at most a few seconds old)
+     */
+    public GlobalStatisticsDTO getGlobalStatistics() {
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh()) {
+            return current.statistics;
+        }
+        synchronized (refreshLock) {
+            current = snapshot;
+            if (current == null || !current.isFresh()) {
+                current = new Snapshot(snapshotTransaction.execute(status -> computeStatistics()));
+                snapshot = current;
+            }
+            return current.statistics;
+        }
+    }
+
+    // Private helper methods
+
+    private GlobalStatisticsDTO computeStatistics() {
+        GlobalStatisticsDTO stats = new GlobalStatisticsDTO();
+
+        Map<EventCategory, Long> byCategory = new EnumMap<>(EventCategory.class);
+        for (EventCategory category : EventCategory.values()) {
+            byCategory.put(category, 0L);
+        }
+        for (Object[] row : eventRepository.countGroupedByCategorieAndStatut()) {
+            EventCategory category = (EventCategory) row[0];
+            EventStatus status = (EventStatus) row[1];
+            long count = ((Number) row[2]).longValue();
+
+            byCategory.merge(category, count, Long::sum);
+            stats.setTotalEvents(stats.getTotalEvents() + count);
+            switch (status) {
+                case PUBLIE -> stats.setPublishedEvents(stats.getPublishedEvents() + count);
+                case BROUILLON -> stats.setDraftEvents(stats.getDraftEvents() + count);
+                case ANNULE -> stats.setCancelledEvents(stats.getCancelledEvents() + count);
+                case TERMINE -> stats.setFinishedEvents(stats.getFinishedEvents() + count);
+            }
+        }
+        stats.setEventsByCategory(byCategory);
+
+        Object[] totals = reservationRepository.aggregateDashboardTotals().get(0);
+        stats.setTotalReservations(((Number) totals[0]).longValue());
+        stats.setConfirmedReservations(((Number) totals[1]).longValue());
+        stats.setPendingReservations(((Number) totals[2]).longValue());
+        stats.setCancelledReservations(((Number) totals[3]).longValue());
+        stats.setTotalRevenue(((Number) totals[4]).doubleValue());
+        stats.setTotalUsers(((Number) totals[5]).longValue());
+        stats.setActiveUsers(((Number) totals[6]).longValue());
+        stats.setAdmins(((Number) totals[7]).longValue());
+        stats.setOrganizers(((Number) totals[8]).longValue());
+        stats.setClients(((Number) totals[9]).longValue());
+
+        stats.setComputedAt(LocalDateTime.now());
+        return stats;
+    }
+
+    private final class Snapshot {
+        private final GlobalStatisticsDTO statistics;
+        private final long computedAt = System.nanoTime();
+
+        private Snapshot(GlobalStatisticsDTO statistics) {
+            this.statistics = statistics;
+        }
+
+        private boolean isFresh() {
+            return System.nanoTime() - computedAt < ttlNanos;
+        }
+    }
+}
@@ -1,20 +1,23 @@
 package com.event.service;
 
+import com.event.dto.UserStatisticsDTO;
 import com.event.exception.BadRequestException;
 import com.event.exception.ConflictException;
 import com.event.exception.ResourceNotFoundException;
 import com.event.model.entities.User;
 import com.event.model.enums.UserRole;
-import com.event.repository.EventRepository;
 import com.event.repository.ReservationRepository;
 import com.event.repository.UserRepository;
 import com.event.util.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -23,16 +26,13 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final EventRepository eventRepository;
     private final ReservationRepository reservationRepository;
     private final PasswordEncoder passwordEncoder;
 
     public UserService(UserRepository userRepository,
-                       EventRepository eventRepository,
                        ReservationRepository reservationRepository,
                        PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
-        this.eventRepository = eventRepository;
         this.reservationRepository = reservationRepository;
         this.passwordEncoder = passwordEncoder;
     }
@@ -185,25 +185,12 @@ public class UserService {
     }
 
     /**
-     * Get user statistics
+     * Get user statistics (single aggregate query once the user is known to exist)
      */
-    public Map<String, Object> getUserStatistics(Long userId) {
-        User user = findById(userId);
-        Map<String, Object> stats = new HashMap<>();
-
-        long eventsCreated = user.getRole().isOrganizer()
-                ? eventRepository.countByOrganisateur(user)
-                : 0;
-
-        long totalReservations = reservationRepository.countByUtilisateur(user);
-
-        Double totalSpent = reservationRepository.calculateTotalAmountByUser(user);
-
-        stats.put("eventsCreated", eventsCreated);
-        stats.put("totalReservations", totalReservations);
-        stats.put("totalSpent", totalSpent != null ? totalSpent : 0.0);
-
-        return stats;
+    @Transactional(readOnly = true)
+    public UserStatisticsDTO getUserStatistics(Long userId) {
+        findById(userId);
+        return reservationRepository.getUserStatistics(userId, LocalDateTime.now());
     }
 
     /**
@@ -259,26 +246,35 @@ public class UserService {
     }
 
     /**
-     * Get all active organizers
+     * Filter users by text, role and active status - one slice, by registration order unless sorted otherwise
      */
     @Transactional(readOnly = true)
-    public List<User> getActiveOrganizers() {
-        return userRepository.findActiveOrganizers();
+    public Slice<User> filterUsers(String searchTerm, UserRole role, Boolean actif, Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+        }
+        return userRepository.filterUsers(blankToNull(searchTerm), role, actif, pageable);
+    }
+
+    /**
+     * Count users matching the text, role and active filters
+     */
+    @Transactional(readOnly = true)
+    public long countFilteredUsers(String searchTerm, UserRole role, Boolean actif) {
+        return userRepository.countFilteredUsers(blankToNull(searchTerm), role, actif);
     }
 
     /**
-     * Get global user statistics
+     * Get all active organizers
      */
     @Transactional(readOnly = true)
-    public Map<String, Long> getGlobalStatistics() {
-        Map<String, Long> stats = new HashMap<>();
+    public List<User> getActiveOrganizers() {
+        return userRepository.findActiveOrganizers();
+    }
 
-        stats.put("totalUsers", userRepository.count());
-        stats.put("activeUsers", userRepository.countByActifTrue());
-        stats.put("admins", userRepository.countByRole(UserRole.ADMIN));
-        stats.put("organizers", userRepository.countByRole(UserRole.ORGANIZER));
-        stats.put("clients", userRepository.countByRole(UserRole.CLIENT));
+    // Private helper methods
 
-        return stats;
+    private String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
     }
 }
\ No newline at end of file
@@ -0,0 +1,328 @@
+package com.event.service;
+
+import com.event.exception.BadRequestException;
+import com.event.exception.BusinessException;
+import com.event.exception.ConflictException;
+import com.event.exception.ResourceNotFoundException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.entities.WaitlistEntry;
+import com.event.model.enums.EventStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.WaitlistRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event FIFO waitlist for sold-out events.
+ * <p>
+ * The waitlist_entries table is the source of truth; a bounded in-memory queue per event mirrors
+ * what this instance knows of it, to cap joins and show positions without a query. Places given
+ * back while users wait are held for them by SeatAllocationService, so no booking can take them in
+ * between; once the transaction that gave them back has committed, the waiting users are promoted
+ * in order, each in its own transaction, until the head of the queue no longer fits, and whatever
+ * is held once nobody waits any more is freed. Promotions read the table, so users who joined on
+ * another instance are served too, and a failing promotion only fails itself, never the
+ * cancellation or expiry that freed the places.
+ */
+@Service
+@Transactional
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    private final WaitlistRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final ReservationService reservationService;
+    private final SeatAllocationService seatAllocationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate promotionTransaction;
+    private final int maxSize;
+
+    // Event id -> queued entries in order
+    private final Map<Long, Deque<Queued>> queues = new HashMap<>();
+    private final AtomicLong promotions = new AtomicLong();
+
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           EventRepository eventRepository,
+                           EventService eventService,
+                           ReservationService reservationService,
+                           SeatAllocationService seatAllocationService,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.waitlist.max-size:200}") int maxSize) {
+        this.waitlistRepository = waitlistRepository;
+        this.eventRepository = eventRepository;
+        this.eventService = eventService;
+        this.reservationService = reservationService;
+        this.seatAllocationService = seatAllocationService;
+        this.eventPublisher = eventPublisher;
+        this.promotionTransaction = new TransactionTemplate(transactionManager);
+        this.promotionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Load the waitlists into memory, then serve the places a crash left held before their promotion
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reload() {
+        synchronized (queues) {
+            queues.clear();
+            for (Object[] row : waitlistRepository.findAllQueued()) {
+                queues.computeIfAbsent((Long) row[0], id -> new ArrayDeque<>())
+                        .addLast(new Queued((Long) row[1], (Long) row[2]));
+            }
+        }
+        for (Long eventId : eventRepository.findIdsWithHeldPlaces()) {
+            promoteWaiting(eventId, true);
+        }
+    }
+
+    /**
+     * Put a user on the waitlist of a sold-out event (returns the entry)
+     */
+    public WaitlistEntry join(User user, Long eventId, int places) {
+        Event event = eventService.findById(eventId);
+
+        if (!isBookable(event)) {
+            throw new BusinessException("Cet événement n'est pas disponible pour les réservations");
+        }
+        if (places <= 0 || places > ReservationService.MAX_PLACES_PER_RESERVATION || places > event.getCapaciteMax()) {
+            throw new BadRequestException("Nombre de places invalide pour la liste d'attente");
+        }
+        // From the counters: the entity of a split event only has the copy folded by the lifecycle job
+        Integer remaining = eventRepository.findRemainingPlaces(eventId);
+        if (remaining != null && remaining >= places) {
+            throw new BusinessException("Des places sont disponibles, vous pouvez réserver directement");
+        }
+        if (waitlistRepository.findByUtilisateurAndEvenementId(user, eventId).isPresent()) {
+            throw new ConflictException("Vous êtes déjà sur la liste d'attente de cet événement");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(new WaitlistEntry(user, event, places));
+        Queued queued = new Queued(entry.getId(), user.getId());
+
+        // Take the slot now so concurrent joins see it; give it back if the insert rolls back
+        synchronized (queues) {
+            Deque<Queued> queue = queues.computeIfAbsent(eventId, id -> new ArrayDeque<>());
+            if (queue.size() >= maxSize) {
+                throw new BusinessException("La liste d'attente de cet événement est complète");
+            }
+            queue.addLast(queued);
+        }
+        afterRollback(() -> removeQueued(eventId, Set.of(queued.entryId)));
+        return entry;
+    }
+
+    /**
+     * Take a user off an event's waitlist (the places held for them go to the next in line)
+     */
+    public void leave(User user, Long eventId) {
+        WaitlistEntry entry = waitlistRepository.findByUtilisateurAndEvenementId(user, eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Vous n'êtes pas sur la liste d'attente de cet événement"));
+
+        waitlistRepository.delete(entry);
+        afterCommit(() -> removeQueued(eventId, Set.of(entry.getId())));
+        Integer held = eventRepository.findHeldPlaces(eventId);
+        if (held != null && held > 0) {
+            eventPublisher.publishEvent(new SeatsReleasedEvent(eventId, 0, true));
+        }
+    }
+
+    /**
+     * 1-based position of a user on an event's waitlist, or 0 when not waiting
+     */
+    @Transactional(readOnly = true)
+    public int getPosition(User user, Long eventId) {
+        synchronized (queues) {
+            int position = 0;
+            for (Queued queued : queues.getOrDefault(eventId, new ArrayDeque<>())) {
+                position++;
+                if (queued.userId.equals(user.getId())) {
+                    return position;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Number of users waiting for an event
+     */
+    @Transactional(readOnly = true)
+    public int getWaitingCount(Long eventId) {
+        synchronized (queues) {
+            Deque<Queued> queue = queues.get(eventId);
+            return queue == null ? 0 : queue.size();
+        }
+    }
+
+    /**
+     * Number of waiting users turned into reservations since startup
+     */
+    @Transactional(readOnly = true)
+    public long getPromotionCount() {
+        return promotions.get();
+    }
+
+    /**
+     * Promote waiting users in order while the freed places allow, once the release (or a waiting user
+     * leaving) has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onSeatsReleased(SeatsReleasedEvent released) {
+        promoteWaiting(released.getEventId(), released.isHeld());
+    }
+
+    // Private helper methods
+
+    /**
+     * Promote the waiting users of an event in order, then free the held places nobody waits for
+     */
+    private void promoteWaiting(Long eventId, boolean held) {
+        // The table rather than the mirror: users may have joined on another instance
+        if (!waitlistRepository.existsByEvenementId(eventId)) {
+            if (held) {
+                // The queue emptied before the promotion
+                promotionTransaction.executeWithoutResult(status -> seatAllocationService.releaseHeld(eventId));
+            }
+            return;
+        }
+
+        if (!isBookable(eventService.findById(eventId))) {
+            // Nothing left to wait for
+            promotionTransaction.executeWithoutResult(status -> {
+                List<WaitlistEntry> entries = waitlistRepository.findByEvenementIdOrderByIdAsc(eventId);
+                waitlistRepository.deleteAllInBatch(entries);
+                seatAllocationService.releaseHeld(eventId);
+                Set<Long> entryIds = new HashSet<>();
+                entries.forEach(entry -> entryIds.add(entry.getId()));
+                afterCommit(() -> removeQueued(eventId, entryIds));
+            });
+            return;
+        }
+
+        for (Long entryId : waitlistRepository.findIdsByEvenementId(eventId)) {
+            try {
+                if (!Boolean.TRUE.equals(promotionTransaction.execute(status -> promote(eventId, entryId, status)))) {
+                    // Strictly first come first served: the head waits for enough places, keeping those held
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // Stays queued for the next release
+                log.warn("Could not promote waitlist entry {} on event {}: {}", entryId, eventId, e.getMessage());
+            }
+        }
+
+        // Everyone served: free what is left, unless someone joined in the meantime
+        promotionTransaction.executeWithoutResult(status -> {
+            if (!waitlistRepository.existsByEvenementId(eventId)) {
+                seatAllocationService.releaseHeld(eventId);
+            }
+        });
+    }
+
+    /**
+     * Turn one entry into a reservation (returns false when its places are not free, the entry staying queued)
+     */
+    private boolean promote(Long eventId, Long entryId, TransactionStatus status) {
+        Optional<WaitlistEntry> entry = waitlistRepository.findWithUtilisateurById(entryId);
+        // Claimed first: a concurrent promotion of the same entry waits on the row, then finds it gone
+        if (entry.isEmpty() || waitlistRepository.deleteEntry(entryId) == 0) {
+            return true;
+        }
+
+        Event event = eventService.findById(eventId);
+        Optional<Reservation> reservation =
+                reservationService.createWaitlistReservation(entry.get().getUtilisateur(), event, entry.get().getNombrePlaces());
+        if (reservation.isEmpty()) {
+            status.setRollbackOnly();
+            return false;
+        }
+        afterCommit(() -> {
+            removeQueued(eventId, Set.of(entryId));
+            promotions.incrementAndGet();
+        });
+        return true;
+    }
+
+    private boolean isBookable(Event event) {
+        return event.getStatut() == EventStatus.PUBLIE && event.getDateDebut().isAfter(LocalDateTime.now());
+    }
+
+    private void removeQueued(Long eventId, Set<Long> entryIds) {
+        synchronized (queues) {
+            Deque<Queued> queue = queues.get(eventId);
+            if (queue == null) {
+                return;
+            }
+            queue.removeIf(queued -> entryIds.contains(queued.entryId));
+            if (queue.isEmpty()) {
+                queues.remove(eventId);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * In-memory mirror of one waitlist row
+     */
+    private static final class Queued {
+        private final Long entryId;
+        private final Long userId;
+
+        private Queued(Long entryId, Long userId) {
+            this.entryId = entryId;
+            this.userId = userId;
+        }
+    }
+}
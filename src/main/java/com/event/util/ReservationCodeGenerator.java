@@ -1,42 +1,159 @@
 package com.event.util;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.SecureRandom;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
 
+/**
+ * Reservation code generator that never needs an existence check.
+ * <p>
+ * Numbers come from the {@code reservation_code_seq} database sequence, taken a block at a time
+ * so most codes cost no round-trip at all. Each number is scrambled by a keyed Feistel network
+ * over 40 bits (a bijection, so distinct numbers always give distinct codes), written as 8
+ * Crockford base-32 symbols and followed by a Luhn mod 32 check symbol: {@code EVT-XXXXXXXXC}.
+ * Codes of the former {@code EVT-12345} format stay valid.
+ */
 @Component
 public class ReservationCodeGenerator {
 
     private static final String PREFIX = "EVT-";
-    private static final int CODE_LENGTH = 5;
-    private final SecureRandom random;
-
-    public ReservationCodeGenerator() {
-        this.random = new SecureRandom();
-    }
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int SYMBOLS = 8;
+    private static final int HALF_BITS = 20;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final long DOMAIN = 1L << (2 * HALF_BITS);
+    private static final int ROUNDS = 6;
 
     /**
-     * Generate a unique reservation code in format EVT-XXXXX
+     * Must match the INCREMENT BY of reservation_code_seq
      */
-    public String generateCode() {
-        StringBuilder code = new StringBuilder(PREFIX);
+    static final int BLOCK_SIZE = 100;
+    private static final String SEQUENCE = "reservation_code_seq";
+
+    private static final Pattern LEGACY_FORMAT = Pattern.compile("^EVT-\\d{5}$");
+    private static final Pattern FORMAT = Pattern.compile("^EVT-[" + ALPHABET + "]{" + (SYMBOLS + 1) + "}$");
+
+    private final EntityManager entityManager;
+    private final long[] roundKeys = new long[ROUNDS];
 
-        for (int i = 0; i < CODE_LENGTH; i++) {
-            code.append(random.nextInt(10));
+    private long next;
+    private long blockEnd;
+
+    public ReservationCodeGenerator(EntityManager entityManager,
+                                    @Value("${app.reservation-code.key:eventpro-reservations}") String key) {
+        this.entityManager = entityManager;
+        byte[] digest = sha256(key);
+        for (int round = 0; round < ROUNDS; round++) {
+            long roundKey = 0;
+            for (int i = 0; i < 5; i++) {
+                roundKey = (roundKey << 8) | (digest[round * 5 + i] & 0xFF);
+            }
+            roundKeys[round] = roundKey;
         }
+    }
 
-        return code.toString();
+    /**
+     * Generate a unique reservation code in format EVT-XXXXXXXXC
+     */
+    public String generateCode() {
+        return encode(nextNumber());
     }
 
     /**
-     * Validate code format
+     * Validate code format and check symbol (no database access)
      */
     public boolean isValidFormat(String code) {
         if (code == null) {
             return false;
         }
+        if (LEGACY_FORMAT.matcher(code).matches()) {
+            return true;
+        }
+        return FORMAT.matcher(code).matches() && checkSymbol(code.substring(PREFIX.length(), code.length() - 1))
+                == code.charAt(code.length() - 1);
+    }
+
+    /**
+     * Code of a sequence number
+     */
+    String encode(long number) {
+        if (number < 0 || number >= DOMAIN) {
+            throw new IllegalStateException("Espace des codes de réservation épuisé");
+        }
+        long value = permute(number);
+
+        char[] symbols = new char[SYMBOLS];
+        for (int i = SYMBOLS - 1; i >= 0; i--) {
+            symbols[i] = ALPHABET.charAt((int) (value & 31));
+            value >>>= 5;
+        }
+        String body = new String(symbols);
+        return PREFIX + body + checkSymbol(body);
+    }
+
+    // Private helper methods
+
+    private synchronized long nextNumber() {
+        if (next == blockEnd) {
+            next = fetchBlockStart();
+            blockEnd = next + BLOCK_SIZE;
+        }
+        return next++;
+    }
+
+    private long fetchBlockStart() {
+        String sql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE);
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
 
-        String pattern = "^EVT-\\d{5}$";
-        return code.matches(pattern);
+    /**
+     * Balanced Feistel network on 40 bits
+     */
+    private long permute(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long mixed = left ^ (round(right, roundKey) & HALF_MASK);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long round(long half, long roundKey) {
+        // SplitMix64 finalizer
+        long z = half ^ roundKey;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Luhn mod 32 check symbol: catches any single wrong symbol and most swapped neighbours
+     */
+    private static char checkSymbol(String body) {
+        int factor = 2;
+        int sum = 0;
+        for (int i = body.length() - 1; i >= 0; i--) {
+            int addend = factor * ALPHABET.indexOf(body.charAt(i));
+            factor = factor == 2 ? 1 : 2;
+            sum += addend / 32 + addend % 32;
+        }
+        return ALPHABET.charAt((32 - sum % 32) % 32);
+    }
+
+    private static byte[] sha256(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
\ No newline at end of file
+}
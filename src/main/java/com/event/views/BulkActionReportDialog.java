@@ -0,0 +1,44 @@
+package com.event.views;
+
+import com.event.dto.BulkActionReport;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.dialog.Dialog;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
+
+/**
+ * Outcome of a bulk action on reservations: the rejected rows with their reason.
+ */
+public class BulkActionReportDialog extends Dialog {
+
+    public BulkActionReportDialog(BulkActionReport report) {
+        setHeaderTitle(report.getSucceeded() + " réservation(s) traitée(s), " + report.getFailed() + " refusée(s)");
+        setWidth("600px");
+
+        Grid<BulkActionReport.Item> failures = new Grid<>();
+        failures.addColumn(item -> item.getCodeReservation() != null ? item.getCodeReservation() : "#" + item.getReservationId())
+                .setHeader("Réservation").setAutoWidth(true).setFlexGrow(0);
+        failures.addColumn(BulkActionReport.Item::getMessage).setHeader("Motif").setFlexGrow(1);
+        failures.setItems(report.getFailures());
+        failures.setAllRowsVisible(true);
+        add(failures);
+
+        Button closeButton = new Button("Fermer", e -> close());
+        getFooter().add(closeButton);
+    }
+
+    /**
+     * A notification when every reservation went through, the detailed dialog otherwise
+     */
+    public static void show(BulkActionReport report) {
+        if (report.getFailed() == 0) {
+            Notification notification = new Notification("✓ " + report.getSucceeded() + " réservation(s) traitée(s)",
+                    3000, Notification.Position.TOP_CENTER);
+            notification.addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+            notification.open();
+            return;
+        }
+        new BulkActionReportDialog(report).open();
+    }
+}
@@ -1,11 +1,13 @@
 package com.event.views.admin;
 
+import com.event.dto.GlobalStatisticsDTO;
 import com.event.model.entities.User;
 import com.event.security.NavigationManager;
 import com.event.security.SessionManager;
+import com.event.service.EventLifecycleService;
+import com.event.service.OptimisticLockRetry;
 import com.event.service.EventService;
-import com.event.service.ReservationService;
-import com.event.service.UserService;
+import com.event.service.StatisticsService;
 import com.event.views.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -20,29 +22,33 @@ import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 
+import java.util.List;
 import java.util.Map;
 
 @Route(value = "admin/dashboard", layout = MainLayout.class)
 @PageTitle("Tableau de bord Admin | EventPro")
 public class DashboardView extends VerticalLayout implements BeforeEnterObserver {
 
-    private final UserService userService;
+    private final StatisticsService statisticsService;
     private final EventService eventService;
-    private final ReservationService reservationService;
+    private final EventLifecycleService lifecycleService;
+    private final OptimisticLockRetry optimisticLockRetry;
     private final NavigationManager navigationManager;
     private final SessionManager sessionManager;
 
     private User currentUser;
     private boolean initialized = false;
 
-    public DashboardView(UserService userService,
+    public DashboardView(StatisticsService statisticsService,
                          EventService eventService,
-                         ReservationService reservationService,
+                         EventLifecycleService lifecycleService,
+                         OptimisticLockRetry optimisticLockRetry,
                          NavigationManager navigationManager,
                          SessionManager sessionManager) {
-        this.userService = userService;
+        this.statisticsService = statisticsService;
         this.eventService = eventService;
-        this.reservationService = reservationService;
+        this.lifecycleService = lifecycleService;
+        this.optimisticLockRetry = optimisticLockRetry;
         this.navigationManager = navigationManager;
         this.sessionManager = sessionManager;
 
@@ -107,45 +113,80 @@ public class DashboardView extends VerticalLayout implements BeforeEnterObserver
                 .set("color", "#2d3748");
 
         // Get statistics
-        Map<String, Long> userStats = userService.getGlobalStatistics();
-        Map<String, Object> eventStats = eventService.getGlobalStatistics();
-        Map<String, Object> reservationStats = reservationService.getGlobalStatistics();
+        GlobalStatisticsDTO stats = statisticsService.getGlobalStatistics();
+        Map<String, Object> cacheStats = eventService.getCatalogCacheStatistics();
+        Map<String, Object> lifecycleStats = lifecycleService.getStatistics();
+        Map<String, Object> conflictStats = optimisticLockRetry.getStatistics();
 
         // Users statistics
         VerticalLayout usersStatsCard = createStatsCard("👥 Utilisateurs", "#FF6B6B");
         usersStatsCard.add(
-                createStatRow("Total", userStats.get("totalUsers").toString()),
-                createStatRow("Actifs", userStats.get("activeUsers").toString()),
-                createStatRow("Admins", userStats.get("admins").toString()),
-                createStatRow("Organisateurs", userStats.get("organizers").toString()),
-                createStatRow("Clients", userStats.get("clients").toString())
+                createStatRow("Total", String.valueOf(stats.getTotalUsers())),
+                createStatRow("Actifs", String.valueOf(stats.getActiveUsers())),
+                createStatRow("Admins", String.valueOf(stats.getAdmins())),
+                createStatRow("Organisateurs", String.valueOf(stats.getOrganizers())),
+                createStatRow("Clients", String.valueOf(stats.getClients()))
         );
 
         // Events statistics
         VerticalLayout eventsStatsCard = createStatsCard("📅 Événements", "#4ECDC4");
         eventsStatsCard.add(
-                createStatRow("Total", eventStats.get("totalEvents").toString()),
-                createStatRow("Publiés", eventStats.get("publishedEvents").toString()),
-                createStatRow("Brouillons", eventStats.get("draftEvents").toString()),
-                createStatRow("Annulés", eventStats.get("cancelledEvents").toString()),
-                createStatRow("Terminés", eventStats.get("finishedEvents").toString())
+                createStatRow("Total", String.valueOf(stats.getTotalEvents())),
+                createStatRow("Publiés", String.valueOf(stats.getPublishedEvents())),
+                createStatRow("Brouillons", String.valueOf(stats.getDraftEvents())),
+                createStatRow("Annulés", String.valueOf(stats.getCancelledEvents())),
+                createStatRow("Terminés", String.valueOf(stats.getFinishedEvents()))
         );
 
         // Reservations statistics
         VerticalLayout reservationsStatsCard = createStatsCard("🎫 Réservations", "#667eea");
         reservationsStatsCard.add(
-                createStatRow("Total", reservationStats.get("totalReservations").toString()),
-                createStatRow("Actives", reservationStats.get("activeReservations").toString()),
-                createStatRow("Confirmées", reservationStats.get("confirmedReservations").toString()),
-                createStatRow("En attente", reservationStats.get("pendingReservations").toString()),
-                createStatRow("Annulées", reservationStats.get("cancelledReservations").toString()),
-                createStatRow("Revenus total", String.format("%.0f DH", (Double) reservationStats.get("totalRevenue")))
+                createStatRow("Total", String.valueOf(stats.getTotalReservations())),
+                createStatRow("Actives", String.valueOf(stats.getActiveReservations())),
+                createStatRow("Confirmées", String.valueOf(stats.getConfirmedReservations())),
+                createStatRow("En attente", String.valueOf(stats.getPendingReservations())),
+                createStatRow("Annulées", String.valueOf(stats.getCancelledReservations())),
+                createStatRow("Revenus total", String.format("%.0f DH", stats.getTotalRevenue()))
+        );
+
+        // Catalogue cache statistics
+        VerticalLayout cacheStatsCard = createStatsCard("⚡ Cache catalogue", "#F6AD55");
+        cacheStatsCard.add(
+                createStatRow("Entrées", cacheStats.get("size") + " / " + cacheStats.get("maxSize")),
+                createStatRow("Succès", cacheStats.get("hits").toString()),
+                createStatRow("Échecs", cacheStats.get("misses").toString()),
+                createStatRow("Évictions", cacheStats.get("evictions").toString()),
+                createStatRow("Taux de succès", String.format("%.0f %%", (Double) cacheStats.get("hitRate") * 100))
+        );
+
+        // Lifecycle job statistics
+        VerticalLayout lifecycleStatsCard = createStatsCard("⏱ Tâches automatiques", "#9F7AEA");
+        lifecycleStatsCard.add(
+                createStatRow("Exécutions", lifecycleStats.get("runs").toString()),
+                createStatRow("Événements terminés", lifecycleStats.get("finishedEvents").toString()),
+                createStatRow("Réservations expirées", lifecycleStats.get("expiredReservations").toString()),
+                createStatRow("Dernière durée", lifecycleStats.get("lastRunMillis") + " ms"),
+                createStatRow("Durée moyenne", String.format("%.0f ms", (Double) lifecycleStats.get("averageMillis")))
+        );
+
+        // Concurrent update conflicts on state transitions
+        @SuppressWarnings("unchecked")
+        List<Map.Entry<String, Long>> hottest = (List<Map.Entry<String, Long>>) conflictStats.get("hottest");
+        VerticalLayout conflictStatsCard = createStatsCard("🔒 Conflits de mise à jour", "#FC8181");
+        conflictStatsCard.add(
+                createStatRow("Transitions", conflictStats.get("calls").toString()),
+                createStatRow("Conflits", conflictStats.get("conflicts").toString()),
+                createStatRow("Résolus par reprise", conflictStats.get("recovered").toString()),
+                createStatRow("Abandonnés", conflictStats.get("exhausted").toString()),
+                createStatRow("Plus disputé", hottest.isEmpty() ? "-"
+                        : hottest.get(0).getKey() + " (" + hottest.get(0).getValue() + ")")
         );
 
         HorizontalLayout statsCards = new HorizontalLayout();
         statsCards.setWidthFull();
         statsCards.setSpacing(true);
-        statsCards.add(usersStatsCard, eventsStatsCard, reservationsStatsCard);
+        statsCards.add(usersStatsCard, eventsStatsCard, reservationsStatsCard, cacheStatsCard, lifecycleStatsCard,
+                conflictStatsCard);
 
         statsSection.add(sectionTitle, statsCards);
         add(statsSection);
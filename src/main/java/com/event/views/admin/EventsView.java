@@ -6,6 +6,7 @@ import com.event.model.enums.EventStatus;
 import com.event.security.NavigationManager;
 import com.event.security.SessionManager;
 import com.event.service.EventService;
+import com.event.service.ShardedCapacityService;
 import com.event.views.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -20,22 +21,23 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Route(value = "admin/events", layout = MainLayout.class)
 @PageTitle("Gestion des Événements | EventPro")
 public class EventsView extends VerticalLayout implements BeforeEnterObserver {
 
     private final EventService eventService;
+    private final ShardedCapacityService shardedCapacityService;
     private final NavigationManager navigationManager;
     private final SessionManager sessionManager;
 
@@ -45,13 +47,14 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
     private Grid<Event> grid;
     private TextField searchField;
     private ComboBox<EventStatus> statusFilter;
-    private List<Event> allEvents;
     private boolean initialized = false;
 
     public EventsView(EventService eventService,
+                      ShardedCapacityService shardedCapacityService,
                       NavigationManager navigationManager,
                       SessionManager sessionManager) {
         this.eventService = eventService;
+        this.shardedCapacityService = shardedCapacityService;
         this.navigationManager = navigationManager;
         this.sessionManager = sessionManager;
 
@@ -119,7 +122,8 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         searchField.setPlaceholder("Titre de l'événement...");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setClearButtonVisible(true);
-        searchField.addValueChangeListener(e -> filterEvents());
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.addValueChangeListener(e -> refreshGrid());
         searchField.setWidth("300px");
 
         statusFilter = new ComboBox<>("Statut");
@@ -127,14 +131,18 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         statusFilter.setItemLabelGenerator(EventStatus::getLabel);
         statusFilter.setPlaceholder("Tous les statuts");
         statusFilter.setClearButtonVisible(true);
-        statusFilter.addValueChangeListener(e -> filterEvents());
+        statusFilter.addValueChangeListener(e -> refreshGrid());
         statusFilter.setWidth("200px");
 
         Button refreshButton = new Button("Actualiser", VaadinIcon.REFRESH.create());
         refreshButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        refreshButton.addClickListener(e -> loadEvents());
+        refreshButton.addClickListener(e -> refreshGrid());
 
-        filtersRow.add(searchField, statusFilter, refreshButton);
+        Button recomputeButton = new Button("Recalculer les places", VaadinIcon.CALC.create());
+        recomputeButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+        recomputeButton.addClickListener(e -> confirmRecomputePlaces());
+
+        filtersRow.add(searchField, statusFilter, refreshButton, recomputeButton);
         filtersSection.add(filtersRow);
         add(filtersSection);
     }
@@ -156,38 +164,45 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         // Title column
         grid.addColumn(Event::getTitre)
                 .setHeader("Titre")
+                .setSortProperty("titre")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
         // Organizer column
         grid.addColumn(e -> e.getOrganisateur().getFullName())
                 .setHeader("Organisateur")
+                .setSortProperty("organisateur.nom", "organisateur.prenom")
                 .setAutoWidth(true);
 
         // Category column
         grid.addColumn(e -> e.getCategorie().getLabel())
                 .setHeader("Catégorie")
+                .setSortProperty("categorie")
                 .setAutoWidth(true);
 
         // Date column
         grid.addColumn(e -> e.getDateDebut().format(DATE_FORMATTER))
                 .setHeader("Date de début")
+                .setSortProperty("dateDebut")
                 .setAutoWidth(true);
 
         // Location column
         grid.addColumn(e -> e.getVille())
                 .setHeader("Ville")
+                .setSortProperty("ville")
                 .setAutoWidth(true);
 
         // Capacity column
         grid.addColumn(e -> e.getCapaciteMax() + " places")
                 .setHeader("Capacité")
+                .setSortProperty("capaciteMax")
                 .setWidth("120px")
                 .setFlexGrow(0);
 
         // Price column
         grid.addColumn(e -> String.format("%.0f DH", e.getPrixUnitaire()))
                 .setHeader("Prix")
+                .setSortProperty("prixUnitaire")
                 .setWidth("100px")
                 .setFlexGrow(0);
 
@@ -231,6 +246,17 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
                 actions.add(cancelButton);
             }
 
+            // Hot events: spread bookings over several counters, or back to one
+            if (event.getStatut() == EventStatus.PUBLIE || event.isCapaciteFractionnee()) {
+                Button slotsButton = new Button(event.isCapaciteFractionnee()
+                        ? VaadinIcon.COMPRESS.create() : VaadinIcon.SPLIT.create());
+                slotsButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_CONTRAST);
+                slotsButton.getElement().setAttribute("title", event.isCapaciteFractionnee()
+                        ? "Regrouper la capacité sur un compteur" : "Répartir la capacité sur plusieurs compteurs");
+                slotsButton.addClickListener(e -> toggleCapacitySlots(event));
+                actions.add(slotsButton);
+            }
+
             Button deleteButton = new Button(VaadinIcon.TRASH.create());
             deleteButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_ERROR);
             deleteButton.getElement().setAttribute("title", "Supprimer");
@@ -239,7 +265,7 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
 
             actions.add(viewButton, deleteButton);
             return actions;
-        })).setHeader("Actions").setWidth("200px").setFlexGrow(0);
+        })).setHeader("Actions").setWidth("240px").setFlexGrow(0);
 
         gridSection.add(grid);
         add(gridSection);
@@ -247,33 +273,21 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
 
     private void loadEvents() {
         try {
-            allEvents = eventService.getAllEvents();
-            filterEvents();
+            // Lazy data provider: filtering, sorting and counting run in the database, one window at a time
+            grid.setItems(
+                    query -> eventService.filterEvents(
+                            searchField.getValue(), statusFilter.getValue(),
+                            VaadinSpringDataHelpers.toSpringPageRequest(query)
+                    ).stream(),
+                    query -> (int) eventService.countFilteredEvents(searchField.getValue(), statusFilter.getValue())
+            );
         } catch (Exception e) {
             showNotification("Erreur lors du chargement des événements", NotificationVariant.LUMO_ERROR);
         }
     }
 
-    private void filterEvents() {
-        List<Event> filtered = allEvents;
-
-        // Filter by search
-        String searchTerm = searchField.getValue();
-        if (searchTerm != null && !searchTerm.isEmpty()) {
-            filtered = filtered.stream()
-                    .filter(e -> e.getTitre().toLowerCase().contains(searchTerm.toLowerCase()))
-                    .collect(Collectors.toList());
-        }
-
-        // Filter by status
-        EventStatus status = statusFilter.getValue();
-        if (status != null) {
-            filtered = filtered.stream()
-                    .filter(e -> e.getStatut() == status)
-                    .collect(Collectors.toList());
-        }
-
-        grid.setItems(filtered);
+    private void refreshGrid() {
+        grid.getDataProvider().refreshAll();
     }
 
     private void confirmPublishEvent(Event event) {
@@ -293,7 +307,7 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         try {
             eventService.publishEvent(event.getId(), currentUser);
             showNotification("✓ Événement publié avec succès", NotificationVariant.LUMO_SUCCESS);
-            loadEvents();
+            refreshGrid();
         } catch (Exception e) {
             showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
@@ -316,7 +330,22 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         try {
             eventService.cancelEvent(event.getId(), currentUser);
             showNotification("✓ Événement annulé", NotificationVariant.LUMO_SUCCESS);
-            loadEvents();
+            refreshGrid();
+        } catch (Exception e) {
+            showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
+        }
+    }
+
+    private void toggleCapacitySlots(Event event) {
+        try {
+            if (event.isCapaciteFractionnee()) {
+                shardedCapacityService.merge(event.getId());
+                showNotification("✓ Capacité regroupée sur un seul compteur", NotificationVariant.LUMO_SUCCESS);
+            } else {
+                shardedCapacityService.split(event.getId());
+                showNotification("✓ Capacité répartie sur plusieurs compteurs", NotificationVariant.LUMO_SUCCESS);
+            }
+            refreshGrid();
         } catch (Exception e) {
             showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
@@ -339,7 +368,29 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         try {
             eventService.deleteEvent(event.getId(), currentUser);
             showNotification("✓ Événement supprimé avec succès", NotificationVariant.LUMO_SUCCESS);
-            loadEvents();
+            refreshGrid();
+        } catch (Exception e) {
+            showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
+        }
+    }
+
+    private void confirmRecomputePlaces() {
+        ConfirmDialog dialog = new ConfirmDialog();
+        dialog.setHeader("Recalculer les places réservées");
+        dialog.setText("Les compteurs de places de tous les événements et les statistiques des organisateurs seront recalculés à partir des réservations. Continuer ?");
+        dialog.setCancelable(true);
+        dialog.setCancelText("Annuler");
+        dialog.setConfirmText("Recalculer");
+
+        dialog.addConfirmListener(e -> recomputePlaces());
+        dialog.open();
+    }
+
+    private void recomputePlaces() {
+        try {
+            int fixed = eventService.recomputeReservedPlaces();
+            showNotification("✓ " + fixed + " compteur(s) corrigé(s)", NotificationVariant.LUMO_SUCCESS);
+            refreshGrid();
         } catch (Exception e) {
             showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
@@ -1,17 +1,21 @@
 package com.event.views.admin;
 
+import com.event.dto.BulkActionReport;
 import com.event.model.entities.Reservation;
 import com.event.model.entities.User;
 import com.event.model.enums.ReservationStatus;
 import com.event.security.NavigationManager;
 import com.event.security.SessionManager;
+import com.event.service.ReservationExportService;
 import com.event.service.ReservationService;
+import com.event.views.BulkActionReportDialog;
 import com.event.views.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridMultiSelectionModel;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.notification.Notification;
@@ -20,22 +24,26 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
+import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Route(value = "admin/reservations", layout = MainLayout.class)
 @PageTitle("Gestion des Réservations | EventPro")
 public class ReservationsView extends VerticalLayout implements BeforeEnterObserver {
 
     private final ReservationService reservationService;
+    private final ReservationExportService exportService;
     private final NavigationManager navigationManager;
     private final SessionManager sessionManager;
 
@@ -45,13 +53,17 @@ public class ReservationsView extends VerticalLayout implements BeforeEnterObser
     private Grid<Reservation> grid;
     private TextField searchField;
     private ComboBox<ReservationStatus> statusFilter;
-    private List<Reservation> allReservations;
+    private Button bulkConfirmButton;
+    private Button bulkCancelButton;
+    private Anchor exportLink;
     private boolean initialized = false;
 
     public ReservationsView(ReservationService reservationService,
+                            ReservationExportService exportService,
                             NavigationManager navigationManager,
                             SessionManager sessionManager) {
         this.reservationService = reservationService;
+        this.exportService = exportService;
         this.navigationManager = navigationManager;
         this.sessionManager = sessionManager;
 
@@ -119,7 +131,8 @@ public class ReservationsView extends VerticalLayout implements BeforeEnterObser
         searchField.setPlaceholder("Code de réservation, nom d'utilisateur...");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setClearButtonVisible(true);
-        searchField.addValueChangeListener(e -> filterReservations());
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.addValueChangeListener(e -> refreshGrid());
         searchField.setWidth("300px");
 
         statusFilter = new ComboBox<>("Statut");
@@ -127,14 +140,30 @@ public class ReservationsView extends VerticalLayout implements BeforeEnterObser
         statusFilter.setItemLabelGenerator(ReservationStatus::getLabel);
         statusFilter.setPlaceholder("Tous les statuts");
         statusFilter.setClearButtonVisible(true);
-        statusFilter.addValueChangeListener(e -> filterReservations());
+        statusFilter.addValueChangeListener(e -> refreshGrid());
         statusFilter.setWidth("200px");
 
         Button refreshButton = new Button("Actualiser", VaadinIcon.REFRESH.create());
         refreshButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        refreshButton.addClickListener(e -> loadReservations());
+        refreshButton.addClickListener(e -> refreshGrid());
 
-        filtersRow.add(searchField, statusFilter, refreshButton);
+        bulkConfirmButton = new Button("Confirmer la sélection", VaadinIcon.CHECK.create());
+        bulkConfirmButton.addThemeVariants(ButtonVariant.LUMO_SUCCESS);
+        bulkConfirmButton.setEnabled(false);
+        bulkConfirmButton.addClickListener(e -> runBulkAction(true));
+
+        bulkCancelButton = new Button("Annuler la sélection", VaadinIcon.CLOSE.create());
+        bulkCancelButton.addThemeVariants(ButtonVariant.LUMO_ERROR);
+        bulkCancelButton.setEnabled(false);
+        bulkCancelButton.addClickListener(e -> runBulkAction(false));
+
+        Button exportButton = new Button("Exporter (CSV)", VaadinIcon.DOWNLOAD.create());
+        exportLink = new Anchor();
+        exportLink.getElement().setAttribute("download", true);
+        exportLink.add(exportButton);
+        updateExportLink();
+
+        filtersRow.add(searchField, statusFilter, refreshButton, exportLink, bulkConfirmButton, bulkCancelButton);
         filtersSection.add(filtersRow);
         add(filtersSection);
     }
@@ -148,6 +177,11 @@ public class ReservationsView extends VerticalLayout implements BeforeEnterObser
 
         grid = new Grid<>(Reservation.class, false);
         grid.setSizeFull();
+        grid.setSelectionMode(Grid.SelectionMode.MULTI);
+        // No select-all: on a lazy data provider it would load every matching row into memory
+        ((GridMultiSelectionModel<Reservation>) grid.getSelectionModel())
+                .setSelectAllCheckboxVisibility(GridMultiSelectionModel.SelectAllCheckboxVisibility.HIDDEN);
+        grid.addSelectionListener(e -> updateBulkButtons(e.getAllSelectedItems().size()));
         grid.getStyle()
                 .set("background", "white")
                 .set("border-radius", "12px")
@@ -156,39 +190,46 @@ public class ReservationsView extends VerticalLayout implements BeforeEnterObser
         // Code column
         grid.addColumn(Reservation::getCodeReservation)
                 .setHeader("Code")
+                .setSortProperty("codeReservation")
                 .setWidth("150px")
                 .setFlexGrow(0);
 
         // User column
         grid.addColumn(res -> res.getUtilisateur().getFullName())
                 .setHeader("Utilisateur")
+                .setSortProperty("utilisateur.nom", "utilisateur.prenom")
                 .setAutoWidth(true);
 
         // Event column
         grid.addColumn(res -> res.getEvenement().getTitre())
                 .setHeader("Événement")
+                .setSortProperty("evenement.titre")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
         // Event date column
         grid.addColumn(res -> res.getEvenement().getDateDebut().format(DATE_FORMATTER))
                 .setHeader("Date événement")
+                .setSortProperty("evenement.dateDebut")
                 .setAutoWidth(true);
 
         // Reservation date column
         grid.addColumn(res -> res.getDateReservation().format(DATE_FORMATTER))
                 .setHeader("Date réservation")
+                .setSortProperty("dateReservation")
                 .setAutoWidth(true);
 
         // Places column
         grid.addColumn(Reservation::getNombrePlaces)
                 .setHeader("Places")
+                .setSortProperty("nombrePlaces")
                 .setWidth("100px")
                 .setFlexGrow(0);
 
         // Amount column
         grid.addColumn(res -> String.format("%.0f DH", res.getMontantTotal()))
                 .setHeader("Montant")
+                .setSortProperty("montantTotal")
                 .setWidth("120px")
                 .setFlexGrow(0);
 
@@ -242,36 +283,70 @@ public class ReservationsView extends VerticalLayout implements BeforeEnterObser
 
     private void loadReservations() {
         try {
-            allReservations = reservationService.getAllReservations();
-            filterReservations();
+            // Lazy data provider: filtering, sorting and counting run in the database, one window at a time
+            grid.setItems(
+                    query -> reservationService.filterReservations(
+                            searchField.getValue(), statusFilter.getValue(),
+                            VaadinSpringDataHelpers.toSpringPageRequest(query)
+                    ).stream(),
+                    query -> (int) reservationService.countFilteredReservations(
+                            searchField.getValue(), statusFilter.getValue()
+                    )
+            );
         } catch (Exception e) {
             showNotification("Erreur lors du chargement des réservations", NotificationVariant.LUMO_ERROR);
         }
     }
 
-    private void filterReservations() {
-        List<Reservation> filtered = allReservations;
+    private void refreshGrid() {
+        grid.deselectAll();
+        updateExportLink();
+        grid.getDataProvider().refreshAll();
+    }
 
-        // Filter by search
+    private void updateExportLink() {
+        // The download runs outside the UI lock, so it gets the filter values of the moment
+        ReservationStatus status = statusFilter.getValue();
         String searchTerm = searchField.getValue();
-        if (searchTerm != null && !searchTerm.isEmpty()) {
-            String lowerSearch = searchTerm.toLowerCase();
-            filtered = filtered.stream()
-                    .filter(r -> r.getCodeReservation().toLowerCase().contains(lowerSearch) ||
-                            r.getUtilisateur().getFullName().toLowerCase().contains(lowerSearch) ||
-                            r.getEvenement().getTitre().toLowerCase().contains(lowerSearch))
-                    .collect(Collectors.toList());
-        }
+        String fileName = "reservations-" + LocalDate.now() + ".csv";
 
-        // Filter by status
-        ReservationStatus status = statusFilter.getValue();
-        if (status != null) {
-            filtered = filtered.stream()
-                    .filter(r -> r.getStatut() == status)
-                    .collect(Collectors.toList());
-        }
+        StreamResource resource = new StreamResource(fileName,
+                (out, session) -> exportService.exportReservations(searchTerm, status, out));
+        resource.setContentType("text/csv;charset=UTF-8");
+        exportLink.setHref(resource);
+    }
 
-        grid.setItems(filtered);
+    private void updateBulkButtons(int selected) {
+        bulkConfirmButton.setEnabled(selected > 0);
+        bulkCancelButton.setEnabled(selected > 0);
+        bulkConfirmButton.setText(selected > 0 ? "Confirmer (" + selected + ")" : "Confirmer la sélection");
+        bulkCancelButton.setText(selected > 0 ? "Annuler (" + selected + ")" : "Annuler la sélection");
+    }
+
+    private void runBulkAction(boolean confirm) {
+        List<Long> ids = grid.getSelectedItems().stream().map(Reservation::getId).toList();
+        if (ids.isEmpty()) return;
+
+        ConfirmDialog dialog = new ConfirmDialog();
+        dialog.setHeader(confirm ? "Confirmer les réservations" : "Annuler les réservations");
+        dialog.setText("Appliquer cette action à " + ids.size() + " réservation(s) ?");
+        dialog.setCancelable(true);
+        dialog.setCancelText("Non");
+        dialog.setConfirmText(confirm ? "Confirmer" : "Oui, annuler");
+        dialog.setConfirmButtonTheme(confirm ? "success primary" : "error primary");
+
+        dialog.addConfirmListener(e -> {
+            try {
+                BulkActionReport report = confirm
+                        ? reservationService.confirmReservations(ids, currentUser)
+                        : reservationService.cancelReservations(ids, currentUser);
+                BulkActionReportDialog.show(report);
+                refreshGrid();
+            } catch (Exception ex) {
+                showNotification("❌ Erreur: " + ex.getMessage(), NotificationVariant.LUMO_ERROR);
+            }
+        });
+        dialog.open();
     }
 
     private void showReservationDetails(Reservation reservation) {
@@ -342,7 +417,7 @@ public class ReservationsView extends VerticalLayout implements BeforeEnterObser
         try {
             reservationService.confirmReservation(reservation.getId(), currentUser);
             showNotification("✓ Réservation confirmée avec succès", NotificationVariant.LUMO_SUCCESS);
-            loadReservations();
+            refreshGrid();
         } catch (Exception e) {
             showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
@@ -365,7 +440,7 @@ public class ReservationsView extends VerticalLayout implements BeforeEnterObser
         try {
             reservationService.cancelReservation(reservation.getId(), currentUser);
             showNotification("✓ Réservation annulée", NotificationVariant.LUMO_SUCCESS);
-            loadReservations();
+            refreshGrid();
         } catch (Exception e) {
             showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
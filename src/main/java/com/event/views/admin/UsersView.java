@@ -19,16 +19,16 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Route(value = "admin/users", layout = MainLayout.class)
 @PageTitle("Gestion des Utilisateurs | EventPro")
@@ -45,7 +45,6 @@ public class UsersView extends VerticalLayout implements BeforeEnterObserver {
     private TextField searchField;
     private ComboBox<UserRole> roleFilter;
     private ComboBox<Boolean> activeFilter;
-    private List<User> allUsers;
     private boolean initialized = false;
 
     public UsersView(UserService userService,
@@ -119,7 +118,8 @@ public class UsersView extends VerticalLayout implements BeforeEnterObserver {
         searchField.setPlaceholder("Nom, prénom, email...");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setClearButtonVisible(true);
-        searchField.addValueChangeListener(e -> filterUsers());
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.addValueChangeListener(e -> refreshGrid());
         searchField.setWidth("300px");
 
         roleFilter = new ComboBox<>("Rôle");
@@ -127,7 +127,7 @@ public class UsersView extends VerticalLayout implements BeforeEnterObserver {
         roleFilter.setItemLabelGenerator(UserRole::getLabel);
         roleFilter.setPlaceholder("Tous les rôles");
         roleFilter.setClearButtonVisible(true);
-        roleFilter.addValueChangeListener(e -> filterUsers());
+        roleFilter.addValueChangeListener(e -> refreshGrid());
         roleFilter.setWidth("200px");
 
         activeFilter = new ComboBox<>("Statut");
@@ -135,12 +135,12 @@ public class UsersView extends VerticalLayout implements BeforeEnterObserver {
         activeFilter.setItemLabelGenerator(active -> active ? "Actif" : "Inactif");
         activeFilter.setPlaceholder("Tous les statuts");
         activeFilter.setClearButtonVisible(true);
-        activeFilter.addValueChangeListener(e -> filterUsers());
+        activeFilter.addValueChangeListener(e -> refreshGrid());
         activeFilter.setWidth("150px");
 
         Button refreshButton = new Button("Actualiser", VaadinIcon.REFRESH.create());
         refreshButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        refreshButton.addClickListener(e -> loadUsers());
+        refreshButton.addClickListener(e -> refreshGrid());
 
         filtersRow.add(searchField, roleFilter, activeFilter, refreshButton);
         filtersSection.add(filtersRow);
@@ -164,12 +164,14 @@ public class UsersView extends VerticalLayout implements BeforeEnterObserver {
         // Name column
         grid.addColumn(User::getFullName)
                 .setHeader("Nom complet")
+                .setSortProperty("nom", "prenom")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
         // Email column
         grid.addColumn(User::getEmail)
                 .setHeader("Email")
+                .setSortProperty("email")
                 .setAutoWidth(true);
 
         // Role column with badge
@@ -194,6 +196,7 @@ public class UsersView extends VerticalLayout implements BeforeEnterObserver {
         // Registration date column
         grid.addColumn(user -> user.getDateInscription().format(DATE_FORMATTER))
                 .setHeader("Date d'inscription")
+                .setSortProperty("dateInscription")
                 .setAutoWidth(true);
 
         // Status column
@@ -252,44 +255,23 @@ public class UsersView extends VerticalLayout implements BeforeEnterObserver {
 
     private void loadUsers() {
         try {
-            allUsers = userService.getAllUsers();
-            filterUsers();
+            // Lazy data provider: filtering, sorting and counting run in the database, one window at a time
+            grid.setItems(
+                    query -> userService.filterUsers(
+                            searchField.getValue(), roleFilter.getValue(), activeFilter.getValue(),
+                            VaadinSpringDataHelpers.toSpringPageRequest(query)
+                    ).stream(),
+                    query -> (int) userService.countFilteredUsers(
+                            searchField.getValue(), roleFilter.getValue(), activeFilter.getValue()
+                    )
+            );
         } catch (Exception e) {
             showNotification("Erreur lors du chargement des utilisateurs", NotificationVariant.LUMO_ERROR);
         }
     }
 
-    private void filterUsers() {
-        List<User> filtered = allUsers;
-
-        // Filter by search
-        String searchTerm = searchField.getValue();
-        if (searchTerm != null && !searchTerm.isEmpty()) {
-            String lowerSearch = searchTerm.toLowerCase();
-            filtered = filtered.stream()
-                    .filter(u -> u.getNom().toLowerCase().contains(lowerSearch) ||
-                            u.getPrenom().toLowerCase().contains(lowerSearch) ||
-                            u.getEmail().toLowerCase().contains(lowerSearch))
-                    .collect(Collectors.toList());
-        }
-
-        // Filter by role
-        UserRole role = roleFilter.getValue();
-        if (role != null) {
-            filtered = filtered.stream()
-                    .filter(u -> u.getRole() == role)
-                    .collect(Collectors.toList());
-        }
-
-        // Filter by active status
-        Boolean active = activeFilter.getValue();
-        if (active != null) {
-            filtered = filtered.stream()
-                    .filter(u -> u.getActif().equals(active))
-                    .collect(Collectors.toList());
-        }
-
-        grid.setItems(filtered);
+    private void refreshGrid() {
+        grid.getDataProvider().refreshAll();
     }
 
     private void showChangeRoleDialog(User user) {
@@ -333,7 +315,7 @@ public class UsersView extends VerticalLayout implements BeforeEnterObserver {
         try {
             userService.changeRole(user.getId(), newRole);
             showNotification("✓ Rôle modifié avec succès", NotificationVariant.LUMO_SUCCESS);
-            loadUsers();
+            refreshGrid();
         } catch (Exception e) {
             showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
@@ -358,7 +340,7 @@ public class UsersView extends VerticalLayout implements BeforeEnterObserver {
                     userService.activateAccount(user.getId());
                     showNotification("✓ Utilisateur activé", NotificationVariant.LUMO_SUCCESS);
                 }
-                loadUsers();
+                refreshGrid();
             } catch (Exception ex) {
                 showNotification("❌ Erreur: " + ex.getMessage(), NotificationVariant.LUMO_ERROR);
             }
@@ -1,5 +1,6 @@
 package com.event.views.client;
 
+import com.event.dto.UserStatisticsDTO;
 import com.event.model.entities.User;
 import com.event.security.NavigationManager;
 import com.event.security.SessionManager;
@@ -19,7 +20,6 @@ import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 
-import java.util.Map;
 
 @Route(value = "dashboard", layout = MainLayout.class)
 @PageTitle("Tableau de bord | EventPro")
@@ -103,7 +103,7 @@ public class DashboardView extends VerticalLayout implements BeforeEnterObserver
                 .set("color", "#2d3748");
 
         // Get statistics
-        Map<String, Object> stats = reservationService.getUserReservationStatistics(currentUser);
+        UserStatisticsDTO stats = reservationService.getUserReservationStatistics(currentUser);
 
         HorizontalLayout statsCards = new HorizontalLayout();
         statsCards.setWidthFull();
@@ -113,25 +113,25 @@ public class DashboardView extends VerticalLayout implements BeforeEnterObserver
                 createStatCard(
                         VaadinIcon.TICKET,
                         "Réservations totales",
-                        stats.get("totalReservations").toString(),
+                        String.valueOf(stats.getTotalReservations()),
                         "#667eea"
                 ),
                 createStatCard(
                         VaadinIcon.CHECK_CIRCLE,
                         "Confirmées",
-                        stats.get("confirmedReservations").toString(),
+                        String.valueOf(stats.getConfirmedReservations()),
                         "#48bb78"
                 ),
                 createStatCard(
                         VaadinIcon.CLOCK,
                         "En attente",
-                        stats.get("pendingReservations").toString(),
+                        String.valueOf(stats.getPendingReservations()),
                         "#ed8936"
                 ),
                 createStatCard(
                         VaadinIcon.MONEY,
                         "Total dépensé",
-                        String.format("%.0f DH", (Double) stats.get("totalSpent")),
+                        String.format("%.0f DH", stats.getTotalSpent()),
                         "#764ba2"
                 )
         );
@@ -289,6 +289,9 @@ public class MyReservationsView extends VerticalLayout implements BeforeEnterObs
         mainInfo.add(createDetailRow("Code", reservation.getCodeReservation()));
         mainInfo.add(createDetailRow("Statut", reservation.getStatut().getLabel()));
         mainInfo.add(createDetailRow("Date de réservation", reservation.getDateReservation().format(DATE_FORMATTER)));
+        if (reservation.getStatut() == ReservationStatus.EN_ATTENTE && reservation.getExpiresAt() != null) {
+            mainInfo.add(createDetailRow("Places retenues jusqu'au", reservation.getExpiresAt().format(DATE_FORMATTER)));
+        }
 
         // Event info section
         VerticalLayout eventInfo = new VerticalLayout();
@@ -1,5 +1,6 @@
 package com.event.views.client;
 
+import com.event.dto.UserStatisticsDTO;
 import com.event.model.entities.User;
 import com.event.security.NavigationManager;
 import com.event.security.SessionManager;
@@ -28,7 +29,6 @@ import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 
 @Route(value = "profile", layout = MainLayout.class)
 @PageTitle("Mon Profil | EventPro")
@@ -208,23 +208,23 @@ public class ProfileView extends VerticalLayout implements BeforeEnterObserver {
                                 .set("margin", "0 0 1.5rem 0")
                                 .set("color", "#2d3748");
 
-                Map<String, Object> stats = userService.getUserStatistics(currentUser.getId());
+                UserStatisticsDTO stats = userService.getUserStatistics(currentUser.getId());
 
                 statsCard.add(statsTitle);
                 statsCard.add(createStatRow(
                                 VaadinIcon.CALENDAR,
                                 "Événements créés",
-                                stats.get("eventsCreated").toString(),
+                                String.valueOf(stats.getEventsCreated()),
                                 "#667eea"));
                 statsCard.add(createStatRow(
                                 VaadinIcon.TICKET,
                                 "Réservations",
-                                stats.get("totalReservations").toString(),
+                                String.valueOf(stats.getTotalReservations()),
                                 "#48bb78"));
                 statsCard.add(createStatRow(
                                 VaadinIcon.MONEY,
                                 "Total dépensé",
-                                String.format("%.0f DH", (Double) stats.get("totalSpent")),
+                                String.format("%.0f DH", stats.getTotalSpent()),
                                 "#764ba2"));
 
                 return statsCard;
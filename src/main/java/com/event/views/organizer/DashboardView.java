@@ -362,11 +362,7 @@ public class DashboardView extends VerticalLayout implements BeforeEnterObserver
         sectionHeader.add(sectionTitle, viewAllButton);
 
         // Get recent events
-        var events = eventService.getEventsByOrganizer(currentUser);
-        var recentEvents = events.stream()
-                .sorted((e1, e2) -> e2.getDateCreation().compareTo(e1.getDateCreation()))
-                .limit(3)
-                .toList();
+        var recentEvents = eventService.getRecentEventsByOrganizer(currentUser, 3);
 
         VerticalLayout eventsList = new VerticalLayout();
         eventsList.setWidthFull();
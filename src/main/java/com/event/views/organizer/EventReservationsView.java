@@ -1,5 +1,6 @@
 package com.event.views.organizer;
 
+import com.event.dto.BulkActionReport;
 import com.event.model.entities.Event;
 import com.event.model.entities.Reservation;
 import com.event.model.entities.User;
@@ -7,12 +8,16 @@ import com.event.model.enums.ReservationStatus;
 import com.event.security.NavigationManager;
 import com.event.security.SessionManager;
 import com.event.service.EventService;
+import com.event.service.ReservationExportService;
 import com.event.service.ReservationService;
+import com.event.views.BulkActionReportDialog;
 import com.event.views.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridMultiSelectionModel;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.notification.Notification;
@@ -24,14 +29,17 @@ import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
+import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Route(value = "organizer/reservations", layout = MainLayout.class)
 @PageTitle("Réservations | EventPro")
@@ -39,6 +47,7 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
 
     private final EventService eventService;
     private final ReservationService reservationService;
+    private final ReservationExportService exportService;
     private final NavigationManager navigationManager;
     private final SessionManager sessionManager;
 
@@ -48,17 +57,21 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
     private User currentUser;
     private Grid<Reservation> reservationGrid;
     private TextField searchField;
-    private com.vaadin.flow.component.combobox.ComboBox<Event> eventFilter;
-    private List<Event> organizerEvents = new ArrayList<>();
-    private List<Reservation> allReservations = new ArrayList<>();
+    private ComboBox<Event> eventFilter;
+    private ComboBox<ReservationStatus> statusFilter;
+    private Button bulkConfirmButton;
+    private Button bulkCancelButton;
+    private Anchor exportLink;
     private boolean initialized = false;
 
     public EventReservationsView(EventService eventService,
                                   ReservationService reservationService,
+                                  ReservationExportService exportService,
                                   NavigationManager navigationManager,
                                   SessionManager sessionManager) {
         this.eventService = eventService;
         this.reservationService = reservationService;
+        this.exportService = exportService;
         this.navigationManager = navigationManager;
         this.sessionManager = sessionManager;
 
@@ -146,21 +159,46 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
         searchField.setPlaceholder("Client ou code réservation...");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setClearButtonVisible(true);
-        searchField.addValueChangeListener(e -> filterReservations());
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.addValueChangeListener(e -> refreshGrid());
         searchField.setWidth("300px");
 
-        eventFilter = new com.vaadin.flow.component.combobox.ComboBox<>("Événement");
+        eventFilter = new ComboBox<>("Événement");
         eventFilter.setItemLabelGenerator(Event::getTitre);
         eventFilter.setPlaceholder("Tous les événements");
         eventFilter.setClearButtonVisible(true);
-        eventFilter.addValueChangeListener(e -> filterReservations());
+        eventFilter.addValueChangeListener(e -> refreshGrid());
         eventFilter.setWidth("300px");
 
+        statusFilter = new ComboBox<>("Statut");
+        statusFilter.setItems(Arrays.asList(ReservationStatus.values()));
+        statusFilter.setItemLabelGenerator(ReservationStatus::getLabel);
+        statusFilter.setPlaceholder("Tous les statuts");
+        statusFilter.setClearButtonVisible(true);
+        statusFilter.addValueChangeListener(e -> refreshGrid());
+        statusFilter.setWidth("200px");
+
         Button refreshButton = new Button("Actualiser", VaadinIcon.REFRESH.create());
         refreshButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        refreshButton.addClickListener(e -> loadReservations());
+        refreshButton.addClickListener(e -> refreshGrid());
+
+        bulkConfirmButton = new Button("Confirmer la sélection", VaadinIcon.CHECK.create());
+        bulkConfirmButton.addThemeVariants(ButtonVariant.LUMO_SUCCESS);
+        bulkConfirmButton.setEnabled(false);
+        bulkConfirmButton.addClickListener(e -> runBulkAction(true));
+
+        bulkCancelButton = new Button("Rejeter la sélection", VaadinIcon.CLOSE.create());
+        bulkCancelButton.addThemeVariants(ButtonVariant.LUMO_ERROR);
+        bulkCancelButton.setEnabled(false);
+        bulkCancelButton.addClickListener(e -> runBulkAction(false));
+
+        Button exportButton = new Button("Exporter (CSV)", VaadinIcon.DOWNLOAD.create());
+        exportLink = new Anchor();
+        exportLink.getElement().setAttribute("download", true);
+        exportLink.add(exportButton);
+        updateExportLink();
 
-        filtersRow.add(searchField, eventFilter, refreshButton);
+        filtersRow.add(searchField, eventFilter, statusFilter, refreshButton, exportLink, bulkConfirmButton, bulkCancelButton);
         filtersSection.add(filtersRow);
         add(filtersSection);
     }
@@ -174,6 +212,11 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
 
         reservationGrid = new Grid<>(Reservation.class, false);
         reservationGrid.setSizeFull();
+        reservationGrid.setSelectionMode(Grid.SelectionMode.MULTI);
+        // No select-all: on a lazy data provider it would load every matching row into memory
+        ((GridMultiSelectionModel<Reservation>) reservationGrid.getSelectionModel())
+                .setSelectAllCheckboxVisibility(GridMultiSelectionModel.SelectAllCheckboxVisibility.HIDDEN);
+        reservationGrid.addSelectionListener(e -> updateBulkButtons(e.getAllSelectedItems().size()));
         reservationGrid.getStyle()
                 .set("background", "white")
                 .set("border-radius", "12px")
@@ -182,12 +225,14 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
         // Event Title
         reservationGrid.addColumn(r -> r.getEvenement().getTitre())
                 .setHeader("Événement")
+                .setSortProperty("evenement.titre")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
         // Code de réservation
         reservationGrid.addColumn(Reservation::getCodeReservation)
                 .setHeader("Code")
+                .setSortProperty("codeReservation")
                 .setAutoWidth(true)
                 .setWidth("100px")
                 .setFlexGrow(0);
@@ -195,30 +240,35 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
         // Client name
         reservationGrid.addColumn(r -> r.getUtilisateur().getFullName())
                 .setHeader("Client")
+                .setSortProperty("utilisateur.nom")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
         // Client email
         reservationGrid.addColumn(r -> r.getUtilisateur().getEmail())
                 .setHeader("Email")
+                .setSortProperty("utilisateur.email")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
         // Number of places
         reservationGrid.addColumn(Reservation::getNombrePlaces)
                 .setHeader("Places")
+                .setSortProperty("nombrePlaces")
                 .setWidth("80px")
                 .setFlexGrow(0);
 
         // Total amount
         reservationGrid.addColumn(r -> String.format("%.0f DH", r.getMontantTotal()))
                 .setHeader("Montant")
+                .setSortProperty("montantTotal")
                 .setWidth("100px")
                 .setFlexGrow(0);
 
         // Reservation date
         reservationGrid.addColumn(r -> r.getDateReservation().format(DATE_FORMATTER))
                 .setHeader("Date réservation")
+                .setSortProperty("dateReservation")
                 .setWidth("150px")
                 .setFlexGrow(0);
 
@@ -264,77 +314,90 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
             return actions;
         })).setHeader("Actions").setWidth("180px").setFlexGrow(0);
 
-        // Set items AFTER columns are added
-        reservationGrid.setItems(new ArrayList<>());
-        
         gridSection.add(reservationGrid);
         add(gridSection);
     }
 
     private void loadReservations() {
         try {
-            organizerEvents = eventService.getEventsByOrganizer(currentUser);
-            if (organizerEvents == null) {
-                organizerEvents = new ArrayList<>();
-            }
-            eventFilter.setItems(organizerEvents);
-
-            allReservations = new ArrayList<>();
-            for (Event event : organizerEvents) {
-                try {
-                    List<Reservation> eventReservations = reservationService.getReservationsByEvent(event.getId());
-                    if (eventReservations != null) {
-                        allReservations.addAll(eventReservations);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error loading reservations for event " + event.getId() + ": " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
-
-            filterReservations();
+            // The event picker pages through the organizer's events, filtered by title as the user types
+            eventFilter.setItems(query -> eventService.filterOrganizerEvents(
+                    currentUser, query.getFilter().orElse(null), null,
+                    VaadinSpringDataHelpers.toSpringPageRequest(query)
+            ).stream());
+
+            // One organizer-scoped query per visible window, filtered and counted in the database
+            reservationGrid.setItems(
+                    query -> reservationService.filterOrganizerReservations(
+                            currentUser, selectedEventId(), statusFilter.getValue(), searchField.getValue(),
+                            VaadinSpringDataHelpers.toSpringPageRequest(query)
+                    ).stream(),
+                    query -> (int) reservationService.countFilteredOrganizerReservations(
+                            currentUser, selectedEventId(), statusFilter.getValue(), searchField.getValue()
+                    )
+            );
         } catch (Exception e) {
             e.printStackTrace();
-            allReservations = new ArrayList<>();
-            if (reservationGrid != null) {
-                reservationGrid.setItems(allReservations);
-            }
             showNotification("Erreur lors du chargement des réservations: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
     }
 
-    private void filterReservations() {
-        if (allReservations == null) {
-            allReservations = new ArrayList<>();
-        }
-        
-        List<Reservation> filtered = new ArrayList<>(allReservations);
-
-        // Filter by event
-        if (eventFilter != null) {
-            Event selectedEvent = eventFilter.getValue();
-            if (selectedEvent != null) {
-                filtered = filtered.stream()
-                        .filter(r -> r.getEvenement().getId().equals(selectedEvent.getId()))
-                        .collect(Collectors.toList());
-            }
-        }
+    private Long selectedEventId() {
+        Event selectedEvent = eventFilter.getValue();
+        return selectedEvent != null ? selectedEvent.getId() : null;
+    }
 
-        // Filter by search
-        if (searchField != null) {
-            String searchTerm = searchField.getValue();
-            if (searchTerm != null && !searchTerm.isEmpty()) {
-                filtered = filtered.stream()
-                        .filter(r -> r.getUtilisateur().getFullName().toLowerCase().contains(searchTerm.toLowerCase())
-                                || r.getCodeReservation().toLowerCase().contains(searchTerm.toLowerCase())
-                                || r.getUtilisateur().getEmail().toLowerCase().contains(searchTerm.toLowerCase()))
-                        .collect(Collectors.toList());
-            }
-        }
+    private void refreshGrid() {
+        reservationGrid.deselectAll();
+        updateExportLink();
+        reservationGrid.getDataProvider().refreshAll();
+    }
 
-        if (reservationGrid != null) {
-            reservationGrid.setItems(filtered);
-        }
+    private void updateExportLink() {
+        // The download runs outside the UI lock, so it gets the filter values of the moment
+        User organizer = currentUser;
+        Long eventId = selectedEventId();
+        ReservationStatus status = statusFilter.getValue();
+        String searchTerm = searchField.getValue();
+        String fileName = "reservations-" + LocalDate.now() + ".csv";
+
+        StreamResource resource = new StreamResource(fileName,
+                (out, session) -> exportService.exportOrganizerReservations(organizer, eventId, status, searchTerm, out));
+        resource.setContentType("text/csv;charset=UTF-8");
+        exportLink.setHref(resource);
+    }
+
+    private void updateBulkButtons(int selected) {
+        bulkConfirmButton.setEnabled(selected > 0);
+        bulkCancelButton.setEnabled(selected > 0);
+        bulkConfirmButton.setText(selected > 0 ? "Confirmer (" + selected + ")" : "Confirmer la sélection");
+        bulkCancelButton.setText(selected > 0 ? "Rejeter (" + selected + ")" : "Rejeter la sélection");
+    }
+
+    private void runBulkAction(boolean confirm) {
+        List<Long> ids = reservationGrid.getSelectedItems().stream().map(Reservation::getId).toList();
+        if (ids.isEmpty()) return;
+
+        ConfirmDialog dialog = new ConfirmDialog();
+        dialog.setHeader(confirm ? "Confirmer les réservations" : "Rejeter les réservations");
+        dialog.setText("Appliquer cette action à " + ids.size() + " réservation(s) ?");
+        dialog.setCancelable(true);
+        dialog.setCancelText("Non");
+        dialog.setConfirmText(confirm ? "Confirmer" : "Oui, rejeter");
+        dialog.setConfirmButtonTheme(confirm ? "success primary" : "error primary");
+
+        dialog.addConfirmListener(e -> {
+            try {
+                BulkActionReport report = confirm
+                        ? reservationService.confirmReservations(ids, currentUser)
+                        : reservationService.cancelReservations(ids, currentUser);
+                BulkActionReportDialog.show(report);
+                refreshGrid();
+            } catch (Exception ex) {
+                showNotification("❌ Erreur: " + ex.getMessage(), NotificationVariant.LUMO_ERROR);
+            }
+        });
+        dialog.open();
     }
 
     private void showReservationDetails(Reservation reservation) {
@@ -432,7 +495,7 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
                 reservation.setCommentaire(commentField.getValue());
                 reservationService.confirmReservation(reservation.getId(), currentUser);
                 showNotification("✓ Réservation confirmée", NotificationVariant.LUMO_SUCCESS);
-                loadReservations();
+                refreshGrid();
                 dialog.close();
             } catch (Exception ex) {
                 showNotification("❌ Erreur: " + ex.getMessage(), NotificationVariant.LUMO_ERROR);
@@ -458,7 +521,7 @@ public class EventReservationsView extends VerticalLayout implements BeforeEnter
             try {
                 reservationService.cancelReservation(reservation.getId(), currentUser);
                 showNotification("✓ Réservation rejetée", NotificationVariant.LUMO_SUCCESS);
-                loadReservations();
+                refreshGrid();
             } catch (Exception ex) {
                 showNotification("❌ Erreur: " + ex.getMessage(), NotificationVariant.LUMO_ERROR);
             }
@@ -1,16 +1,21 @@
 package com.event.views.organizer;
 
+import com.event.dto.EventImportReport;
+import com.event.exception.BadRequestException;
 import com.event.model.entities.Event;
 import com.event.model.entities.User;
 import com.event.model.enums.EventStatus;
 import com.event.security.NavigationManager;
 import com.event.security.SessionManager;
+import com.event.service.EventImportService;
 import com.event.service.EventService;
 import com.event.views.MainLayout;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
+import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.VaadinIcon;
@@ -20,39 +25,48 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.component.upload.Upload;
+import com.vaadin.flow.component.upload.receivers.FileBuffer;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
 
 @Route(value = "organizer/events", layout = MainLayout.class)
 @PageTitle("Mes Événements | EventPro")
 public class EventsView extends VerticalLayout implements BeforeEnterObserver {
 
     private final EventService eventService;
+    private final EventImportService eventImportService;
     private final NavigationManager navigationManager;
     private final SessionManager sessionManager;
 
+    private static final Logger log = LoggerFactory.getLogger(EventsView.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final int MAX_IMPORT_FILE_SIZE = 50 * 1024 * 1024;
 
     private User currentUser;
     private Grid<Event> grid;
     private TextField searchField;
     private ComboBox<EventStatus> statusFilter;
-    private List<Event> allEvents = new java.util.ArrayList<>();
     private boolean initialized = false;
 
     public EventsView(EventService eventService,
+            EventImportService eventImportService,
             NavigationManager navigationManager,
             SessionManager sessionManager) {
         this.eventService = eventService;
+        this.eventImportService = eventImportService;
         this.navigationManager = navigationManager;
         this.sessionManager = sessionManager;
 
@@ -128,7 +142,15 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
                 .set("border", "1px solid rgba(255,255,255,0.3)");
         reservationsButton.addClickListener(e -> navigationManager.navigateToOrganizerReservations());
 
-        buttonsLayout.add(createButton, reservationsButton);
+        Button importButton = new Button("Importer", VaadinIcon.UPLOAD.create());
+        importButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        importButton.getStyle()
+                .set("background", "rgba(255,255,255,0.2)")
+                .set("color", "white")
+                .set("border", "1px solid rgba(255,255,255,0.3)");
+        importButton.addClickListener(e -> openImportDialog());
+
+        buttonsLayout.add(createButton, importButton, reservationsButton);
         headerContent.add(titleSection, buttonsLayout);
         header.add(headerContent);
         add(header);
@@ -152,7 +174,8 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         searchField.setPlaceholder("Titre de l'événement...");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setClearButtonVisible(true);
-        searchField.addValueChangeListener(e -> filterEvents());
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.addValueChangeListener(e -> refreshGrid());
         searchField.setWidth("300px");
 
         statusFilter = new ComboBox<>("Statut");
@@ -160,12 +183,12 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         statusFilter.setItemLabelGenerator(EventStatus::getLabel);
         statusFilter.setPlaceholder("Tous les statuts");
         statusFilter.setClearButtonVisible(true);
-        statusFilter.addValueChangeListener(e -> filterEvents());
+        statusFilter.addValueChangeListener(e -> refreshGrid());
         statusFilter.setWidth("200px");
 
         Button refreshButton = new Button("Actualiser", VaadinIcon.REFRESH.create());
         refreshButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        refreshButton.addClickListener(e -> loadEvents());
+        refreshButton.addClickListener(e -> refreshGrid());
 
         filtersRow.add(searchField, statusFilter, refreshButton);
         filtersSection.add(filtersRow);
@@ -280,62 +303,29 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
             return actions;
         })).setHeader("Actions").setWidth("240px").setFlexGrow(0);
 
-        // Set items AFTER columns are added
-        grid.setItems(new ArrayList<>());
-        
         gridSection.add(grid);
         add(gridSection);
     }
 
     private void loadEvents() {
         try {
-            if (currentUser != null) {
-                allEvents = eventService.getEventsByOrganizer(currentUser);
-                if (allEvents == null) {
-                    allEvents = new java.util.ArrayList<>();
-                }
-            } else {
-                allEvents = new java.util.ArrayList<>();
-            }
-            filterEvents();
+            // Lazy data provider: the organizer's events are filtered and counted in the database, one window at a time
+            grid.setItems(
+                    query -> eventService.filterOrganizerEvents(
+                            currentUser, searchField.getValue(), statusFilter.getValue(),
+                            VaadinSpringDataHelpers.toSpringPageRequest(query)
+                    ).stream(),
+                    query -> (int) eventService.countFilteredOrganizerEvents(
+                            currentUser, searchField.getValue(), statusFilter.getValue()
+                    )
+            );
         } catch (Exception e) {
-            e.printStackTrace();
-            allEvents = new java.util.ArrayList<>();
-            grid.setItems(allEvents);
             showNotification("Erreur lors du chargement des événements: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
     }
 
-    private void filterEvents() {
-        if (allEvents == null) {
-            allEvents = new java.util.ArrayList<>();
-        }
-        
-        List<Event> filtered = new java.util.ArrayList<>(allEvents);
-
-        // Filter by search
-        if (searchField != null) {
-            String searchTerm = searchField.getValue();
-            if (searchTerm != null && !searchTerm.isEmpty()) {
-                filtered = filtered.stream()
-                        .filter(e -> e.getTitre().toLowerCase().contains(searchTerm.toLowerCase()))
-                        .collect(Collectors.toList());
-            }
-        }
-
-        // Filter by status
-        if (statusFilter != null) {
-            EventStatus status = statusFilter.getValue();
-            if (status != null) {
-                filtered = filtered.stream()
-                        .filter(e -> e.getStatut() == status)
-                        .collect(Collectors.toList());
-            }
-        }
-
-        if (grid != null) {
-            grid.setItems(filtered);
-        }
+    private void refreshGrid() {
+        grid.getDataProvider().refreshAll();
     }
 
     private void confirmPublishEvent(Event event) {
@@ -355,7 +345,7 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         try {
             eventService.publishEvent(event.getId(), currentUser);
             showNotification("✓ Événement publié avec succès", NotificationVariant.LUMO_SUCCESS);
-            loadEvents();
+            refreshGrid();
         } catch (Exception e) {
             showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
@@ -378,7 +368,7 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         try {
             eventService.cancelEvent(event.getId(), currentUser);
             showNotification("✓ Événement annulé", NotificationVariant.LUMO_SUCCESS);
-            loadEvents();
+            refreshGrid();
         } catch (Exception e) {
             showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
@@ -401,12 +391,95 @@ public class EventsView extends VerticalLayout implements BeforeEnterObserver {
         try {
             eventService.deleteEvent(event.getId(), currentUser);
             showNotification("✓ Événement supprimé avec succès", NotificationVariant.LUMO_SUCCESS);
-            loadEvents();
+            refreshGrid();
         } catch (Exception e) {
             showNotification("❌ Erreur: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
     }
 
+    private void openImportDialog() {
+        Dialog dialog = new Dialog();
+        dialog.setHeaderTitle("Importer des événements");
+        dialog.setWidth("600px");
+
+        Paragraph help = new Paragraph("Fichier CSV (avec ligne d'en-tête) ou JSON (liste d'objets) avec les champs "
+                + "titre, description, categorie, dateDebut, dateFin, lieu, ville, capaciteMax, prixUnitaire, imageUrl. "
+                + "Les événements sont créés en brouillon.");
+        help.getStyle()
+                .set("color", "#718096")
+                .set("font-size", "0.9rem");
+
+        FileBuffer buffer = new FileBuffer();
+        Upload upload = new Upload(buffer);
+        upload.setAcceptedFileTypes(".csv", ".json", "text/csv", "application/json");
+        upload.setMaxFileSize(MAX_IMPORT_FILE_SIZE);
+        upload.setMaxFiles(1);
+        upload.setWidthFull();
+
+        upload.addSucceededListener(e -> {
+            File file = buffer.getFileData().getFile();
+            EventImportService.Format format;
+            try {
+                format = EventImportService.Format.fromFileName(e.getFileName());
+            } catch (BadRequestException ex) {
+                file.delete();
+                showNotification("❌ " + ex.getMessage(), NotificationVariant.LUMO_ERROR);
+                return;
+            }
+
+            // A large file takes a while: the report is pushed back to the screen once the import is done
+            dialog.close();
+            showNotification("Import en cours, le rapport s'affichera à la fin", NotificationVariant.LUMO_CONTRAST);
+            UI ui = UI.getCurrent();
+            eventImportService.importEventsInBackground(file, format, currentUser)
+                    .whenComplete((report, error) -> ui.access(() -> onImportCompleted(report, error)));
+        });
+        upload.addFileRejectedListener(e ->
+                showNotification("❌ " + e.getErrorMessage(), NotificationVariant.LUMO_ERROR));
+
+        Button cancelButton = new Button("Annuler", e -> dialog.close());
+        dialog.add(help, upload);
+        dialog.getFooter().add(cancelButton);
+        dialog.open();
+    }
+
+    private void onImportCompleted(EventImportReport report, Throwable error) {
+        if (error != null) {
+            Throwable t = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            log.error("Error importing events for user {}", currentUser.getEmail(), t);
+            showNotification("❌ Erreur lors de l'import: " + t.getMessage(), NotificationVariant.LUMO_ERROR);
+            return;
+        }
+        showImportReport(report);
+        refreshGrid();
+    }
+
+    private void showImportReport(EventImportReport report) {
+        if (report.getRejected() == 0) {
+            showNotification("✓ " + report.getImported() + " événement(s) importé(s) en brouillon",
+                    NotificationVariant.LUMO_SUCCESS);
+            return;
+        }
+
+        Dialog dialog = new Dialog();
+        dialog.setHeaderTitle(report.getImported() + " événement(s) importé(s), " + report.getRejected() + " ligne(s) rejetée(s)");
+        dialog.setWidth("700px");
+
+        Grid<EventImportReport.RowError> errors = new Grid<>();
+        errors.addColumn(error -> error.getRow() > 0 ? String.valueOf(error.getRow()) : "-")
+                .setHeader("Ligne").setAutoWidth(true).setFlexGrow(0);
+        errors.addColumn(error -> error.getTitre() != null ? error.getTitre() : "")
+                .setHeader("Titre").setAutoWidth(true);
+        errors.addColumn(EventImportReport.RowError::getMessage).setHeader("Motif").setFlexGrow(1);
+        errors.setItems(report.getErrors());
+        errors.setHeight("400px");
+        dialog.add(errors);
+
+        Button closeButton = new Button("Fermer", e -> dialog.close());
+        dialog.getFooter().add(closeButton);
+        dialog.open();
+    }
+
     private void showNotification(String message, NotificationVariant variant) {
         Notification notification = new Notification(message, 3000, Notification.Position.TOP_CENTER);
         notification.addThemeVariants(variant);
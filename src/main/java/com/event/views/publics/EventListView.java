@@ -1,7 +1,9 @@
 package com.event.views.publics;
 
 import com.event.dto.EventDTO;
+import com.event.dto.EventFacetsDTO;
 import com.event.model.enums.EventCategory;
+import com.event.model.enums.PriceRange;
 import com.event.security.NavigationManager;
 import com.event.service.EventService;
 import com.event.views.MainLayout;
@@ -20,12 +22,15 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 @Route(value = "events", layout = MainLayout.class)
 @PageTitle("Événements | EventPro")
@@ -36,6 +41,7 @@ public class EventListView extends VerticalLayout {
     private final NavigationManager navigationManager;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.FRENCH);
 
     // Filter components
     private TextField searchField;
@@ -46,6 +52,13 @@ public class EventListView extends VerticalLayout {
     private NumberField minPriceFilter;
     private NumberField maxPriceFilter;
 
+    // Facet chips (price range and month) with live counts
+    private HorizontalLayout priceChips;
+    private HorizontalLayout monthChips;
+    private PriceRange selectedPriceRange;
+    private YearMonth selectedMonth;
+    private EventFacetsDTO facets;
+
     // Results container
     private VerticalLayout resultsContainer;
     private Span resultsCount;
@@ -111,7 +124,7 @@ public class EventListView extends VerticalLayout {
 
         // Search field
         searchField = new TextField();
-        searchField.setPlaceholder("Rechercher par titre...");
+        searchField.setPlaceholder("Rechercher par titre, lieu, ville...");
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.setWidthFull();
         searchField.setClearButtonVisible(true);
@@ -124,7 +137,8 @@ public class EventListView extends VerticalLayout {
 
         categoryFilter = new ComboBox<>("Catégorie");
         categoryFilter.setItems(Arrays.asList(EventCategory.values()));
-        categoryFilter.setItemLabelGenerator(EventCategory::getLabel);
+        categoryFilter.setItemLabelGenerator(category -> category.getLabel() + countLabel(
+                facets != null ? facets.getCategories().getOrDefault(category, 0) : null));
         categoryFilter.setPlaceholder("Toutes les catégories");
         categoryFilter.setClearButtonVisible(true);
         categoryFilter.addValueChangeListener(e -> loadEvents());
@@ -132,6 +146,8 @@ public class EventListView extends VerticalLayout {
         cityFilter = new ComboBox<>("Ville");
         List<String> cities = Arrays.asList("Casablanca", "Rabat", "Marrakech", "Tanger", "Fès", "Agadir");
         cityFilter.setItems(cities);
+        cityFilter.setItemLabelGenerator(city -> city + countLabel(
+                facets != null ? facets.getCities().getOrDefault(city, 0) : null));
         cityFilter.setPlaceholder("Toutes les villes");
         cityFilter.setClearButtonVisible(true);
         cityFilter.addValueChangeListener(e -> loadEvents());
@@ -177,6 +193,17 @@ public class EventListView extends VerticalLayout {
         filtersRow3.add(minPriceFilter, maxPriceFilter);
         filtersRow3.setFlexGrow(1, minPriceFilter, maxPriceFilter);
 
+        // Facet chips
+        priceChips = new HorizontalLayout();
+        priceChips.setWidthFull();
+        priceChips.setSpacing(true);
+        priceChips.getStyle().set("flex-wrap", "wrap");
+
+        monthChips = new HorizontalLayout();
+        monthChips.setWidthFull();
+        monthChips.setSpacing(true);
+        monthChips.getStyle().set("flex-wrap", "wrap");
+
         // Clear filters button
         Button clearFiltersButton = new Button("Réinitialiser les filtres", VaadinIcon.REFRESH.create());
         clearFiltersButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
@@ -188,6 +215,8 @@ public class EventListView extends VerticalLayout {
                 filtersRow1,
                 filtersRow2,
                 filtersRow3,
+                priceChips,
+                monthChips,
                 clearFiltersButton
         );
 
@@ -243,26 +272,64 @@ public class EventListView extends VerticalLayout {
         Double minPrice = minPriceFilter.getValue();
         Double maxPrice = maxPriceFilter.getValue();
 
-        // Search with filters using DTOs
-        currentEvents = eventService.searchEventsDTO(
+        // Available events and facet counts in a single pass over the catalogue
+        facets = eventService.searchAvailableEventsWithFacets(
                 category,
                 city,
                 minPrice,
                 maxPrice,
                 startDate,
                 endDate,
-                null,
-                keyword != null && !keyword.isEmpty() ? keyword : null
+                keyword,
+                selectedPriceRange,
+                selectedMonth,
+                Pageable.unpaged()
         );
+        currentEvents = facets.getEvents();
 
-        // Filter only available events
-        currentEvents = currentEvents.stream()
-                .filter(EventDTO::isAvailable)
-                .toList();
-
+        categoryFilter.getListDataView().refreshAll();
+        cityFilter.getListDataView().refreshAll();
+        displayFacetChips();
         displayEvents();
     }
 
+    private void displayFacetChips() {
+        priceChips.removeAll();
+        priceChips.add(new Span("Prix :"));
+        for (PriceRange range : PriceRange.values()) {
+            int count = facets.getPriceRanges().getOrDefault(range, 0);
+            if (count > 0 || range == selectedPriceRange) {
+                priceChips.add(createChip(range.getLabel() + countLabel(count), range == selectedPriceRange, () -> {
+                    selectedPriceRange = range == selectedPriceRange ? null : range;
+                    loadEvents();
+                }));
+            }
+        }
+
+        monthChips.removeAll();
+        monthChips.add(new Span("Mois :"));
+        facets.getMonths().forEach((month, count) -> {
+            if (count > 0 || month.equals(selectedMonth)) {
+                monthChips.add(createChip(month.format(MONTH_FORMATTER) + countLabel(count), month.equals(selectedMonth), () -> {
+                    selectedMonth = month.equals(selectedMonth) ? null : month;
+                    loadEvents();
+                }));
+            }
+        });
+    }
+
+    private Button createChip(String text, boolean selected, Runnable onClick) {
+        Button chip = new Button(text);
+        chip.addThemeVariants(ButtonVariant.LUMO_SMALL, selected ? ButtonVariant.LUMO_PRIMARY : ButtonVariant.LUMO_CONTRAST);
+        chip.getStyle().set("border-radius", "999px");
+        chip.addClickListener(e -> onClick.run());
+        return chip;
+    }
+
+    private String countLabel(Integer count) {
+        return count != null ? " (" + count + ")" : "";
+    }
+
     private void displayEvents() {
         resultsContainer.removeAll();
 
@@ -508,6 +575,8 @@ public class EventListView extends VerticalLayout {
         endDateFilter.clear();
         minPriceFilter.clear();
         maxPriceFilter.clear();
+        selectedPriceRange = null;
+        selectedMonth = null;
         loadEvents();
     }
 }
\ No newline at end of file
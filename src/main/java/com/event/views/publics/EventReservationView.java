@@ -1,12 +1,16 @@
 package com.event.views.publics;
 
+import com.event.dto.EventDTO;
+import com.event.exception.ConflictException;
 import com.event.model.entities.Reservation;
 import com.event.model.entities.User;
 import com.event.security.NavigationManager;
 import com.event.security.SessionManager;
+import com.event.service.BookingSequencer;
 import com.event.service.EventService;
-import com.event.service.ReservationService;
+import com.event.service.WaitlistService;
 import com.event.views.MainLayout;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.*;
@@ -24,30 +28,44 @@ import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Route(value = "event/:eventId/reserve", layout = MainLayout.class)
 @PageTitle("Réserver | EventPro")
 public class EventReservationView extends VerticalLayout implements BeforeEnterObserver {
 
-    private final ReservationService reservationService;
+    private final BookingSequencer bookingSequencer;
+    private final WaitlistService waitlistService;
     private final EventService eventService;
     private final NavigationManager navigationManager;
     private final SessionManager sessionManager;
 
     private Long eventId;
+    private EventDTO event;
     private User currentUser;
+    // One per rendered form: a double click or a retry replays the same submission
+    private String submissionKey;
 
     private IntegerField placesField;
     private TextArea commentField;
     private Span totalSpan;
     private Button confirmButton;
+    private Button waitlistButton;
+    private Span waitlistInfo;
 
     private static final Logger log = LoggerFactory.getLogger(EventReservationView.class);
+    private static final long BOOKING_TIMEOUT_SECONDS = 10;
 
-    public EventReservationView(ReservationService reservationService,
+    public EventReservationView(BookingSequencer bookingSequencer,
+                                WaitlistService waitlistService,
                                 EventService eventService,
                                 NavigationManager navigationManager,
                                 SessionManager sessionManager) {
-        this.reservationService = reservationService;
+        this.bookingSequencer = bookingSequencer;
+        this.waitlistService = waitlistService;
         this.eventService = eventService;
         this.navigationManager = navigationManager;
         this.sessionManager = sessionManager;
@@ -68,6 +86,7 @@ public class EventReservationView extends VerticalLayout implements BeforeEnterO
         try {
             this.eventId = Long.parseLong(idParam);
             this.currentUser = sessionManager.requireAuthentication();
+            this.event = eventService.getEventDTO(eventId);
             createView();
         } catch (Exception e) {
             add(createErrorView("Événement introuvable"));
@@ -75,6 +94,7 @@ public class EventReservationView extends VerticalLayout implements BeforeEnterO
     }
 
     private void createView() {
+        submissionKey = UUID.randomUUID().toString();
         add(createHeader());
 
         HorizontalLayout content = new HorizontalLayout();
@@ -89,9 +109,9 @@ public class EventReservationView extends VerticalLayout implements BeforeEnterO
         left.getStyle().set("background", "white").set("border-radius", "12px");
 
         left.add(new H2("Confirmez votre réservation"));
-        left.add(new Paragraph("Événement: " + eventService.getEventDTO(eventId).getTitre()));
-        left.add(new Paragraph("Date: " + eventService.getEventDTO(eventId).getDateDebut()));
-        left.add(new Paragraph("Lieu: " + eventService.getEventDTO(eventId).getLieu()));
+        left.add(new Paragraph("Événement: " + event.getTitre()));
+        left.add(new Paragraph("Date: " + event.getDateDebut()));
+        left.add(new Paragraph("Lieu: " + event.getLieu()));
 
         // Right: booking form
         VerticalLayout right = new VerticalLayout();
@@ -117,12 +137,21 @@ public class EventReservationView extends VerticalLayout implements BeforeEnterO
         confirmButton.setWidthFull();
         confirmButton.addClickListener(e -> handleConfirm());
 
+        // Sold out: offer the waitlist instead
+        waitlistButton = new Button("Rejoindre la liste d'attente", VaadinIcon.CLOCK.create());
+        waitlistButton.addThemeVariants(ButtonVariant.LUMO_CONTRAST);
+        waitlistButton.setWidthFull();
+        waitlistButton.addClickListener(e -> handleWaitlist());
+
+        waitlistInfo = new Span();
+        waitlistInfo.getStyle().set("color", "#718096").set("font-size", "0.875rem");
+
         Button cancelBtn = new Button("Annuler", VaadinIcon.ARROW_LEFT.create());
         cancelBtn.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
         cancelBtn.setWidthFull();
         cancelBtn.addClickListener(e -> navigationManager.navigateBack());
 
-        right.add(placesField, commentField, totalSpan, confirmButton, cancelBtn);
+        right.add(placesField, commentField, totalSpan, confirmButton, waitlistButton, waitlistInfo, cancelBtn);
 
         content.add(left, right);
         add(content);
@@ -133,39 +162,99 @@ public class EventReservationView extends VerticalLayout implements BeforeEnterO
     private void updateTotal() {
         try {
             int places = placesField.getValue() != null ? placesField.getValue() : 0;
-            double price = eventService.getEventDTO(eventId).getPrixUnitaire();
+            double price = event.getPrixUnitaire();
             totalSpan.setText("Total: " + String.format("%.0f DH", price * places));
         } catch (Exception ignored) {
             totalSpan.setText("Total: -");
         }
+        updateWaitlist();
     }
 
-    private void handleConfirm() {
+    private void updateWaitlist() {
+        int places = placesField.getValue() != null ? placesField.getValue() : 0;
+        int position = waitlistService.getPosition(currentUser, eventId);
+        boolean soldOut = event.getPlacesDisponibles() < Math.max(places, 1);
+
+        confirmButton.setEnabled(!soldOut);
+        waitlistButton.setVisible(soldOut);
+        if (position > 0) {
+            waitlistButton.setText("Quitter la liste d'attente");
+            waitlistInfo.setText("Vous êtes n°" + position + " sur la liste d'attente : une réservation sera créée " +
+                    "automatiquement dès que des places se libèrent.");
+        } else {
+            waitlistButton.setText("Rejoindre la liste d'attente");
+            waitlistInfo.setText(soldOut
+                    ? waitlistService.getWaitingCount(eventId) + " personne(s) en liste d'attente"
+                    : "");
+        }
+    }
+
+    private void handleWaitlist() {
         try {
-            int places = placesField.getValue() != null ? placesField.getValue() : 0;
-            if (places <= 0) {
-                showNotification("Le nombre de places doit être au moins 1", NotificationVariant.LUMO_ERROR);
-                return;
+            if (waitlistService.getPosition(currentUser, eventId) > 0) {
+                waitlistService.leave(currentUser, eventId);
+                showNotification("Vous avez quitté la liste d'attente", NotificationVariant.LUMO_CONTRAST);
+            } else {
+                int places = placesField.getValue() != null ? placesField.getValue() : 0;
+                waitlistService.join(currentUser, eventId, places);
+                showNotification("✓ Inscrit sur la liste d'attente", NotificationVariant.LUMO_SUCCESS);
             }
+        } catch (RuntimeException ex) {
+            showNotification(ex.getMessage(), NotificationVariant.LUMO_ERROR);
+        }
+        updateWaitlist();
+    }
 
-            Reservation reservation = new Reservation();
-            reservation.setNombrePlaces(places);
-            reservation.setCommentaire(commentField.getValue());
+    private void handleConfirm() {
+        int places = placesField.getValue() != null ? placesField.getValue() : 0;
+        if (places <= 0) {
+            showNotification("Le nombre de places doit être au moins 1", NotificationVariant.LUMO_ERROR);
+            return;
+        }
 
-            reservationService.createReservation(reservation, currentUser, eventId);
+        Reservation reservation = new Reservation();
+        reservation.setNombrePlaces(places);
+        reservation.setCommentaire(commentField.getValue());
+        reservation.setIdempotencyKey(submissionKey);
+
+        // Flash-sale events answer once their micro-batch is committed: the outcome is pushed back
+        // to the screen instead of holding the UI thread while the batch runs
+        confirmButton.setEnabled(false);
+        UI ui = UI.getCurrent();
+        bookingSequencer.book(reservation, currentUser, eventId)
+                .orTimeout(BOOKING_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenComplete((saved, error) -> ui.access(() -> onBookingCompleted(error)));
+    }
 
+    private void onBookingCompleted(Throwable error) {
+        if (error == null) {
             showNotification("✓ Réservation créée avec succès", NotificationVariant.LUMO_SUCCESS);
             navigationManager.navigateToMyReservations();
-        } catch (Throwable t) {
-            // Log full stacktrace so server logs contain details for debugging
-            log.error("Error creating reservation for event {} by user {}", eventId,
-                    currentUser != null ? currentUser.getEmail() : "anonymous", t);
-
-            // Show concise message to user
-            String msg = t.getMessage() != null ? t.getMessage() : "Erreur interne";
-            showNotification("Erreur lors de la création de la réservation: " + msg + " (voir logs)",
-                    NotificationVariant.LUMO_ERROR);
+            return;
         }
+
+        updateWaitlist();
+        Throwable t = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (t instanceof TimeoutException) {
+            // Same submission key: a retry returns the reservation if the first attempt went through
+            showNotification("La réservation prend plus de temps que prévu, veuillez réessayer",
+                    NotificationVariant.LUMO_CONTRAST);
+            return;
+        }
+
+        if (t instanceof ConflictException) {
+            // The key is spent (cancelled or used elsewhere): the next click is a new submission
+            submissionKey = UUID.randomUUID().toString();
+        }
+
+        // Log full stacktrace so server logs contain details for debugging
+        log.error("Error creating reservation for event {} by user {}", eventId,
+                currentUser != null ? currentUser.getEmail() : "anonymous", t);
+
+        // Show concise message to user
+        String msg = t.getMessage() != null ? t.getMessage() : "Erreur interne";
+        showNotification("Erreur lors de la création de la réservation: " + msg + " (voir logs)",
+                NotificationVariant.LUMO_ERROR);
     }
 
     private VerticalLayout createHeader() {
@@ -0,0 +1,109 @@
+package com.event.service;
+
+import com.event.exception.BadRequestException;
+import com.event.exception.BusinessException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookingSequencerTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void sequencedBookingsNeverOversell() throws Exception {
+        int capacity = 250;
+        int attempts = 2000;
+        Event event = createPublishedEvent(capacity);
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        BookingSequencer sequencer = new BookingSequencer(reservationService, eventService, eventRepository,
+                transactionManager, true, Set.of(event.getId()), attempts, 100, 2);
+
+        try {
+            List<CompletableFuture<Reservation>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                Reservation reservation = new Reservation();
+                // A few invalid requests fail alone without spoiling their batch
+                reservation.setNombrePlaces(i % 100 == 0 ? 0 : 1);
+                futures.add(sequencer.book(reservation, client, event.getId()));
+            }
+
+            int booked = 0;
+            int invalid = 0;
+            for (CompletableFuture<Reservation> future : futures) {
+                try {
+                    assertNotNull(future.get(60, TimeUnit.SECONDS).getId());
+                    booked++;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof BadRequestException) {
+                        invalid++;
+                    } else {
+                        assertInstanceOf(BusinessException.class, e.getCause());
+                    }
+                }
+            }
+
+            assertEquals(capacity, booked);
+            assertEquals(attempts / 100, invalid);
+            assertEquals(capacity, reservationRepository.calculateTotalReservedPlaces(event));
+            assertEquals(0, eventRepository.findRemainingPlaces(event.getId()));
+        } finally {
+            sequencer.stop();
+        }
+    }
+
+    private Event createPublishedEvent(int capacity) {
+        return eventRepository.save(newEvent(capacity));
+    }
+
+    private Event newEvent(int capacity) {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        Event event = new Event();
+        event.setTitre("Test de charge " + System.nanoTime());
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Rabat");
+        event.setCapaciteMax(capacity);
+        event.setPrixUnitaire(100.0);
+        event.setOrganisateur(organizer);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
@@ -0,0 +1,99 @@
+package com.event.service;
+
+import com.event.dto.EventImportReport;
+import com.event.model.entities.User;
+import com.event.model.enums.EventStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class EventImportServiceTest {
+
+    private static final DateTimeFormatter CSV_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String CSV_HEADER = "titre;categorie;date_debut;date_fin;lieu;ville;capacite_max;prix_unitaire\n";
+
+    @Autowired
+    private EventImportService eventImportService;
+
+    @Autowired
+    private OrganizerStatsService organizerStatsService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bulkImportCreatesDraftsAndReportsRejectedRows() {
+        User organizer = userRepository.findByEmail("organizer2@event.ma").orElseThrow();
+        long draftsBefore = eventRepository.countByStatut(EventStatus.BROUILLON);
+        long rollupDraftsBefore = organizerStatsService.getStatistics(organizer.getId()).getEvenementsBrouillon();
+        String start = LocalDateTime.now().plusDays(60).format(CSV_DATE);
+        String end = LocalDateTime.now().plusDays(60).plusHours(2).format(CSV_DATE);
+
+        // Two full batches and a partial one, plus two bad rows
+        int validRows = 2 * EventImportService.BATCH_SIZE + 7;
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < validRows; i++) {
+            csv.append("\"Atelier n°").append(i).append("; édition\";Autre;").append(start).append(';').append(end)
+                    .append(";Dar Batha;Fès;20;120,5\n");
+        }
+        csv.append("Atelier passé;AUTRE;2020-01-01 10:00;2020-01-01 12:00;Dar Batha;Fès;20;0\n");
+        csv.append("Atelier inconnu;CINEMA;").append(start).append(';').append(end).append(";Dar Batha;Fès;20;0\n");
+
+        EventImportReport report = eventImportService.importEvents(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                EventImportService.Format.CSV, organizer);
+        assertEquals(validRows, report.getImported());
+        assertEquals(2, report.getRejected());
+        // Header on line 1, so the first bad row sits right after the valid ones
+        assertEquals(validRows + 2, report.getErrors().get(0).getRow());
+
+        String json = "[{\"titre\": \"Conférence importée\", \"categorie\": \"CONFERENCE\", \"dateDebut\": \""
+                + start.replace(' ', 'T') + "\", \"dateFin\": \"" + end.replace(' ', 'T') + "\", \"lieu\": \"Technopark\", "
+                + "\"ville\": \"Rabat\", \"capaciteMax\": 50, \"prixUnitaire\": 0},"
+                + " {\"titre\": \"Sans lieu\"}]";
+        report = eventImportService.importEvents(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                EventImportService.Format.JSON, organizer);
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getErrors().get(0).getRow());
+
+        assertEquals(draftsBefore + validRows + 1, eventRepository.countByStatut(EventStatus.BROUILLON));
+        // Each batch carried its rollup delta
+        assertEquals(rollupDraftsBefore + validRows + 1,
+                organizerStatsService.getStatistics(organizer.getId()).getEvenementsBrouillon());
+    }
+
+    @Test
+    void backgroundImportReportsAndDeletesTheUpload() throws Exception {
+        User organizer = userRepository.findByEmail("organizer2@event.ma").orElseThrow();
+        String start = LocalDateTime.now().plusDays(45).format(CSV_DATE);
+        String end = LocalDateTime.now().plusDays(45).plusHours(2).format(CSV_DATE);
+        File upload = File.createTempFile("import", ".csv");
+        Files.writeString(upload.toPath(), CSV_HEADER
+                + "Visite guidée;AUTRE;" + start + ";" + end + ";Médina;Fès;15;80\n"
+                + "Visite sans date;AUTRE;;;Médina;Fès;15;80\n");
+
+        EventImportReport report = eventImportService.importEventsInBackground(upload, EventImportService.Format.CSV,
+                organizer).get(30, TimeUnit.SECONDS);
+
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertFalse(upload.exists());
+    }
+}
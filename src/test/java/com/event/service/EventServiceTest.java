@@ -0,0 +1,379 @@
+package com.event.service;
+
+import com.event.dto.EventDTO;
+import com.event.dto.EventFacetsDTO;
+import com.event.exception.BusinessException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.PriceRange;
+import com.event.repository.EventRepository;
+import com.event.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class EventServiceTest {
+
+    private static final String CITY = "Azrou";
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventCatalogCache catalogCache;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventSearchIndex searchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        if (eventRepository.findPublishedEventsInCity(CITY, LocalDateTime.now()).isEmpty()) {
+            List<User> organizers = List.of(
+                    userRepository.findByEmail("organizer1@event.ma").orElseThrow(),
+                    userRepository.findByEmail("organizer2@event.ma").orElseThrow(),
+                    userRepository.findByEmail("admin@event.ma").orElseThrow()
+            );
+            for (int i = 0; i < 60; i++) {
+                eventRepository.save(newEvent(organizers.get(i % organizers.size()), i));
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void searchEventsDTOUsesOneQueryForWholeCatalogue() {
+        List<EventDTO> events = eventService.searchEventsDTO(null, null, null, null, null, null, null, null);
+
+        assertTrue(events.size() >= 60);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(events.stream().allMatch(e -> e.getOrganisateurNom() != null));
+    }
+
+    @Test
+    void listingDTOMethodsUseOneQueryEach() {
+        assertEquals(60, eventService.getEventsInCityDTO(CITY).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        eventService.getEventsByCategoryDTO(EventCategory.SPORT);
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        eventService.getAvailableEventsDTO();
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        // Ranking, descriptions, places - then the descriptions come from the catalogue cache
+        catalogCache.evictAll();
+        assertEquals(5, eventService.getMostPopularEventsDTO(5).size());
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(5, eventService.getMostPopularEventsDTO(5).size());
+        assertEquals(8, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void cachedEventShowsCurrentPlacesWithoutEviction() {
+        EventDTO cached = eventService.getEventsInCityDTO(CITY).get(1);
+        eventService.getEventDTO(cached.getId());
+        long evictions = catalogCache.getGeneration();
+
+        reservationService.createReservation(booking(3), userRepository.findByEmail("client1@event.ma").orElseThrow(),
+                cached.getId());
+        assertEquals(evictions, catalogCache.getGeneration());
+
+        statistics.clear();
+        EventDTO current = eventService.getEventDTO(cached.getId());
+        assertEquals(cached.getPlacesReservees() + 3, current.getPlacesReservees());
+        assertEquals(cached.getPlacesDisponibles() - 3, current.getPlacesDisponibles());
+        // Only the counter was read
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void loadRacingAnEvictionIsNotCached() {
+        EventCatalogCache cache = new EventCatalogCache(10, Duration.ofMinutes(5));
+        AtomicInteger loadCount = new AtomicInteger();
+        Function<Long, EventDTO> loader = id -> {
+            EventDTO event = new EventDTO();
+            event.setId(id);
+            event.setStatut(EventStatus.PUBLIE);
+            loadCount.incrementAndGet();
+            return event;
+        };
+
+        // Written while being loaded: the copy may predate the write
+        cache.get(1L, id -> {
+            cache.evict(id);
+            return loader.apply(id);
+        });
+        cache.get(1L, loader);
+        assertEquals(2, loadCount.get());
+        cache.get(1L, loader);
+        assertEquals(2, loadCount.get());
+
+        // Evictions of events nobody is loading do not keep later loads out
+        for (long id = 2; id < 1000; id++) {
+            cache.evict(id);
+        }
+        cache.get(2L, loader);
+        cache.get(2L, loader);
+        assertEquals(3, loadCount.get());
+    }
+
+    @Test
+    void keysetPagesCoverAvailableEventsInOrder() {
+        List<EventDTO> all = eventService.getAvailableEventsDTO();
+        List<EventDTO> walked = new ArrayList<>();
+
+        List<EventDTO> page = eventService.getAvailableEventsDTOAfter(null, 7);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            page = eventService.getAvailableEventsDTOAfter(page.get(page.size() - 1), 7);
+        }
+
+        assertEquals(all.stream().map(EventDTO::getId).sorted().toList(),
+                walked.stream().map(EventDTO::getId).sorted().toList());
+    }
+
+    @Test
+    void searchSliceFetchesOnlyRequestedWindow() {
+        Slice<EventDTO> first = eventService.searchEventsDTO(null, CITY, null, null, null, null, null, null,
+                PageRequest.of(0, 25));
+        Slice<EventDTO> last = eventService.searchEventsDTO(null, CITY, null, null, null, null, null, null,
+                PageRequest.of(2, 25));
+
+        assertEquals(25, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(10, last.getNumberOfElements());
+        assertFalse(last.hasNext());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void keywordSliceLoadsOnlyTheRequestedWindow() {
+        // Seeded straight through the repository
+        searchIndex.rebuild();
+        List<Long> ranked = eventService.searchEventsDTO(null, CITY, null, null, null, null, null, "moyen atlas")
+                .stream().map(EventDTO::getId).toList();
+        assertEquals(60, ranked.size());
+        statistics.clear();
+
+        Slice<EventDTO> second = eventService.searchEventsDTO(null, CITY, null, null, null, null, null, "moyen atlas",
+                PageRequest.of(1, 25));
+        assertEquals(ranked.subList(25, 50), second.stream().map(EventDTO::getId).toList());
+        assertTrue(second.hasNext());
+        // Filtered ids, then the DTOs of the window
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        Slice<EventDTO> last = eventService.searchEventsDTO(null, CITY, null, null, null, null, null, "moyen atlas",
+                PageRequest.of(2, 25));
+        assertEquals(ranked.subList(50, 60), last.stream().map(EventDTO::getId).toList());
+        assertFalse(last.hasNext());
+
+        assertEquals(5, searchIndex.search("moyen atlas", 5).size());
+    }
+
+    @Test
+    void organizerFiltersRunInTheDatabase() {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        statistics.clear();
+
+        Slice<Event> first = eventService.filterOrganizerEvents(organizer, "moyen atlas", null, PageRequest.of(0, 8));
+        long count = eventService.countFilteredOrganizerEvents(organizer, "moyen atlas", null);
+        List<Event> recent = eventService.getRecentEventsByOrganizer(organizer, 3);
+
+        assertEquals(8, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertTrue(first.stream().allMatch(e -> e.getOrganisateur().getId().equals(organizer.getId())));
+        assertEquals(20, count);
+        assertEquals(3, recent.size());
+        assertFalse(recent.get(0).getDateCreation().isBefore(recent.get(2).getDateCreation()));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void projectionCarriesReservedPlaces() {
+        EventDTO dto = eventService.getEventsInCityDTO(CITY).get(0);
+        Event event = eventService.findById(dto.getId());
+
+        assertEquals(event.getPlacesReservees(), dto.getPlacesReservees());
+        assertEquals(event.getPlacesDisponibles(), dto.getPlacesDisponibles());
+        assertEquals(userRepository.findById(dto.getOrganisateurId()).orElseThrow().getFullName(),
+                dto.getOrganisateurNom());
+    }
+
+    @Test
+    void keywordSearchIsAccentInsensitiveAndRanksTitleMatchesFirst() {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        Event inDescription = newEvent(organizer, 0);
+        inDescription.setTitre("Soirée musicale");
+        inDescription.setDescription("Musique gnaoua sous les étoiles");
+        inDescription.setVille("Essaouira");
+        inDescription = eventService.createEvent(inDescription, organizer);
+
+        Event inTitle = newEvent(organizer, 1);
+        inTitle.setTitre("Nuit Gnaoua des Étoiles");
+        inTitle.setVille("Essaouira");
+        inTitle = eventService.createEvent(inTitle, organizer);
+
+        List<Long> ids = eventService.searchEventsDTO(null, null, null, null, null, null, null, "gnaoua etoiles")
+                .stream().map(EventDTO::getId).toList();
+        assertEquals(List.of(inTitle.getId(), inDescription.getId()), ids);
+
+        // Prefix and transliterated spelling both reach the same events
+        assertTrue(eventService.searchEventsDTO(null, null, null, null, null, null, null, "essawi")
+                .stream().map(EventDTO::getId).toList().containsAll(ids));
+
+        eventService.deleteEvent(inTitle.getId(), organizer);
+        eventService.deleteEvent(inDescription.getId(), organizer);
+        assertTrue(eventService.searchEventsDTO(null, null, null, null, null, null, null, "gnaoua").isEmpty());
+    }
+
+    @Test
+    void facetsCountEachDimensionAgainstTheOtherFilters() {
+        catalogCache.evictAll();
+
+        EventFacetsDTO facets = eventService.searchAvailableEventsWithFacets(EventCategory.CONCERT, CITY,
+                null, null, null, null, null, null, null, PageRequest.of(0, 10));
+
+        // No concert in the city, but the category facet still shows what the city offers
+        assertEquals(0, facets.getTotal());
+        assertTrue(facets.getEvents().isEmpty());
+        assertEquals(60, facets.getCategories().get(EventCategory.SPORT));
+        assertEquals(0, facets.getCities().get("azrou"));
+
+        facets = eventService.searchAvailableEventsWithFacets(null, CITY,
+                null, null, null, null, null, PriceRange.MOINS_100, null, PageRequest.of(1, 25));
+        assertEquals(60, facets.getTotal());
+        assertEquals(25, facets.getEvents().size());
+        assertEquals(60, facets.getPriceRanges().get(PriceRange.MOINS_100));
+        assertEquals(60, facets.getMonths().values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void bookingsDoNotReloadTheFacetCatalogue() {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        Event small = newEvent(organizer, 3);
+        small.setVille("Ifrane");
+        small.setCapaciteMax(2);
+        small = eventRepository.save(small);
+        catalogCache.evictAll();
+        // Availability read again on every search
+        EventFacetEngine engine = new EventFacetEngine(eventRepository, searchIndex, catalogCache, Duration.ZERO);
+
+        assertEquals(1, engine.search(null, "Ifrane", null, null, null, null, null, null, null,
+                PageRequest.of(0, 10)).getTotal());
+
+        reservationService.createReservation(booking(2), userRepository.findByEmail("client1@event.ma").orElseThrow(),
+                small.getId());
+        statistics.clear();
+        EventFacetsDTO facets = engine.search(null, "Ifrane", null, null, null, null, null, null, null,
+                PageRequest.of(0, 10));
+
+        // Hidden once full, from the overlay alone
+        assertEquals(0, facets.getTotal());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void capacityCutWaitsForNoBookingInBetween() throws Exception {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        Event event = newEvent(organizer, 0);
+        event.setTitre("Festival des cerises");
+        event.setVille("Midelt");
+        event.setCapaciteMax(10);
+        Event saved = eventRepository.save(event);
+        reservationService.createReservation(booking(2), client, saved.getId());
+
+        Event changes = newEvent(organizer, 0);
+        changes.setTitre("Festival des cerises");
+        changes.setVille("Midelt");
+        changes.setDateDebut(saved.getDateDebut());
+        changes.setDateFin(saved.getDateFin());
+        changes.setCapaciteMax(2);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<Reservation> booking = new TransactionTemplate(transactionManager).execute(status -> {
+            eventService.updateEvent(saved.getId(), changes, organizer);
+            Future<Reservation> pending = pool.submit(
+                    () -> reservationService.createReservation(booking(1), client, saved.getId()));
+            // The event row stays locked until the new capacity commits
+            assertThrows(TimeoutException.class, () -> pending.get(300, TimeUnit.MILLISECONDS));
+            return pending;
+        });
+        ExecutionException refused = assertThrows(ExecutionException.class, () -> booking.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(BusinessException.class, refused.getCause());
+        pool.shutdown();
+
+        Event updated = eventService.findById(saved.getId());
+        assertEquals(2, updated.getCapaciteMax());
+        assertEquals(2, updated.getPlacesReservees());
+    }
+
+    private Reservation booking(int places) {
+        Reservation reservation = new Reservation();
+        reservation.setNombrePlaces(places);
+        return reservation;
+    }
+
+    private Event newEvent(User organizer, int index) {
+        Event event = new Event();
+        event.setTitre("Randonnée du Moyen Atlas " + index);
+        event.setCategorie(EventCategory.SPORT);
+        event.setDateDebut(LocalDateTime.now().plusDays(10 + index));
+        event.setDateFin(LocalDateTime.now().plusDays(10 + index).plusHours(5));
+        event.setLieu("Forêt de cèdres");
+        event.setVille(CITY);
+        event.setCapaciteMax(100);
+        event.setPrixUnitaire(50.0);
+        event.setOrganisateur(organizer);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
@@ -0,0 +1,157 @@
+package com.event.service;
+
+import com.event.exception.BusinessException;
+import com.event.exception.ConflictException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.ReservationStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class OptimisticLockRetryTest {
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void staleReservationCannotOverwriteANewerTransition() {
+        Event event = eventRepository.save(newEvent(10));
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+
+        Reservation reservation = new Reservation();
+        reservation.setNombrePlaces(2);
+        Long id = reservationService.createReservation(reservation, client, event.getId()).getId();
+
+        Reservation stale = reservationRepository.findById(id).orElseThrow();
+        reservationService.cancelReservation(id, client);
+
+        stale.setStatut(ReservationStatus.CONFIRMEE);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> reservationRepository.save(stale));
+        assertEquals(ReservationStatus.ANNULEE, reservationRepository.findById(id).orElseThrow().getStatut());
+    }
+
+    @Test
+    void concurrentConfirmAndCancelHaveExactlyOneWinner() throws Exception {
+        Event event = eventRepository.save(newEvent(100));
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setNombrePlaces(1);
+            ids.add(reservationService.createReservation(reservation, client, event.getId()).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (Long id : ids) {
+                CyclicBarrier start = new CyclicBarrier(2);
+                AtomicInteger winners = new AtomicInteger();
+                Future<?> confirm = executor.submit(() -> race(start, winners,
+                        () -> reservationService.confirmReservation(id, organizer)));
+                Future<?> cancel = executor.submit(() -> race(start, winners,
+                        () -> reservationService.cancelReservation(id, client)));
+                confirm.get(30, TimeUnit.SECONDS);
+                cancel.get(30, TimeUnit.SECONDS);
+
+                // Cancelling a confirmed reservation is allowed, so both may succeed one after the other
+                Reservation result = reservationRepository.findById(id).orElseThrow();
+                if (winners.get() == 1) {
+                    assertNotEquals(ReservationStatus.EN_ATTENTE, result.getStatut());
+                } else {
+                    assertEquals(2, winners.get());
+                    assertEquals(ReservationStatus.ANNULEE, result.getStatut());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long active = reservationRepository.findAllById(ids).stream().filter(r -> !r.getStatut().isCancelled()).count();
+        assertEquals(100 - active, eventRepository.findRemainingPlaces(event.getId()).longValue());
+    }
+
+    @Test
+    void conflictsAreRetriedThenReported() {
+        AtomicInteger attempts = new AtomicInteger();
+        long conflictsBefore = (Long) optimisticLockRetry.getStatistics().get("conflicts");
+
+        String result = optimisticLockRetry.execute("test", "Reservation#42", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException(Reservation.class, 42L);
+            }
+            return "ok";
+        });
+        assertEquals("ok", result);
+        assertEquals(2, attempts.get());
+
+        assertThrows(ConflictException.class, () -> optimisticLockRetry.execute("test", "Event#7", () -> {
+            throw new ObjectOptimisticLockingFailureException(Event.class, 7L);
+        }));
+
+        var stats = optimisticLockRetry.getStatistics();
+        assertEquals(conflictsBefore + 4, stats.get("conflicts"));
+        assertTrue((Long) stats.get("recovered") >= 1);
+        assertTrue((Long) stats.get("exhausted") >= 1);
+        assertTrue(stats.get("hottest").toString().contains("Event#7=3"));
+    }
+
+    private void race(CyclicBarrier start, AtomicInteger winners, Runnable transition) {
+        try {
+            start.await(10, TimeUnit.SECONDS);
+            transition.run();
+            winners.incrementAndGet();
+        } catch (BusinessException | ConflictException e) {
+            // Lost the race and saw the other transition's result
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Event newEvent(int capacity) {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        Event event = new Event();
+        event.setTitre("Concurrence " + System.nanoTime());
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Rabat");
+        event.setCapaciteMax(capacity);
+        event.setPrixUnitaire(100.0);
+        event.setOrganisateur(organizer);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
@@ -0,0 +1,201 @@
+package com.event.service;
+
+import com.event.model.entities.Event;
+import com.event.model.entities.OrganizerStats;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.ReservationStatus;
+import com.event.model.enums.UserRole;
+import com.event.repository.EventRepository;
+import com.event.repository.OrganizerStatsRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class OrganizerStatsServiceTest {
+
+    @Autowired
+    private OrganizerStatsService organizerStatsService;
+
+    @Autowired
+    private OrganizerStatsRepository organizerStatsRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventLifecycleService lifecycleService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void incrementalUpdatesMatchAFullRebuild() {
+        organizerStatsService.rebuild();
+        User organizer = userRepository.findByEmail("organizer2@event.ma").orElseThrow();
+        User client = userRepository.findByEmail("client2@event.ma").orElseThrow();
+        OrganizerStats before = organizerStatsService.getStatistics(organizer.getId());
+
+        Event event = eventService.createEvent(newEvent(), organizer);
+        eventService.publishEvent(event.getId(), organizer);
+
+        Reservation confirmed = new Reservation();
+        confirmed.setNombrePlaces(3);
+        confirmed = reservationService.createReservation(confirmed, client, event.getId());
+        reservationService.confirmReservation(confirmed.getId(), organizer);
+
+        Reservation cancelled = new Reservation();
+        cancelled.setNombrePlaces(2);
+        cancelled = reservationService.createReservation(cancelled, client, event.getId());
+        reservationService.cancelReservation(cancelled.getId(), client);
+
+        OrganizerStats after = organizerStatsService.getStatistics(organizer.getId());
+        assertEquals(before.getEvenementsPublies() + 1, after.getEvenementsPublies());
+        assertEquals(before.getEvenementsBrouillon(), after.getEvenementsBrouillon());
+        assertEquals(before.getReservationsConfirmees() + 1, after.getReservationsConfirmees());
+        assertEquals(before.getReservationsAnnulees() + 1, after.getReservationsAnnulees());
+        assertEquals(before.getReservationsEnAttente(), after.getReservationsEnAttente());
+        assertEquals(before.getPlacesVendues() + 3, after.getPlacesVendues());
+        assertEquals(before.getRevenuConfirme() + 3 * 120.0, after.getRevenuConfirme(), 0.001);
+
+        eventService.cancelEvent(event.getId(), organizer);
+        assertRollupMatchesRebuild();
+    }
+
+    @Test
+    void concurrentFirstEventsOfAnOrganizerBothCount() throws Exception {
+        User organizer = userRepository.save(new User("Tazi", "Salma", "salma.tazi." + System.nanoTime() + "@event.ma",
+                "secret123", UserRole.ORGANIZER));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Event>> created = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                created.add(pool.submit(() -> {
+                    start.await();
+                    return eventService.createEvent(newEvent(), organizer);
+                }));
+            }
+            start.countDown();
+            for (Future<Event> event : created) {
+                assertNotNull(event.get(30, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(2, organizerStatsService.getStatistics(organizer.getId()).getEvenementsBrouillon());
+        assertRollupMatchesRebuild();
+    }
+
+    @Test
+    void lifecycleJobKeepsRollupAndSeatsConsistent() {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+
+        Event event = eventService.createEvent(newEvent(), organizer);
+        eventService.publishEvent(event.getId(), organizer);
+        Reservation pending = new Reservation();
+        pending.setNombrePlaces(4);
+        pending = reservationService.createReservation(pending, client, event.getId());
+        organizerStatsService.rebuild();
+
+        // Two days after the event: its pending reservation is cancelled, then the event finishes
+        lifecycleService.run(event.getDateFin().plusDays(2));
+
+        assertEquals(EventStatus.TERMINE, eventRepository.findById(event.getId()).orElseThrow().getStatut());
+        assertEquals(ReservationStatus.ANNULEE, reservationRepository.findById(pending.getId()).orElseThrow().getStatut());
+        assertEquals(event.getCapaciteMax(), eventRepository.findRemainingPlaces(event.getId()));
+        assertTrue((Long) lifecycleService.getStatistics().get("finishedEvents") >= 1);
+        assertTrue((Long) lifecycleService.getStatistics().get("expiredReservations") >= 1);
+        assertRollupMatchesRebuild();
+    }
+
+    @Test
+    void expiredSeatHoldIsCancelledAndReleasesItsPlaces() {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        User client = userRepository.findByEmail("client2@event.ma").orElseThrow();
+
+        Event event = eventService.createEvent(newEvent(), organizer);
+        eventService.publishEvent(event.getId(), organizer);
+        Reservation held = new Reservation();
+        held.setNombrePlaces(5);
+        held = reservationService.createReservation(held, client, event.getId());
+        assertNotNull(held.getExpiresAt());
+        organizerStatsService.rebuild();
+
+        // Not due yet
+        assertEquals(0, lifecycleService.expireHolds(List.of(held.getId()), held.getExpiresAt().minusSeconds(1)));
+        assertEquals(event.getCapaciteMax() - 5, eventRepository.findRemainingPlaces(event.getId()));
+
+        assertEquals(1, lifecycleService.expireHolds(List.of(held.getId()), held.getExpiresAt()));
+        assertEquals(ReservationStatus.ANNULEE, reservationRepository.findById(held.getId()).orElseThrow().getStatut());
+        assertEquals(event.getCapaciteMax(), eventRepository.findRemainingPlaces(event.getId()));
+        assertRollupMatchesRebuild();
+
+        // Already cancelled: a second expiry is a no-op
+        assertEquals(0, lifecycleService.expireHolds(List.of(held.getId()), held.getExpiresAt().plusDays(1)));
+    }
+
+    private void assertRollupMatchesRebuild() {
+        Map<Long, OrganizerStats> incremental = snapshot();
+        organizerStatsService.rebuild();
+        Map<Long, OrganizerStats> rebuilt = snapshot();
+
+        assertEquals(rebuilt.keySet(), incremental.keySet());
+        rebuilt.forEach((id, expected) -> {
+            OrganizerStats actual = incremental.get(id);
+            assertEquals(expected.getTotalEvenements(), actual.getTotalEvenements());
+            assertEquals(expected.getEvenementsPublies(), actual.getEvenementsPublies());
+            assertEquals(expected.getEvenementsAnnules(), actual.getEvenementsAnnules());
+            assertEquals(expected.getEvenementsTermines(), actual.getEvenementsTermines());
+            assertEquals(expected.getTotalReservations(), actual.getTotalReservations());
+            assertEquals(expected.getReservationsConfirmees(), actual.getReservationsConfirmees());
+            assertEquals(expected.getReservationsEnAttente(), actual.getReservationsEnAttente());
+            assertEquals(expected.getPlacesVendues(), actual.getPlacesVendues());
+            assertEquals(expected.getRevenuConfirme(), actual.getRevenuConfirme(), 0.001);
+        });
+    }
+
+    private Map<Long, OrganizerStats> snapshot() {
+        List<OrganizerStats> rows = organizerStatsRepository.findAll();
+        return rows.stream().collect(Collectors.toMap(OrganizerStats::getOrganisateurId, Function.identity()));
+    }
+
+    private Event newEvent() {
+        Event event = new Event();
+        event.setTitre("Atelier de calligraphie");
+        event.setCategorie(EventCategory.AUTRE);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Dar Batha");
+        event.setVille("Fès");
+        event.setCapaciteMax(20);
+        event.setPrixUnitaire(120.0);
+        return event;
+    }
+}
@@ -0,0 +1,47 @@
+package com.event.service;
+
+import com.event.model.entities.User;
+import com.event.model.enums.ReservationStatus;
+import com.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ReservationExportServiceTest {
+
+    @Autowired
+    private ReservationExportService exportService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void exportsOneLinePerMatchingReservation() {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.exportOrganizerReservations(organizer, null, null, null, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertTrue(csv.startsWith("\uFEFFCode;Événement;Prénom;Nom"));
+        assertEquals(reservationService.countFilteredOrganizerReservations(organizer, null, null, null), written);
+        assertEquals(written + 1, lines.length);
+        assertTrue(written > 0);
+
+        out.reset();
+        long confirmed = exportService.exportReservations("", ReservationStatus.CONFIRMEE, out);
+        assertEquals(reservationService.countFilteredReservations(null, ReservationStatus.CONFIRMEE), confirmed);
+        assertTrue(out.toString(StandardCharsets.UTF_8).lines().skip(1)
+                .allMatch(line -> line.contains(";" + ReservationStatus.CONFIRMEE.getLabel() + ";")));
+    }
+}
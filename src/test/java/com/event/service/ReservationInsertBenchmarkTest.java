@@ -0,0 +1,126 @@
+package com.event.service;
+
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.ReservationStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.UserRepository;
+import com.event.util.ReservationCodeGenerator;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reservation insert throughput, one round trip per row (what IDENTITY ids forced) against
+ * sequence ids sent in JDBC batches. Run with: mvn test -Dtest=ReservationInsertBenchmarkTest -Dbenchmark=true
+ * (the regular build checks the batching itself, in ReservationServiceTest)
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReservationInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationInsertBenchmarkTest.class);
+
+    private static final int ROWS = 20_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReservationCodeGenerator codeGenerator;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void batchedInsertsOutrunOneRoundTripPerRow() {
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        Event event = eventRepository.save(newEvent());
+
+        // Warm up both paths before measuring
+        insert(client, event, 2_000, false);
+        insert(client, event, 2_000, true);
+
+        double perRow = insert(client, event, ROWS, false);
+        double batched = insert(client, event, ROWS, true);
+
+        log.info("Reservation inserts ({} rows): one round trip per row {} rows/s, batches of {} {} rows/s (x{})",
+                ROWS, Math.round(perRow), BATCH_SIZE, Math.round(batched), String.format("%.1f", batched / perRow));
+        assertTrue(batched > perRow);
+    }
+
+    /**
+     * Insert rows in one transaction and return the throughput in rows per second
+     */
+    private double insert(User client, Event event, int rows, boolean batched) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batched ? BATCH_SIZE : 1);
+            User user = entityManager.getReference(User.class, client.getId());
+            Event evenement = entityManager.getReference(Event.class, event.getId());
+
+            for (int i = 1; i <= rows; i++) {
+                Reservation reservation = new Reservation();
+                reservation.setUtilisateur(user);
+                reservation.setEvenement(evenement);
+                reservation.setNombrePlaces(1);
+                reservation.setMontantTotal(100.0);
+                reservation.setStatut(ReservationStatus.CONFIRMEE);
+                reservation.setCodeReservation(codeGenerator.generateCode());
+                entityManager.persist(reservation);
+
+                // Without batching every insert is its own statement, as with IDENTITY ids
+                if (!batched || i % BATCH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    user = entityManager.getReference(User.class, client.getId());
+                    evenement = entityManager.getReference(Event.class, event.getId());
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private Event newEvent() {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        Event event = new Event();
+        event.setTitre("Banc d'essai des insertions");
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Rabat");
+        event.setCapaciteMax(1_000_000);
+        event.setPrixUnitaire(100.0);
+        event.setOrganisateur(organizer);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
@@ -0,0 +1,215 @@
+package com.event.service;
+
+import com.event.dto.BulkActionReport;
+import com.event.exception.ConflictException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.ReservationStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.UserRepository;
+import com.event.util.ReservationCodeGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ReservationServiceTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingSequencer bookingSequencer;
+
+    @Autowired
+    private ReservationCodeGenerator codeGenerator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void bulkActionsReportEachReservation() {
+        Event event = createPublishedEvent(10);
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        User otherOrganizer = userRepository.findByEmail("organizer2@event.ma").orElseThrow();
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setNombrePlaces(2);
+            ids.add(reservationService.createReservation(reservation, client, event.getId()).getId());
+        }
+        reservationService.cancelReservation(ids.get(2), client);
+
+        BulkActionReport denied = reservationService.confirmReservations(ids, otherOrganizer);
+        assertEquals(0, denied.getSucceeded());
+        assertEquals(3, denied.getFailed());
+
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(-1L);
+        BulkActionReport confirmed = reservationService.confirmReservations(requested, organizer);
+        assertEquals(2, confirmed.getSucceeded());
+        assertEquals(2, confirmed.getFailed());
+        assertEquals(4, confirmed.getItems().size());
+
+        BulkActionReport cancelled = reservationService.cancelReservations(ids, organizer);
+        assertEquals(2, cancelled.getSucceeded());
+        assertEquals(1, cancelled.getFailed());
+        assertEquals(10, eventRepository.findRemainingPlaces(event.getId()));
+        assertTrue(reservationRepository.findAllById(ids).stream()
+                .allMatch(r -> r.getStatut() == ReservationStatus.ANNULEE));
+    }
+
+    @Test
+    void replayedSubmissionReturnsTheOriginalReservation() throws Exception {
+        Event event = createPublishedEvent(10);
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        String key = UUID.randomUUID().toString();
+
+        Reservation first = reservationService.createReservation(submission(3, key), client, event.getId());
+        Reservation replayed = reservationService.createReservation(submission(3, key), client, event.getId());
+        assertEquals(first.getId(), replayed.getId());
+        assertEquals(7, eventRepository.findRemainingPlaces(event.getId()));
+
+        // Twins sent at the same time: one insert wins, the others get its reservation
+        String twinKey = UUID.randomUUID().toString();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Reservation>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return bookingSequencer.book(submission(2, twinKey), client, event.getId()).join();
+            }));
+        }
+        start.countDown();
+        Set<Long> ids = new HashSet<>();
+        for (Future<Reservation> future : futures) {
+            ids.add(future.get(30, TimeUnit.SECONDS).getId());
+        }
+        pool.shutdown();
+        assertEquals(1, ids.size());
+        assertEquals(5, eventRepository.findRemainingPlaces(event.getId()));
+
+        // A key belongs to the submission that used it
+        User other = userRepository.findByEmail("client2@event.ma").orElseThrow();
+        assertThrows(ConflictException.class,
+                () -> reservationService.createReservation(submission(1, key), other, event.getId()));
+        assertEquals(5, eventRepository.findRemainingPlaces(event.getId()));
+
+        // Once its reservation is cancelled, replaying the key is refused rather than reported as booked
+        reservationService.cancelReservation(first.getId(), client);
+        assertThrows(ConflictException.class,
+                () -> reservationService.createReservation(submission(3, key), client, event.getId()));
+        assertEquals(8, eventRepository.findRemainingPlaces(event.getId()));
+    }
+
+    @Test
+    void reservationCodesAreUniqueAcrossSequenceBlocks() {
+        // Five blocks of numbers from the database sequence
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            String code = codeGenerator.generateCode();
+            assertTrue(codeGenerator.isValidFormat(code), code);
+            assertTrue(codes.add(code), "Code en double : " + code);
+        }
+    }
+
+    @Test
+    void newReservationsAreInsertedInBatches() {
+        Event event = createPublishedEvent(1000);
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            codes.add(codeGenerator.generateCode());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                User user = entityManager.getReference(User.class, client.getId());
+                Event evenement = entityManager.getReference(Event.class, event.getId());
+                for (String code : codes) {
+                    Reservation reservation = new Reservation();
+                    reservation.setUtilisateur(user);
+                    reservation.setEvenement(evenement);
+                    reservation.setNombrePlaces(1);
+                    reservation.setMontantTotal(100.0);
+                    reservation.setStatut(ReservationStatus.CONFIRMEE);
+                    reservation.setCodeReservation(code);
+                    entityManager.persist(reservation);
+                }
+            });
+            // Two blocks of 50 ids and two insert batches, where IDENTITY ids need one statement per row
+            assertTrue(statistics.getPrepareStatementCount() <= 4, "statements: " + statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private Reservation submission(int places, String idempotencyKey) {
+        Reservation reservation = new Reservation();
+        reservation.setNombrePlaces(places);
+        reservation.setIdempotencyKey(idempotencyKey);
+        return reservation;
+    }
+
+    private Event createPublishedEvent(int capacity) {
+        return eventRepository.save(newEvent(capacity));
+    }
+
+    private Event newEvent(int capacity) {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        Event event = new Event();
+        event.setTitre("Test de charge " + System.nanoTime());
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Rabat");
+        event.setCapaciteMax(capacity);
+        event.setPrixUnitaire(100.0);
+        event.setOrganisateur(organizer);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
@@ -0,0 +1,148 @@
+package com.event.service;
+
+import com.event.exception.BusinessException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.ReservationStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SeatAllocationServiceTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentBookingsNeverOversell() throws Exception {
+        int capacity = 250;
+        int attempts = 2000;
+        Event event = createPublishedEvent(capacity);
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < attempts; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                Reservation reservation = new Reservation();
+                reservation.setNombrePlaces(1);
+                try {
+                    reservationService.createReservation(reservation, client, event.getId());
+                    booked.incrementAndGet();
+                } catch (RuntimeException e) {
+                    refused.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(capacity, booked.get());
+        assertEquals(attempts - capacity, refused.get());
+        assertEquals(capacity, reservationRepository.calculateTotalReservedPlaces(event));
+        assertEquals(0, eventRepository.findRemainingPlaces(event.getId()));
+    }
+
+    @Test
+    void failedInsertRollsBackAllocation() {
+        Event event = createPublishedEvent(10);
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+
+        Reservation reservation = new Reservation();
+        reservation.setNombrePlaces(3);
+        reservation.setCommentaire("x".repeat(600));
+
+        assertThrows(RuntimeException.class,
+                () -> reservationService.createReservation(reservation, client, event.getId()));
+        assertEquals(10, eventRepository.findRemainingPlaces(event.getId()));
+    }
+
+    @Test
+    void cancellationReleasesPlaces() {
+        Event event = createPublishedEvent(4);
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+
+        Reservation reservation = new Reservation();
+        reservation.setNombrePlaces(4);
+        Reservation saved = reservationService.createReservation(reservation, client, event.getId());
+
+        Reservation extra = new Reservation();
+        extra.setNombrePlaces(1);
+        assertThrows(BusinessException.class,
+                () -> reservationService.createReservation(extra, client, event.getId()));
+
+        Reservation cancelled = reservationService.cancelReservation(saved.getId(), client);
+        assertEquals(ReservationStatus.ANNULEE, cancelled.getStatut());
+        assertEquals(4, eventRepository.findRemainingPlaces(event.getId()));
+    }
+
+    @Test
+    void recomputeFixesDriftedCounter() {
+        Event drifted = newEvent(20);
+        drifted.setPlacesReservees(7);
+        drifted = eventRepository.save(drifted);
+        assertEquals(13, eventRepository.findRemainingPlaces(drifted.getId()));
+
+        assertTrue(eventService.recomputeReservedPlaces() >= 1);
+        assertEquals(20, eventRepository.findRemainingPlaces(drifted.getId()));
+        assertEquals(0, eventService.recomputeReservedPlaces());
+    }
+
+    private Event createPublishedEvent(int capacity) {
+        return eventRepository.save(newEvent(capacity));
+    }
+
+    private Event newEvent(int capacity) {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        Event event = new Event();
+        event.setTitre("Test de charge " + System.nanoTime());
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Rabat");
+        event.setCapaciteMax(capacity);
+        event.setPrixUnitaire(100.0);
+        event.setOrganisateur(organizer);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
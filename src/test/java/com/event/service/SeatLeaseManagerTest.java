@@ -0,0 +1,178 @@
+package com.event.service;
+
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.SeatLeaseRepository;
+import com.event.repository.UserRepository;
+import com.event.util.DateValidator;
+import com.event.util.ReservationCodeGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SeatLeaseManagerTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatAllocationService seatAllocationService;
+
+    @Autowired
+    private SeatLeaseRepository seatLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrganizerStatsService organizerStatsService;
+
+    @Autowired
+    private SeatHoldQueue seatHoldQueue;
+
+    @Autowired
+    private ReservationCodeGenerator codeGenerator;
+
+    @Autowired
+    private DateValidator dateValidator;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Test
+    void leasedBookingsNeverOversellAcrossInstances() throws Exception {
+        // Room for full blocks to the end, so every instance can still lease one
+        int capacity = 300;
+        int attempts = 150;
+        Duration ttl = Duration.ofMinutes(2);
+        Event event = createPublishedEvent(capacity);
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Three instances sharing the database, each booking through its own reservation service
+        List<SeatLeaseManager> nodes = new ArrayList<>();
+        List<ReservationService> services = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            SeatLeaseManager node = new SeatLeaseManager(seatAllocationService, seatLeaseRepository,
+                    reservationRepository, eventRepository, transactionManager, true, 20, ttl, "node-" + i);
+            nodes.add(node);
+            services.add(new ReservationService(reservationRepository, eventService, seatAllocationService, node,
+                    organizerStatsService, seatHoldQueue, codeGenerator, dateValidator, optimisticLockRetry));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(24);
+        List<Future<Reservation>> futures = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            ReservationService service = services.get(i % services.size());
+            futures.add(pool.submit(() -> transaction.execute(
+                    status -> service.createReservation(submission(1, null), client, event.getId()))));
+        }
+        for (Future<Reservation> future : futures) {
+            assertNotNull(future.get(60, TimeUnit.SECONDS).getId());
+        }
+        pool.shutdown();
+        assertEquals(attempts, reservationRepository.calculateTotalReservedPlaces(event));
+        assertPlacesAccountedFor(event, nodes);
+
+        // Cancelled while its lease is still selling: the place goes back to the counter once
+        Reservation soldByFirst = bookFromLease(transaction, services.get(0), client, event);
+        reservationService.cancelReservation(soldByFirst.getId(), client);
+        assertPlacesAccountedFor(event, nodes);
+
+        Reservation soldLaterByFirst = bookFromLease(transaction, services.get(0), client, event);
+        Reservation soldByDead = bookFromLease(transaction, services.get(2), client, event);
+        assertPlacesAccountedFor(event, nodes);
+
+        // The third instance dies with its lease, the others shut down cleanly
+        nodes.get(0).stop();
+        nodes.get(1).stop();
+        assertPlacesAccountedFor(event, nodes.subList(2, 3));
+
+        // Cancelled after its lease ended: the lease counted it as sold, so only the cancellation gives it back
+        reservationService.cancelReservation(soldLaterByFirst.getId(), client);
+        assertPlacesAccountedFor(event, nodes.subList(2, 3));
+
+        // Once expired for a whole lifetime, any instance gives the unused places back
+        nodes.get(0).sweep(LocalDateTime.now().plus(ttl));
+        assertPlacesAccountedFor(event, nodes.subList(2, 3));
+        nodes.get(0).sweep(LocalDateTime.now().plus(ttl.multipliedBy(2)).plusMinutes(1));
+        assertPlacesAccountedFor(event, List.of());
+
+        // A reclaimed lease counts its cancelled reservations as sold too
+        reservationService.cancelReservation(soldByDead.getId(), client);
+        assertPlacesAccountedFor(event, List.of());
+        assertEquals(capacity - attempts, eventRepository.findRemainingPlaces(event.getId()));
+        assertEquals(0, seatLeaseRepository.count());
+    }
+
+    private Reservation bookFromLease(TransactionTemplate transaction, ReservationService service, User client,
+                                      Event event) {
+        Reservation reservation = transaction.execute(
+                status -> service.createReservation(submission(1, null), client, event.getId()));
+        assertNotNull(reservation.getLeaseId());
+        return reservation;
+    }
+
+    private void assertPlacesAccountedFor(Event event, List<SeatLeaseManager> liveNodes) {
+        // Each place is on the counter, held by a live reservation, or unsold in a lease
+        int leased = liveNodes.stream().mapToInt(node -> node.getLeasedPlaces(event.getId())).sum();
+        assertEquals(event.getCapaciteMax() - reservationRepository.calculateTotalReservedPlaces(event) - leased,
+                eventRepository.findRemainingPlaces(event.getId()));
+    }
+
+    private Reservation submission(int places, String idempotencyKey) {
+        Reservation reservation = new Reservation();
+        reservation.setNombrePlaces(places);
+        reservation.setIdempotencyKey(idempotencyKey);
+        return reservation;
+    }
+
+    private Event createPublishedEvent(int capacity) {
+        return eventRepository.save(newEvent(capacity));
+    }
+
+    private Event newEvent(int capacity) {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        Event event = new Event();
+        event.setTitre("Test de charge " + System.nanoTime());
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Rabat");
+        event.setCapaciteMax(capacity);
+        event.setPrixUnitaire(100.0);
+        event.setOrganisateur(organizer);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
@@ -0,0 +1,170 @@
+package com.event.service;
+
+import com.event.exception.BusinessException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.repository.CapacitySlotRepository;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ShardedCapacityServiceTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardedCapacityService shardedCapacityService;
+
+    @Autowired
+    private CapacitySlotRepository slotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void splitCapacityNeverOversells() throws Exception {
+        int capacity = 100;
+        Event event = createPublishedEvent(capacity);
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+
+        Reservation first = new Reservation();
+        first.setNombrePlaces(7);
+        first = reservationService.createReservation(first, client, event.getId());
+        shardedCapacityService.split(event.getId());
+        assertEquals(capacity - 7, eventRepository.findRemainingPlaces(event.getId()));
+
+        // Mixed sizes so that the last places have to be gathered from several slots
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            int places = 1 + i % 3;
+            futures.add(pool.submit(() -> {
+                Reservation reservation = new Reservation();
+                reservation.setNombrePlaces(places);
+                try {
+                    reservationService.createReservation(reservation, client, event.getId());
+                    return places;
+                } catch (BusinessException e) {
+                    return 0;
+                }
+            }));
+        }
+        int booked = 7;
+        for (Future<Integer> future : futures) {
+            booked += future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(capacity, booked);
+        assertEquals(0, eventRepository.findRemainingPlaces(event.getId()));
+        assertEquals(capacity, reservationRepository.calculateTotalReservedPlaces(event));
+
+        // Cancelling gives the places back to the slots, merging puts them back on the single counter
+        reservationService.cancelReservation(first.getId(), client);
+        assertEquals(7, eventRepository.findRemainingPlaces(event.getId()));
+        // Screens and the waitlist read the slots, not the counter copy the lifecycle job folds
+        assertEquals(7, eventService.getEventDTO(event.getId()).getPlacesDisponibles());
+        assertEquals(7, eventService.getAvailablePlaces(event.getId()));
+        assertThrows(BusinessException.class, () -> waitlistService.join(client, event.getId(), 2));
+        shardedCapacityService.merge(event.getId());
+        assertEquals(7, eventRepository.findRemainingPlaces(event.getId()));
+        assertEquals(capacity - 7, eventRepository.findById(event.getId()).orElseThrow().getPlacesReservees());
+    }
+
+    @Test
+    void bookingFallsBackToLowerSlotsWhenTheRandomOneIsDrained() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        // Several rounds: a random pick of the drained slot would be refused in about half of them
+        for (int round = 0; round < 8; round++) {
+            Long eventId = createPublishedEvent(80).getId();
+            shardedCapacityService.split(eventId);
+            // 4 places left on the first and the last of the 8 slots, the others full
+            transaction.executeWithoutResult(status -> {
+                slotRepository.reservePlaces(eventId, 0, 6);
+                for (int slot = 1; slot < 7; slot++) {
+                    slotRepository.reservePlaces(eventId, slot, 10);
+                }
+                slotRepository.reservePlaces(eventId, 7, 6);
+            });
+
+            // Another booking drains the last slot and commits while this one is under way
+            CountDownLatch drained = new CountDownLatch(1);
+            CountDownLatch commit = new CountDownLatch(1);
+            Future<?> drain = pool.submit(() -> transaction.executeWithoutResult(status -> {
+                assertEquals(1, slotRepository.reservePlaces(eventId, 7, 4));
+                drained.countDown();
+                try {
+                    commit.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(drained.await(10, TimeUnit.SECONDS));
+
+            Future<Boolean> booking = pool.submit(
+                    () -> transaction.execute(status -> shardedCapacityService.tryAllocate(eventId, 4)));
+            Thread.sleep(100);
+            commit.countDown();
+            drain.get(10, TimeUnit.SECONDS);
+
+            assertTrue(booking.get(10, TimeUnit.SECONDS));
+            assertEquals(0, eventRepository.findRemainingPlaces(eventId));
+        }
+        pool.shutdown();
+    }
+
+    private Event createPublishedEvent(int capacity) {
+        return eventRepository.save(newEvent(capacity));
+    }
+
+    private Event newEvent(int capacity) {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        Event event = new Event();
+        event.setTitre("Test de charge " + System.nanoTime());
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Rabat");
+        event.setCapaciteMax(capacity);
+        event.setPrixUnitaire(100.0);
+        event.setOrganisateur(organizer);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
@@ -0,0 +1,148 @@
+package com.event.service;
+
+import com.event.dto.GlobalStatisticsDTO;
+import com.event.dto.UserStatisticsDTO;
+import com.event.exception.ResourceNotFoundException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.ReservationStatus;
+import com.event.model.enums.UserRole;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StatisticsServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StatisticsService statisticsService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // No snapshot left over from another test
+        statisticsService = new StatisticsService(eventRepository, reservationRepository, transactionManager,
+                Duration.ofMinutes(1));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void dashboardNeedsTwoQueriesThenServesTheSnapshot() {
+        GlobalStatisticsDTO first = statisticsService.getGlobalStatistics();
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getTransactionCount());
+
+        assertSame(first, statisticsService.getGlobalStatistics());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void userStatisticsComeFromOneQuery() {
+        User client = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        statistics.clear();
+
+        UserStatisticsDTO stats = reservationService.getUserReservationStatistics(client);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals(reservationRepository.countByUtilisateur(client), stats.getTotalReservations());
+        assertEquals(reservationRepository.countByUtilisateurAndStatut(client, ReservationStatus.CONFIRMEE),
+                stats.getConfirmedReservations());
+        assertEquals(reservationRepository.countByUtilisateurAndStatut(client, ReservationStatus.EN_ATTENTE),
+                stats.getPendingReservations());
+        assertEquals(reservationRepository.countByUtilisateurAndStatut(client, ReservationStatus.ANNULEE),
+                stats.getCancelledReservations());
+        assertEquals(reservationRepository.findUpcomingReservationsByUser(client, LocalDateTime.now()).size(),
+                stats.getUpcomingReservations());
+        assertEquals(reservationRepository.calculateTotalAmountByUser(client), stats.getTotalSpent(), 0.001);
+        assertEquals(0, stats.getEventsCreated());
+
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+        UserStatisticsDTO organizerStats = userService.getUserStatistics(organizer.getId());
+        assertTrue(organizerStats.getEventsCreated() > 0);
+        assertEquals(0, organizerStats.getTotalSpent(), 0.001);
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserStatistics(-1L));
+    }
+
+    @Test
+    void aggregatesMatchTheRows() {
+        GlobalStatisticsDTO stats = statisticsService.getGlobalStatistics();
+        List<User> users = userRepository.findAll();
+        List<Event> events = eventRepository.findAll();
+        List<Reservation> reservations = reservationRepository.findAll();
+
+        assertEquals(users.size(), stats.getTotalUsers());
+        assertEquals(users.stream().filter(u -> Boolean.TRUE.equals(u.getActif())).count(), stats.getActiveUsers());
+        assertEquals(users.stream().filter(u -> u.getRole() == UserRole.ADMIN).count(), stats.getAdmins());
+        assertEquals(users.stream().filter(u -> u.getRole() == UserRole.ORGANIZER).count(), stats.getOrganizers());
+        assertEquals(users.stream().filter(u -> u.getRole() == UserRole.CLIENT).count(), stats.getClients());
+
+        assertEquals(events.size(), stats.getTotalEvents());
+        assertEquals(events.stream().filter(e -> e.getStatut() == EventStatus.PUBLIE).count(), stats.getPublishedEvents());
+        assertEquals(events.stream().filter(e -> e.getStatut() == EventStatus.BROUILLON).count(), stats.getDraftEvents());
+        assertEquals(events.stream().filter(e -> e.getStatut() == EventStatus.ANNULE).count(), stats.getCancelledEvents());
+        assertEquals(events.stream().filter(e -> e.getStatut() == EventStatus.TERMINE).count(), stats.getFinishedEvents());
+        for (EventCategory category : EventCategory.values()) {
+            assertEquals(events.stream().filter(e -> e.getCategorie() == category).count(),
+                    stats.getEventsByCategory().get(category));
+        }
+
+        assertEquals(reservations.size(), stats.getTotalReservations());
+        assertEquals(reservations.stream().filter(r -> r.getStatut() != ReservationStatus.ANNULEE).count(),
+                stats.getActiveReservations());
+        assertEquals(countByStatus(reservations, ReservationStatus.CONFIRMEE), stats.getConfirmedReservations());
+        assertEquals(countByStatus(reservations, ReservationStatus.EN_ATTENTE), stats.getPendingReservations());
+        assertEquals(countByStatus(reservations, ReservationStatus.ANNULEE), stats.getCancelledReservations());
+        assertEquals(reservations.stream().filter(r -> r.getStatut() == ReservationStatus.CONFIRMEE)
+                .mapToDouble(Reservation::getMontantTotal).sum(), stats.getTotalRevenue(), 0.001);
+    }
+
+    private long countByStatus(List<Reservation> reservations, ReservationStatus status) {
+        return reservations.stream().filter(r -> r.getStatut() == status).count();
+    }
+}
@@ -0,0 +1,158 @@
+package com.event.service;
+
+import com.event.exception.BadRequestException;
+import com.event.exception.BusinessException;
+import com.event.model.entities.Event;
+import com.event.model.entities.Reservation;
+import com.event.model.entities.User;
+import com.event.model.entities.WaitlistEntry;
+import com.event.model.enums.EventCategory;
+import com.event.model.enums.EventStatus;
+import com.event.model.enums.ReservationStatus;
+import com.event.repository.EventRepository;
+import com.event.repository.ReservationRepository;
+import com.event.repository.UserRepository;
+import com.event.repository.WaitlistRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class WaitlistServiceTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cancellationPromotesTheWaitlistInOrder() {
+        Event event = createPublishedEvent(4);
+        User client1 = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        User client2 = userRepository.findByEmail("client2@event.ma").orElseThrow();
+        User admin = userRepository.findByEmail("admin@event.ma").orElseThrow();
+
+        Reservation first = new Reservation();
+        first.setNombrePlaces(3);
+        first = reservationService.createReservation(first, client1, event.getId());
+        Reservation second = new Reservation();
+        second.setNombrePlaces(1);
+        second = reservationService.createReservation(second, client1, event.getId());
+
+        assertThrows(BadRequestException.class, () -> waitlistService.join(client2, event.getId(), 5));
+        waitlistService.join(client2, event.getId(), 2);
+        waitlistService.join(admin, event.getId(), 1);
+        assertEquals(2, waitlistService.getPosition(admin, event.getId()));
+
+        // 3 places freed: both waiting users fit, in order
+        reservationService.cancelReservation(first.getId(), client1);
+
+        assertEquals(0, eventRepository.findRemainingPlaces(event.getId()));
+        assertEquals(0, waitlistService.getWaitingCount(event.getId()));
+        List<Reservation> pending = reservationRepository.findByEvenementAndStatut(event, ReservationStatus.EN_ATTENTE);
+        assertEquals(3, pending.size());
+        assertTrue(pending.stream().allMatch(r -> r.getExpiresAt() != null));
+        assertEquals(4, reservationRepository.calculateTotalReservedPlaces(event));
+
+        // Joined on another instance: only in the table, still promoted
+        waitlistRepository.save(new WaitlistEntry(client1, event, 1));
+        reservationService.cancelReservation(second.getId(), client1);
+        assertFalse(waitlistRepository.existsByEvenementId(event.getId()));
+        assertEquals(0, eventRepository.findRemainingPlaces(event.getId()));
+        assertEquals(4, reservationRepository.calculateTotalReservedPlaces(event));
+    }
+
+    @Test
+    void freedPlacesGoToTheWaitlistBeforeANewBooking() {
+        Event event = createPublishedEvent(3);
+        User client1 = userRepository.findByEmail("client1@event.ma").orElseThrow();
+        User client2 = userRepository.findByEmail("client2@event.ma").orElseThrow();
+        User admin = userRepository.findByEmail("admin@event.ma").orElseThrow();
+
+        Reservation pair = new Reservation();
+        pair.setNombrePlaces(2);
+        Long pairId = reservationService.createReservation(pair, client1, event.getId()).getId();
+        Reservation single = new Reservation();
+        single.setNombrePlaces(1);
+        Long singleId = reservationService.createReservation(single, client1, event.getId()).getId();
+        waitlistService.join(client2, event.getId(), 2);
+
+        // A booking made once the cancellation has committed, before the waitlist acts on it
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    CompletionException racing = assertThrows(CompletionException.class, () -> CompletableFuture.runAsync(() -> {
+                        Reservation booking = new Reservation();
+                        booking.setNombrePlaces(2);
+                        reservationService.createReservation(booking, admin, event.getId());
+                    }).join());
+                    assertInstanceOf(BusinessException.class, racing.getCause());
+                }
+            });
+            reservationService.cancelReservation(pairId, client1);
+        });
+
+        assertEquals(0, waitlistService.getWaitingCount(event.getId()));
+        assertEquals(1, reservationRepository.findByEvenementAndStatut(event, ReservationStatus.EN_ATTENTE).stream()
+                .filter(r -> r.getUtilisateur().getId().equals(client2.getId())).count());
+        assertEquals(0, eventRepository.findRemainingPlaces(event.getId()));
+
+        // Held for a head that needs more, then freed when it leaves
+        waitlistService.join(admin, event.getId(), 2);
+        reservationService.cancelReservation(singleId, client1);
+        assertEquals(0, eventRepository.findRemainingPlaces(event.getId()));
+        assertEquals(1, eventRepository.findHeldPlaces(event.getId()));
+        waitlistService.leave(admin, event.getId());
+        assertEquals(1, eventRepository.findRemainingPlaces(event.getId()));
+        assertEquals(0, eventRepository.findHeldPlaces(event.getId()));
+    }
+
+    private Event createPublishedEvent(int capacity) {
+        return eventRepository.save(newEvent(capacity));
+    }
+
+    private Event newEvent(int capacity) {
+        User organizer = userRepository.findByEmail("organizer1@event.ma").orElseThrow();
+
+        Event event = new Event();
+        event.setTitre("Test de charge " + System.nanoTime());
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Rabat");
+        event.setCapaciteMax(capacity);
+        event.setPrixUnitaire(100.0);
+        event.setOrganisateur(organizer);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
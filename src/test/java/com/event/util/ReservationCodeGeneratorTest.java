@@ -0,0 +1,46 @@
+package com.event.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Codes only - numbering from the database sequence is covered by ReservationServiceTest
+ */
+class ReservationCodeGeneratorTest {
+
+    private final ReservationCodeGenerator codeGenerator = new ReservationCodeGenerator(null, "test-key");
+
+    @Test
+    void codesCarryAValidCheckSymbol() {
+        for (long number = 0; number < 5 * ReservationCodeGenerator.BLOCK_SIZE; number++) {
+            String code = codeGenerator.encode(number);
+            assertTrue(codeGenerator.isValidFormat(code), code);
+        }
+    }
+
+    @Test
+    void checkSymbolRejectsTyposAndLegacyCodesStayValid() {
+        String code = codeGenerator.encode(42);
+        char[] symbols = code.toCharArray();
+        int position = 6;
+        symbols[position] = symbols[position] == 'A' ? 'B' : 'A';
+
+        assertFalse(codeGenerator.isValidFormat(new String(symbols)));
+        assertFalse(codeGenerator.isValidFormat(code.toLowerCase()));
+        assertFalse(codeGenerator.isValidFormat(null));
+        assertTrue(codeGenerator.isValidFormat("EVT-12345"));
+    }
+
+    @Test
+    void permutationIsABijection() {
+        Set<String> codes = new HashSet<>();
+        for (long number = 0; number < 100_000; number++) {
+            assertTrue(codes.add(codeGenerator.encode(number)));
+        }
+        assertNotEquals(codeGenerator.encode(1), new ReservationCodeGenerator(null, "other-key").encode(1));
+    }
+}